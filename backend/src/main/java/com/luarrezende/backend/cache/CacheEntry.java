@@ -0,0 +1,16 @@
+package com.luarrezende.backend.cache;
+
+/**
+ * Valor armazenado no cache junto com o instante de escrita e o fim da validade
+ * (epoch millis). Depois de {@code freshUntil} a entrada só é usada como stale.
+ */
+public record CacheEntry(Object value, long writtenAt, long freshUntil) {
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    public long ageSeconds(long now) {
+        return Math.max(0, (now - writtenAt) / 1000);
+    }
+}
@@ -0,0 +1,415 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.config.OmdbCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot dos caches em disco, para que um deploy ou crash não recomece com todos os
+ * caches vazios. A cada {@code interval} (e no shutdown) as entradas de cada
+ * {@link OmdbCache} ainda frescas ou retidas como stale são gravadas no formato compacto
+ * ({@link CompactCodec}), com as chaves {@link OmdbCacheKey} por componente, num arquivo
+ * temporário que substitui o anterior de uma vez.
+ *
+ * <p>No start o arquivo é mapeado em memória e carregado em segundo plano, um cache por
+ * thread: a aplicação sobe sem esperar a carga e as requisições que chegam antes dela
+ * seguem o caminho normal. As entradas voltam com os prazos originais; as que já passaram
+ * da retenção stale são descartadas e as gravadas desde o start não são substituídas.
+ */
+public class CacheSnapshotter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheSnapshotter.class);
+
+    // "OMDC"
+    private static final int MAGIC = 0x4F4D4443;
+    // 2: chaves tipadas (OmdbCacheKey); snapshots de outra versão são ignorados
+    private static final int VERSION = 2;
+    private static final String DTO_PACKAGE = "com.luarrezende.backend.dto.";
+
+    private final OmdbCacheManager cacheManager;
+    private final Path path;
+    private final Duration interval;
+    private final int loadThreads;
+    private final Clock clock;
+    private final CompactCodec codec;
+    private final Timer saveTimer;
+    private final Timer loadTimer;
+    private final Counter savedEntries;
+    private final Counter restoredEntries;
+    private volatile ScheduledExecutorService scheduler;
+    private volatile boolean loaded;
+
+    public CacheSnapshotter(OmdbCacheManager cacheManager, OmdbCacheProperties properties, Clock clock,
+                            MeterRegistry meterRegistry) {
+        OmdbCacheProperties.Snapshot snapshot = properties.getSnapshot();
+        this.cacheManager = cacheManager;
+        this.path = Paths.get(snapshot.getPath());
+        this.interval = snapshot.getInterval();
+        this.loadThreads = Math.max(1, snapshot.getLoadThreads());
+        this.clock = clock;
+        this.codec = new CompactCodec(properties.getCompact().getCompressMinSize().toBytes());
+        this.saveTimer = timer(meterRegistry, "save");
+        this.loadTimer = timer(meterRegistry, "load");
+        this.savedEntries = entriesCounter(meterRegistry, "saved");
+        this.restoredEntries = entriesCounter(meterRegistry, "restored");
+    }
+
+    @Override
+    public void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("omdb-cache-snapshot-");
+        threadFactory.setDaemon(true);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        // Mesma thread: nenhuma gravação começa antes de a carga terminar
+        executor.execute(this::warmUp);
+        long millis = interval.toMillis();
+        executor.scheduleWithFixedDelay(this::saveQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        scheduler = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = scheduler;
+        scheduler = null;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // Snapshot parcial sobrescreveria o anterior com menos entradas
+        if (loaded) {
+            saveQuietly();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Carga do start. Só uma carga que terminou libera as gravações: interrompida pelo
+     * {@link #stop()}, os caches ficam parciais e o snapshot anterior é mantido. Arquivo
+     * ilegível libera, já que não há o que preservar.
+     */
+    void warmUp() {
+        try {
+            load();
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("[CACHE SNAPSHOT] Falha ao carregar snapshot de {}: {}", path, ex.getMessage());
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            logger.info("[CACHE SNAPSHOT] Carga de {} interrompida - o snapshot nao sera sobrescrito", path);
+            return;
+        }
+        loaded = true;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Grava todos os caches no arquivo; retorna o número de entradas gravadas.
+     */
+    int save() throws IOException {
+        long started = System.nanoTime();
+        long now = clock.millis();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        List<OmdbCache> caches = caches();
+        int total = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(caches.size());
+            for (OmdbCache cache : caches) {
+                ByteArrayOutputStream section = new ByteArrayOutputStream();
+                total += writeSection(cache, new DataOutputStream(section), now);
+                writeString(out, cache.getName());
+                out.writeInt(section.size());
+                section.writeTo(out);
+            }
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        savedEntries.increment(total);
+        long elapsed = System.nanoTime() - started;
+        saveTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        logger.debug("[CACHE SNAPSHOT] {} entradas gravadas em {} ({}ms)", total, path, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return total;
+    }
+
+    /**
+     * Carrega o snapshot nos caches, um cache por thread; retorna o número de entradas restauradas.
+     */
+    int load() throws IOException {
+        if (!Files.isRegularFile(path)) {
+            logger.info("[CACHE SNAPSHOT] Nenhum snapshot em {} - caches iniciam vazios", path);
+            return 0;
+        }
+        long started = System.nanoTime();
+        long now = clock.millis();
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            logger.warn("[CACHE SNAPSHOT] Arquivo {} nao e um snapshot valido - ignorando", path);
+            return 0;
+        }
+        int sections = buffer.getInt();
+        List<Callable<Integer>> tasks = new ArrayList<>(sections);
+        for (int i = 0; i < sections; i++) {
+            String name = readString(buffer);
+            int length = buffer.getInt();
+            ByteBuffer section = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            tasks.add(() -> loadSection(name, section, now));
+        }
+
+        int restored = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(loadThreads, Math.max(1, sections)),
+            new CustomizableThreadFactory("omdb-cache-snapshot-load-"));
+        try {
+            for (Future<Integer> result : pool.invokeAll(tasks)) {
+                restored += result.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return restored;
+        } catch (ExecutionException ex) {
+            throw new IOException("Falha ao carregar snapshot", ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        restoredEntries.increment(restored);
+        long elapsed = System.nanoTime() - started;
+        loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("[CACHE SNAPSHOT] {} entradas restauradas de {} em {}ms", restored, path, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return restored;
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("[CACHE SNAPSHOT] Falha ao gravar snapshot em {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private List<OmdbCache> caches() {
+        List<OmdbCache> caches = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof OmdbCache cache) {
+                caches.add(cache);
+            }
+        }
+        return caches;
+    }
+
+    // Entradas com chave String ou OmdbCacheKey ainda dentro da retenção e com corpo no formato compacto
+    private int writeSection(OmdbCache cache, DataOutputStream out, long now) throws IOException {
+        long retention = cache.getStaleRetention().toMillis();
+        List<Map.Entry<Object, SnapshotEntry>> entries = new ArrayList<>();
+        cache.getNativeCache().asMap().forEach((key, entry) -> {
+            if (isSnapshotKey(key) && entry.freshUntil() + retention > now) {
+                Object value = entry.value() instanceof CompactCodec.CompactValue compact ? compact : codec.encode(cache.resolve(entry));
+                if (value instanceof CompactCodec.CompactValue compact) {
+                    entries.add(Map.entry(key, new SnapshotEntry(compact, entry.writtenAt(), entry.freshUntil())));
+                }
+            }
+        });
+        out.writeInt(entries.size());
+        for (Map.Entry<Object, SnapshotEntry> entry : entries) {
+            SnapshotEntry snapshot = entry.getValue();
+            CompactCodec.CompactValue value = snapshot.value();
+            writeKey(out, entry.getKey());
+            out.writeLong(snapshot.writtenAt());
+            out.writeLong(snapshot.freshUntil());
+            writeString(out, value.type().getName());
+            out.writeInt(value.status().value());
+            writeHeaders(out, value.headers());
+            out.writeInt(value.rawLength());
+            out.writeInt(value.data().length);
+            out.write(value.data());
+        }
+        return entries.size();
+    }
+
+    private int loadSection(String name, ByteBuffer in, long now) {
+        if (!(cacheManager.getCache(name) instanceof OmdbCache cache)) {
+            return 0;
+        }
+        long retention = cache.getStaleRetention().toMillis();
+        int count = in.getInt();
+        int restored = 0;
+        for (int i = 0; i < count; i++) {
+            Object key = readKey(in);
+            long writtenAt = in.getLong();
+            long freshUntil = in.getLong();
+            String type = readString(in);
+            int status = in.getInt();
+            HttpHeaders headers = readHeaders(in);
+            int rawLength = in.getInt();
+            byte[] data = new byte[in.getInt()];
+            in.get(data);
+            if (freshUntil + retention <= now) {
+                continue;
+            }
+            try {
+                CompactCodec.CompactValue value = new CompactCodec.CompactValue(dtoClass(type), HttpStatusCode.valueOf(status),
+                    headers, data, rawLength);
+                if (cache.restore(key, value.decode(), writtenAt, freshUntil)) {
+                    restored++;
+                }
+            } catch (ClassNotFoundException | RuntimeException ex) {
+                logger.debug("[CACHE SNAPSHOT] Entrada '{}' do cache '{}' descartada: {}", key, name, ex.getMessage());
+            }
+        }
+        return restored;
+    }
+
+    private static boolean isSnapshotKey(Object key) {
+        return key instanceof String || key instanceof OmdbCacheKey typed && !typed.parts().contains(null);
+    }
+
+    // 0 = String; senão ordinal do tipo + 1 seguido dos componentes
+    private static void writeKey(DataOutputStream out, Object key) throws IOException {
+        if (key instanceof OmdbCacheKey typed) {
+            out.writeByte(typed.kind().ordinal() + 1);
+            List<String> parts = typed.parts();
+            out.writeByte(parts.size());
+            for (String part : parts) {
+                writeString(out, part);
+            }
+            return;
+        }
+        out.writeByte(0);
+        writeString(out, (String) key);
+    }
+
+    private static Object readKey(ByteBuffer in) {
+        int kind = in.get();
+        if (kind == 0) {
+            return readString(in);
+        }
+        int count = in.get();
+        List<String> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            parts.add(readString(in));
+        }
+        return OmdbCacheKey.of(OmdbCacheKey.Kind.values()[kind - 1], parts);
+    }
+
+    // Só DTOs da API: o arquivo não escolhe classes arbitrárias para instanciar
+    private static Class<?> dtoClass(String name) throws ClassNotFoundException {
+        if (!name.startsWith(DTO_PACKAGE)) {
+            throw new ClassNotFoundException(name);
+        }
+        return Class.forName(name, false, CacheSnapshotter.class.getClassLoader());
+    }
+
+    private static void writeHeaders(DataOutputStream out, HttpHeaders headers) throws IOException {
+        if (headers == null) {
+            out.writeInt(0);
+            return;
+        }
+        out.writeInt(headers.size());
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            writeString(out, header.getKey());
+            out.writeInt(header.getValue().size());
+            for (String value : header.getValue()) {
+                writeString(out, value);
+            }
+        }
+    }
+
+    private static HttpHeaders readHeaders(ByteBuffer in) {
+        int count = in.getInt();
+        if (count == 0) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        for (int i = 0; i < count; i++) {
+            String name = readString(in);
+            int values = in.getInt();
+            for (int j = 0; j < values; j++) {
+                headers.add(name, readString(in));
+            }
+        }
+        return headers;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("omdb.cache.snapshot")
+            .description("Tempo de gravação e de carga do snapshot dos caches")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    private static Counter entriesCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("omdb.cache.snapshot.entries")
+            .description("Entradas gravadas no snapshot e restauradas dele no start")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record SnapshotEntry(CompactCodec.CompactValue value, long writtenAt, long freshUntil) {
+    }
+}
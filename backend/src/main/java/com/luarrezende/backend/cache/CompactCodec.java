@@ -0,0 +1,365 @@
+package com.luarrezende.backend.cache;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import java.beans.PropertyDescriptor;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Formato binário compacto das respostas em cache. Em vez do grafo de objetos (um
+ * cabeçalho de String e um array por campo), o corpo vira um único {@code byte[]}:
+ * propriedades na ordem do layout da classe, Strings em UTF-8 com tamanho em varint.
+ * Acima de {@code compressMinBytes} o array é comprimido com Deflater (plots completos,
+ * elencos, listas de busca). A decodificação acontece a cada leitura, sem cópia guardada.
+ *
+ * <p>Suporta os DTOs da API: propriedades String, boolean, int, long, listas de String,
+ * listas de beans e beans aninhados com esses tipos. Outros valores ficam como estão.
+ */
+public final class CompactCodec {
+
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return Layout.of(type);
+        }
+    };
+
+    private final int compressMinBytes;
+
+    public CompactCodec(long compressMinBytes) {
+        this.compressMinBytes = (int) Math.min(Integer.MAX_VALUE, compressMinBytes);
+    }
+
+    public Object encode(Object value) {
+        if (!(value instanceof ResponseEntity<?> response) || response.getBody() == null) {
+            return value;
+        }
+        Object body = response.getBody();
+        Layout layout = LAYOUTS.get(body.getClass());
+        if (layout == null) {
+            return value;
+        }
+        Output out = new Output();
+        layout.write(body, out);
+        byte[] raw = out.toByteArray();
+        boolean deflated = raw.length >= compressMinBytes;
+        byte[] data = deflated ? deflate(raw) : raw;
+        HttpHeaders headers = response.getHeaders().isEmpty() ? null : response.getHeaders();
+        return new CompactValue(body.getClass(), response.getStatusCode(), headers, data, deflated ? raw.length : -1);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buffer = new byte[raw.length + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int rawLength) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data);
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int read = inflater.inflate(raw, length, rawLength - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != rawLength) {
+                throw new IllegalStateException("Entrada compacta truncada: " + length + " de " + rawLength + " bytes");
+            }
+            return raw;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Entrada compacta corrompida", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Resposta guardada no formato compacto; {@code rawLength} é -1 quando não comprimida.
+     */
+    public static final class CompactValue {
+
+        private final Class<?> type;
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] data;
+        private final int rawLength;
+
+        CompactValue(Class<?> type, HttpStatusCode status, HttpHeaders headers, byte[] data, int rawLength) {
+            this.type = type;
+            this.status = status;
+            this.headers = headers;
+            this.data = data;
+            this.rawLength = rawLength;
+        }
+
+        public ResponseEntity<?> decode() {
+            byte[] raw = rawLength >= 0 ? inflate(data, rawLength) : data;
+            Object body = LAYOUTS.get(type).read(ByteBuffer.wrap(raw));
+            return new ResponseEntity<>(body, headers, status);
+        }
+
+        int storedBytes() {
+            return data.length;
+        }
+
+        Class<?> type() {
+            return type;
+        }
+
+        HttpStatusCode status() {
+            return status;
+        }
+
+        HttpHeaders headers() {
+            return headers;
+        }
+
+        byte[] data() {
+            return data;
+        }
+
+        int rawLength() {
+            return rawLength;
+        }
+    }
+
+    private enum Kind { STRING, BOOLEAN, INT, LONG, STRING_LIST, BEAN_LIST, BEAN }
+
+    private record Property(Method getter, Method setter, Kind kind, Class<?> beanType) {
+    }
+
+    /**
+     * Propriedades graváveis de uma classe, em ordem de nome. null quando alguma
+     * propriedade tem tipo não suportado.
+     */
+    private record Layout(Class<?> type, List<Property> properties) {
+
+        static Layout of(Class<?> type) {
+            if (type.isPrimitive() || type.isArray() || type.isInterface() || type.getName().startsWith("java.")
+                    || !hasNoArgConstructor(type)) {
+                return null;
+            }
+            List<PropertyDescriptor> descriptors = new ArrayList<>(Arrays.asList(BeanUtils.getPropertyDescriptors(type)));
+            descriptors.sort(Comparator.comparing(PropertyDescriptor::getName));
+            List<Property> properties = new ArrayList<>();
+            for (PropertyDescriptor descriptor : descriptors) {
+                Method getter = descriptor.getReadMethod();
+                Method setter = descriptor.getWriteMethod();
+                if (getter == null || setter == null) {
+                    continue;
+                }
+                Property property = property(getter, setter);
+                if (property == null) {
+                    return null;
+                }
+                properties.add(property);
+            }
+            return new Layout(type, List.copyOf(properties));
+        }
+
+        private static boolean hasNoArgConstructor(Class<?> type) {
+            try {
+                type.getConstructor();
+                return true;
+            } catch (NoSuchMethodException ex) {
+                return false;
+            }
+        }
+
+        private static Property property(Method getter, Method setter) {
+            Class<?> type = getter.getReturnType();
+            if (type == String.class) {
+                return new Property(getter, setter, Kind.STRING, null);
+            }
+            if (type == boolean.class) {
+                return new Property(getter, setter, Kind.BOOLEAN, null);
+            }
+            if (type == int.class) {
+                return new Property(getter, setter, Kind.INT, null);
+            }
+            if (type == long.class) {
+                return new Property(getter, setter, Kind.LONG, null);
+            }
+            if (type == List.class) {
+                Type generic = getter.getGenericReturnType();
+                if (!(generic instanceof ParameterizedType parameterized)
+                        || !(parameterized.getActualTypeArguments()[0] instanceof Class<?> element)) {
+                    return null;
+                }
+                if (element == String.class) {
+                    return new Property(getter, setter, Kind.STRING_LIST, null);
+                }
+                return LAYOUTS.get(element) != null ? new Property(getter, setter, Kind.BEAN_LIST, element) : null;
+            }
+            return LAYOUTS.get(type) != null ? new Property(getter, setter, Kind.BEAN, type) : null;
+        }
+
+        void write(Object bean, Output out) {
+            for (Property property : properties) {
+                Object value = invoke(property.getter(), bean);
+                switch (property.kind()) {
+                    case STRING -> out.writeString((String) value);
+                    case BOOLEAN -> out.write((Boolean) value ? 1 : 0);
+                    case INT -> out.writeVarLong(zigZag((Integer) value));
+                    case LONG -> out.writeVarLong(zigZag((Long) value));
+                    case STRING_LIST, BEAN_LIST -> writeList((List<?>) value, property, out);
+                    case BEAN -> {
+                        out.write(value == null ? 0 : 1);
+                        if (value != null) {
+                            LAYOUTS.get(property.beanType()).write(value, out);
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void writeList(List<?> list, Property property, Output out) {
+            if (list == null) {
+                out.writeVarLong(0);
+                return;
+            }
+            out.writeVarLong(list.size() + 1L);
+            Layout element = property.kind() == Kind.BEAN_LIST ? LAYOUTS.get(property.beanType()) : null;
+            for (Object item : list) {
+                if (element == null) {
+                    out.writeString((String) item);
+                } else {
+                    out.write(item == null ? 0 : 1);
+                    if (item != null) {
+                        element.write(item, out);
+                    }
+                }
+            }
+        }
+
+        Object read(ByteBuffer in) {
+            Object bean = BeanUtils.instantiateClass(type);
+            for (Property property : properties) {
+                Object value = switch (property.kind()) {
+                    case STRING -> readString(in);
+                    case BOOLEAN -> in.get() != 0;
+                    case INT -> (int) unZigZag(readVarLong(in));
+                    case LONG -> unZigZag(readVarLong(in));
+                    case STRING_LIST, BEAN_LIST -> readList(in, property);
+                    case BEAN -> in.get() != 0 ? LAYOUTS.get(property.beanType()).read(in) : null;
+                };
+                invoke(property.setter(), bean, value);
+            }
+            return bean;
+        }
+
+        private static List<Object> readList(ByteBuffer in, Property property) {
+            long size = readVarLong(in);
+            if (size == 0) {
+                return null;
+            }
+            Layout element = property.kind() == Kind.BEAN_LIST ? LAYOUTS.get(property.beanType()) : null;
+            List<Object> list = new ArrayList<>((int) (size - 1));
+            for (long i = 1; i < size; i++) {
+                if (element == null) {
+                    list.add(readString(in));
+                } else {
+                    list.add(in.get() != 0 ? element.read(in) : null);
+                }
+            }
+            return list;
+        }
+
+        private static Object invoke(Method method, Object target, Object... args) {
+            try {
+                return method.invoke(target, args);
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Falha ao acessar " + method, ex);
+            }
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // Strings: 0 = null, senão tamanho em bytes + 1 seguido do UTF-8
+    private static String readString(ByteBuffer in) {
+        long length = readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        int size = (int) (length - 1);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), size, StandardCharsets.UTF_8);
+        in.position(in.position() + size);
+        return value;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte current = in.get();
+            value |= (long) (current & 0x7F) << shift;
+            if (current >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+
+        Output() {
+            super(512);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+    }
+}
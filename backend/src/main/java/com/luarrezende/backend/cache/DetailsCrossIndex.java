@@ -0,0 +1,52 @@
+package com.luarrezende.backend.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Indexa a resposta de uma busca por título ({@code t=}) no cache de detalhes por IMDb ID
+ * ({@code i=}, plot curto): quem busca um título e depois abre os detalhes não gera uma
+ * segunda chamada à OMDb.
+ *
+ * <p>O caminho inverso (ID → título) não é indexado: {@code t=} devolve o "melhor resultado"
+ * da OMDb para o título, e em remakes e homônimos (Dune de 1984 e de 2021) os detalhes
+ * abertos primeiro não são necessariamente esse resultado. A chave é a mesma do
+ * {@code @Cacheable} dos services ({@link OmdbCacheKey#details}, via {@link OmdbKeyGenerator}).
+ * A escrita é {@code putIfAbsent}: nunca sobrescreve o que a própria OMDb respondeu para
+ * aquela chave.
+ */
+public class DetailsCrossIndex {
+
+    private static final String SHORT_PLOT = "short";
+
+    private static final Logger logger = LoggerFactory.getLogger(DetailsCrossIndex.class);
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public DetailsCrossIndex(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Chamado só com respostas de t=, que sempre trazem o plot curto
+    public void indexTitleResult(String idCacheName, String imdbId, Object response) {
+        if (imdbId != null && !imdbId.isBlank()) {
+            putIfAbsent(idCacheName, OmdbCacheKey.details(imdbId, SHORT_PLOT), response);
+        }
+    }
+
+    private void putIfAbsent(String cacheName, OmdbCacheKey key, Object response) {
+        Cache cache = cacheName != null ? cacheManager.getCache(cacheName) : null;
+        if (cache == null) {
+            return;
+        }
+        if (cache.putIfAbsent(key, response) == null) {
+            meterRegistry.counter("omdb.cache.crossindex", "cache", cacheName).increment();
+            logger.debug("[CACHE INDEX] Resposta indexada no cache '{}' com chave '{}'", cacheName, key);
+        }
+    }
+}
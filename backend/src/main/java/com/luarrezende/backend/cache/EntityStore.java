@@ -0,0 +1,252 @@
+package com.luarrezende.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import com.luarrezende.backend.dto.SeriesDetailsResponse;
+import com.luarrezende.backend.dto.SuccessAware;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registro normalizado das respostas de detalhes, um por IMDb ID. O mesmo título pode
+ * estar em {@code moviesByTitle}, duas vezes em {@code moviesById} (plot curto e completo)
+ * e em {@code seriesById}; em vez de uma cópia completa por chave, cada cache guarda uma
+ * {@link EntityRef} pequena (status, headers e o próprio plot) que aponta para o mesmo
+ * {@link EntityRecord}, dono dos demais campos.
+ *
+ * <p>Uma nova resposta para o ID (escrita, revalidação ou indexação cruzada) atualiza o
+ * registro, e todas as chaves que apontam para ele passam a ver os dados novos; respostas
+ * mais antigas que a do registro não o alteram. Os
+ * registros são mantidos por referência fraca: somem quando nenhum cache aponta mais para eles.
+ *
+ * <p>No peso das entradas ({@link ObjectSizeEstimator}) o registro é cobrado uma única vez,
+ * da referência que publicou o corpo canônico atual (a dona): ela pesa o canônico e os corpos
+ * montados até então; as demais pesam só a si mesmas. Os corpos montados por registro são
+ * limitados a {@value #MAX_BODIES} (filme/série × plot curto/completo), cópias rasas que
+ * compartilham os campos do canônico; os montados depois da pesagem da dona ficam de fora.
+ */
+public class EntityStore {
+
+    static final int MAX_BODIES = 4;
+
+    private final ConcurrentMap<String, EntityRecord> records = Caffeine.newBuilder()
+        .weakValues()
+        .<String, EntityRecord>build()
+        .asMap();
+
+    public EntityStore(MeterRegistry meterRegistry) {
+        Gauge.builder("omdb.cache.entities", records, ConcurrentMap::size)
+            .description("Registros canônicos de títulos compartilhados pelos caches de detalhes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Troca uma resposta de detalhes com sucesso por uma referência ao registro do seu ID;
+     * qualquer outro valor é devolvido como veio. {@code writtenAt} é quando a resposta veio
+     * da OMDb: uma resposta mais antiga que a do registro (promovida do L2, lida do
+     * snapshot) não o substitui.
+     */
+    public Object intern(Object value, long writtenAt) {
+        if (!(value instanceof ResponseEntity<?> response) || !response.getStatusCode().is2xxSuccessful()) {
+            return value;
+        }
+        Object body = response.getBody();
+        String id = idOf(body);
+        if (id == null) {
+            return value;
+        }
+        EntityRecord record = records.computeIfAbsent(id.trim().toLowerCase(Locale.ROOT), key -> new EntityRecord());
+        HttpHeaders headers = response.getHeaders().isEmpty() ? null : response.getHeaders();
+        return record.update(body, writtenAt, headers, response.getStatusCode());
+    }
+
+    public Object resolve(Object stored) {
+        return stored instanceof EntityRef ref ? ref.materialize() : stored;
+    }
+
+    public long size() {
+        return records.size();
+    }
+
+    private static String idOf(Object body) {
+        if (!(body instanceof SuccessAware result) || !result.isSuccess()) {
+            return null;
+        }
+        String id = body instanceof MovieDetailsResponse movie ? movie.getId()
+            : body instanceof SeriesDetailsResponse series ? series.getId()
+            : null;
+        return id != null && !id.isBlank() ? id : null;
+    }
+
+    /**
+     * Campos de um título, exceto o plot, guardados uma única vez. O corpo canônico nunca
+     * é alterado depois de publicado; uma atualização com dados diferentes e não mais antiga
+     * que o canônico o substitui.
+     * Os corpos montados (tipo e plot pedidos) ficam junto do canônico, até {@value #MAX_BODIES},
+     * e são compartilhados por todas as referências com o mesmo plot, até a próxima substituição.
+     */
+    static final class EntityRecord {
+
+        private volatile Canonical current;
+        // Quando a OMDb respondeu o canônico (ou a última resposta igual a ele)
+        private long writtenAt = Long.MIN_VALUE;
+        // Textos de plot já vistos para este ID: referências com o mesmo plot compartilham a String
+        private final List<String> plots = new ArrayList<>(2);
+
+        synchronized EntityRef update(Object body, long writtenAt, HttpHeaders headers, HttpStatusCode status) {
+            Canonical existing = current;
+            if (existing != null && writtenAt < this.writtenAt) {
+                return new EntityRef(this, body.getClass(), internPlot(plotOf(body)), headers, status);
+            }
+            this.writtenAt = writtenAt;
+            // Cópia pelo builder; a cópia reflexiva fica para o ID visto como filme e como série
+            Object candidate = existing == null || existing.body().getClass() == body.getClass()
+                ? withPlot(body, null)
+                : convert(body, existing.body().getClass());
+            if (existing != null && candidate.equals(existing.body())) {
+                return new EntityRef(this, body.getClass(), internPlot(plotOf(body)), headers, status);
+            }
+            plots.clear();
+            EntityRef owner = new EntityRef(this, body.getClass(), internPlot(plotOf(body)), headers, status);
+            current = new Canonical(candidate, owner);
+            return owner;
+        }
+
+        private String internPlot(String plot) {
+            if (plot == null) {
+                return null;
+            }
+            for (String known : plots) {
+                if (known.equals(plot)) {
+                    return known;
+                }
+            }
+            plots.add(plot);
+            return plot;
+        }
+
+        Object body(Class<?> type, String plot) {
+            Canonical canonical = current;
+            BodyKey key = new BodyKey(type, plot);
+            Object body = canonical.bodies().get(key);
+            if (body != null) {
+                return body;
+            }
+            Object source = canonical.body();
+            Object built = withPlot(source.getClass() == type ? source : convert(source, type), plot);
+            // Plots inesperados não crescem o registro: o corpo é montado a cada leitura
+            if (canonical.bodies().size() >= MAX_BODIES) {
+                return built;
+            }
+            Object existing = canonical.bodies().putIfAbsent(key, built);
+            return existing != null ? existing : built;
+        }
+
+        private static Object withPlot(Object body, String plot) {
+            if (body instanceof MovieDetailsResponse movie) {
+                return movie.toBuilder().plot(plot).build();
+            }
+            if (body instanceof SeriesDetailsResponse series) {
+                return series.toBuilder().plot(plot).build();
+            }
+            throw new IllegalArgumentException("Tipo sem registro normalizado: " + body.getClass().getName());
+        }
+
+        private static String plotOf(Object body) {
+            return body instanceof MovieDetailsResponse movie ? movie.getPlot()
+                : body instanceof SeriesDetailsResponse series ? series.getPlot()
+                : null;
+        }
+
+        // Cópia rasa entre as classes de detalhes (campos com o mesmo nome), sem o plot;
+        // as Strings continuam sendo as mesmas instâncias
+        private static Object convert(Object source, Class<?> type) {
+            Object target = BeanUtils.instantiateClass(type);
+            BeanWrapper from = new BeanWrapperImpl(source);
+            BeanWrapper to = new BeanWrapperImpl(target);
+            for (PropertyDescriptor property : to.getPropertyDescriptors()) {
+                String name = property.getName();
+                if ("plot".equals(name) || property.getWriteMethod() == null || !from.isReadableProperty(name)) {
+                    continue;
+                }
+                Object value = from.getPropertyValue(name);
+                if (value instanceof List<?> list && source.getClass() != type) {
+                    value = convertElements(list, to.getPropertyTypeDescriptor(name).getResolvableType());
+                }
+                to.setPropertyValue(name, value);
+            }
+            return target;
+        }
+
+        // Ratings de MovieDetailsResponse e SeriesDetailsResponse são classes distintas
+        private static List<Object> convertElements(List<?> source, ResolvableType listType) {
+            Class<?> elementType = listType.getGeneric(0).resolve(Object.class);
+            List<Object> converted = new ArrayList<>(source.size());
+            for (Object element : source) {
+                if (element == null || elementType.isInstance(element)) {
+                    converted.add(element);
+                } else {
+                    Object copy = BeanUtils.instantiateClass(elementType);
+                    BeanUtils.copyProperties(element, copy);
+                    converted.add(copy);
+                }
+            }
+            return converted;
+        }
+    }
+
+    /**
+     * O que cada chave de cache guarda no lugar da resposta: só o que é da chave. O corpo
+     * vem montado do registro, então a referência não carrega uma cópia própria.
+     */
+    static final class EntityRef {
+
+        private final EntityRecord record;
+        private final Class<?> type;
+        private final String plot;
+        private final HttpHeaders headers;
+        private final HttpStatusCode status;
+
+        EntityRef(EntityRecord record, Class<?> type, String plot, HttpHeaders headers, HttpStatusCode status) {
+            this.record = record;
+            this.type = type;
+            this.plot = plot;
+            this.headers = headers;
+            this.status = status;
+        }
+
+        ResponseEntity<?> materialize() {
+            return new ResponseEntity<>(record.body(type, plot), headers, status);
+        }
+
+        // Canônico atual quando esta referência é a dona dele; é o que ela paga no peso
+        Object charged() {
+            Canonical canonical = record.current;
+            return canonical != null && canonical.owner() == this ? canonical : null;
+        }
+    }
+
+    private record Canonical(Object body, EntityRef owner, ConcurrentMap<BodyKey, Object> bodies) {
+
+        Canonical(Object body, EntityRef owner) {
+            this(body, owner, new ConcurrentHashMap<>(MAX_BODIES));
+        }
+    }
+
+    private record BodyKey(Class<?> type, String plot) {
+    }
+}
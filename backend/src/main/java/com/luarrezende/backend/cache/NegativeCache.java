@@ -0,0 +1,118 @@
+package com.luarrezende.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache negativo de um {@link OmdbCache}: guarda por um ttl curto as respostas em que a
+ * OMDb disse que o título/ID não existe ({@code "Response": "False"}), para que erros de
+ * digitação e varreduras de títulos inexistentes não voltem à OMDb a cada requisição.
+ *
+ * <p>Um filtro de Bloom na frente do armazenamento responde em O(1), sem tocar o Caffeine,
+ * que uma chave nunca foi vista como ausente (o caso comum). Como o filtro não permite
+ * remoção, ele tem duas gerações trocadas a cada ttl: cada chave fica no filtro por pelo
+ * menos o tempo em que pode estar no armazenamento, então o filtro nunca esconde uma
+ * entrada negativa válida.
+ */
+class NegativeCache {
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> store;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final long rotateMillis;
+    private final Clock clock;
+    private volatile Generations generations;
+
+    private final Counter hits;
+    private final Counter stored;
+    private final Counter falsePositives;
+
+    NegativeCache(String cacheName, Duration ttl, long maximumSize, double falsePositiveRate,
+                  Clock clock, MeterRegistry meterRegistry) {
+        this.store = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maximumSize)
+            .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+            .build();
+        this.expectedInsertions = Math.max(1, maximumSize);
+        this.falsePositiveRate = falsePositiveRate;
+        this.rotateMillis = ttl.toMillis();
+        this.clock = clock;
+        this.generations = newGenerations(null);
+
+        this.hits = counter(meterRegistry, cacheName, "hit");
+        this.stored = counter(meterRegistry, cacheName, "stored");
+        this.falsePositives = counter(meterRegistry, cacheName, "false_positive");
+        Gauge.builder("omdb.cache.negative.size", store, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+            .description("Entradas no cache negativo (títulos/IDs inexistentes na OMDb)")
+            .tag("cache", cacheName)
+            .register(meterRegistry);
+    }
+
+    Object get(Object key) {
+        if (!filters().mightContain(key)) {
+            return null;
+        }
+        Object value = store.getIfPresent(key);
+        (value != null ? hits : falsePositives).increment();
+        return value;
+    }
+
+    void put(Object key, Object value) {
+        filters().current().put(key);
+        store.put(key, value);
+        stored.increment();
+    }
+
+    // A chave continua no filtro até a rotação; custa no máximo uma consulta ao armazenamento
+    void invalidate(Object key) {
+        store.invalidate(key);
+    }
+
+    void clear() {
+        store.invalidateAll();
+        generations = newGenerations(null);
+    }
+
+    long size() {
+        return store.estimatedSize();
+    }
+
+    private Generations filters() {
+        Generations current = generations;
+        if (clock.millis() - current.rotatedAt() < rotateMillis) {
+            return current;
+        }
+        synchronized (this) {
+            if (clock.millis() - generations.rotatedAt() >= rotateMillis) {
+                generations = newGenerations(generations.current());
+            }
+            return generations;
+        }
+    }
+
+    private Generations newGenerations(BloomFilter previous) {
+        return new Generations(new BloomFilter(expectedInsertions, falsePositiveRate), previous, clock.millis());
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String cacheName, String result) {
+        return Counter.builder("omdb.cache.negative")
+            .description("Uso do cache negativo: acertos, respostas armazenadas e falsos positivos do filtro de Bloom")
+            .tag("cache", cacheName)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record Generations(BloomFilter current, BloomFilter previous, long rotatedAt) {
+
+        boolean mightContain(Object key) {
+            return current.mightContain(key) || (previous != null && previous.mightContain(key));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.luarrezende.backend.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimativa do tamanho retido (bytes no heap) de uma resposta em cache, usada como
+ * peso no Caffeine. Percorre o grafo de objetos uma vez por escrita, assumindo uma JVM
+ * 64 bits com compressed oops (cabeçalho de 12 bytes, referências de 4, alinhamento 8).
+ * Strings, arrays, coleções e mapas têm custo aproximado próprio; demais tipos do JDK
+ * (Integer, Instant, ...) contam um objeto pequeno e não são inspecionados. O layout de
+ * cada classe é calculado uma única vez.
+ */
+public final class ObjectSizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    // Custo por elemento de ArrayList/LinkedHashMap (slot + nó/entrada), sem o elemento
+    private static final int COLLECTION_ENTRY = 8;
+    private static final int MAP_ENTRY = 40;
+    private static final int SMALL_JDK_OBJECT = 24;
+
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return Layout.of(type);
+        }
+    };
+
+    private ObjectSizeEstimator() {
+    }
+
+    public static long estimate(Object root) {
+        if (root == null) {
+            return 0;
+        }
+        IdentityHashMap<Object, Boolean> visited = new IdentityHashMap<>();
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        long total = 0;
+        while (!pending.isEmpty()) {
+            Object value = pending.pop();
+            if (visited.put(value, Boolean.TRUE) == null) {
+                total += visit(value, pending);
+            }
+        }
+        return total;
+    }
+
+    private static long visit(Object value, Deque<Object> pending) {
+        Class<?> type = value.getClass();
+        if (value instanceof String text) {
+            return align(HEADER + 12) + align(ARRAY_HEADER + (long) text.length() * bytesPerChar(text));
+        }
+        // Registro compartilhado entre caches (EntityStore): pesa só na referência dona dele
+        if (type.isEnum() || value instanceof Class<?> || value instanceof EntityStore.EntityRecord) {
+            return 0;
+        }
+        if (value instanceof EntityStore.EntityRef ref) {
+            pushIfPresent(pending, ref.charged());
+        }
+        if (type.isArray()) {
+            return visitArray(value, type.getComponentType(), pending);
+        }
+        if (value instanceof Collection<?> collection) {
+            for (Object element : collection) {
+                pushIfPresent(pending, element);
+            }
+            return align(HEADER + 16) + align(ARRAY_HEADER + (long) collection.size() * COLLECTION_ENTRY);
+        }
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                pushIfPresent(pending, entry.getKey());
+                pushIfPresent(pending, entry.getValue());
+            }
+            return align(HEADER + 40) + align(ARRAY_HEADER + (long) map.size() * REFERENCE * 2) + (long) map.size() * MAP_ENTRY;
+        }
+        if (isJdkType(type)) {
+            return SMALL_JDK_OBJECT;
+        }
+        Layout layout = LAYOUTS.get(type);
+        for (Field field : layout.references()) {
+            try {
+                pushIfPresent(pending, field.get(value));
+            } catch (IllegalAccessException ex) {
+                // Campo inacessível: conta só a referência, já incluída no tamanho raso
+            }
+        }
+        return layout.shallowSize();
+    }
+
+    private static long visitArray(Object array, Class<?> component, Deque<Object> pending) {
+        int length = Array.getLength(array);
+        if (component.isPrimitive()) {
+            return align(ARRAY_HEADER + (long) length * primitiveSize(component));
+        }
+        for (Object element : (Object[]) array) {
+            pushIfPresent(pending, element);
+        }
+        return align(ARRAY_HEADER + (long) length * REFERENCE);
+    }
+
+    private static void pushIfPresent(Deque<Object> pending, Object value) {
+        if (value != null) {
+            pending.push(value);
+        }
+    }
+
+    // Compact strings: 1 byte por caractere quando todos cabem em Latin-1
+    private static int bytesPerChar(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return 2;
+            }
+        }
+        return 1;
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private record Layout(long shallowSize, List<Field> references) {
+
+        static Layout of(Class<?> type) {
+            long size = HEADER;
+            List<Field> references = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    if (field.getType().isPrimitive()) {
+                        size += primitiveSize(field.getType());
+                        continue;
+                    }
+                    size += REFERENCE;
+                    try {
+                        field.setAccessible(true);
+                        references.add(field);
+                    } catch (RuntimeException ex) {
+                        // Classe de módulo fechado: a referência conta, o conteúdo não
+                    }
+                }
+            }
+            return new Layout(align(size), List.copyOf(references));
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.luarrezende.backend.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Segundo nível (L2) dos caches, fora do heap: as entradas que o Caffeine remove por
+ * tamanho descem para cá no formato compacto ({@link CompactCodec}) e um miss no L1
+ * procura aqui antes de chamar a OMDb. Os bytes ficam em slabs de {@code ByteBuffer}
+ * direto, alocadas sob demanda até {@code capacity}; no heap fica só o índice.
+ *
+ * <p>A escrita é sequencial na slab atual. Quando todas estão em uso, a mais antiga é
+ * reciclada inteira (remoção FIFO por segmento) e as entradas dela saem do índice. Cada
+ * slab tem uma geração: uma leitura concorrente com a reciclagem percebe a troca e vira miss.
+ */
+public class OffHeapStore {
+
+    private final int slabSize;
+    private final Slab[] slabs;
+    private final ConcurrentMap<Key, Location> index = new ConcurrentHashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private int current = -1;
+
+    public OffHeapStore(long capacityBytes, long slabSizeBytes, MeterRegistry meterRegistry) {
+        if (slabSizeBytes <= 0 || slabSizeBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho de slab inválido: " + slabSizeBytes);
+        }
+        this.slabSize = (int) slabSizeBytes;
+        int count = (int) Math.max(1, capacityBytes / slabSizeBytes);
+        this.slabs = new Slab[count];
+        for (int i = 0; i < count; i++) {
+            slabs[i] = new Slab();
+        }
+
+        Gauge.builder("omdb.cache.offheap.used", usedBytes, AtomicLong::get)
+            .description("Bytes ocupados por entradas no cache fora do heap (L2)")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("omdb.cache.offheap.allocated", this, OffHeapStore::getAllocatedBytes)
+            .description("Memória direta reservada pelas slabs do L2")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("omdb.cache.offheap.entries", index, ConcurrentMap::size)
+            .description("Entradas no cache fora do heap (L2)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Guarda a entrada; retorna {@code false} se ela não couber numa slab.
+     */
+    synchronized boolean put(String cache, Object key, CompactCodec.CompactValue value,
+                             long writtenAt, long freshUntil, long expiresAt) {
+        byte[] data = value.data();
+        if (data.length > slabSize) {
+            return false;
+        }
+        Slab slab = slabFor(data.length);
+        int offset = slab.position;
+        slab.buffer.put(offset, data);
+        slab.position += data.length;
+
+        Key indexKey = new Key(cache, key);
+        slab.keys.add(indexKey);
+        Location location = new Location(slab, slab.generation, offset, data.length, value.rawLength(),
+            value.type(), value.status(), value.headers(), writtenAt, freshUntil, expiresAt);
+        usedBytes.addAndGet(data.length);
+        Location previous = index.put(indexKey, location);
+        if (previous != null) {
+            usedBytes.addAndGet(-previous.length());
+        }
+        return true;
+    }
+
+    /**
+     * Entrada ainda retida (fresca ou stale) para a chave; remove as que passaram de {@code expiresAt}.
+     */
+    Stored get(String cache, Object key, long now) {
+        Key indexKey = new Key(cache, key);
+        Location location = index.get(indexKey);
+        if (location == null) {
+            return null;
+        }
+        if (now >= location.expiresAt()) {
+            remove(indexKey, location);
+            return null;
+        }
+        byte[] data = new byte[location.length()];
+        location.slab().buffer.get(location.offset(), data);
+        // Slab reciclada durante a cópia: os bytes podem ser de outra entrada
+        VarHandle.loadLoadFence();
+        if (location.slab().generation != location.generation()) {
+            return null;
+        }
+        CompactCodec.CompactValue value = new CompactCodec.CompactValue(location.type(), location.status(),
+            location.headers(), data, location.rawLength());
+        return new Stored(value, location.writtenAt(), location.freshUntil());
+    }
+
+    public boolean remove(String cache, Object key) {
+        Key indexKey = new Key(cache, key);
+        Location location = index.get(indexKey);
+        return location != null && remove(indexKey, location);
+    }
+
+    public void clear(String cache) {
+        index.forEach((key, location) -> {
+            if (key.cache().equals(cache)) {
+                remove(key, location);
+            }
+        });
+    }
+
+    public long size(String cache) {
+        return index.keySet().stream().filter(key -> key.cache().equals(cache)).count();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    public long getAllocatedBytes() {
+        long allocated = 0;
+        for (Slab slab : slabs) {
+            if (slab.buffer != null) {
+                allocated += slab.buffer.capacity();
+            }
+        }
+        return allocated;
+    }
+
+    public long getCapacityBytes() {
+        return (long) slabs.length * slabSize;
+    }
+
+    private boolean remove(Key key, Location location) {
+        if (index.remove(key, location)) {
+            usedBytes.addAndGet(-location.length());
+            return true;
+        }
+        return false;
+    }
+
+    // Slab atual se couber; senão a próxima do anel, reciclando o que houver nela
+    private Slab slabFor(int length) {
+        if (current >= 0 && slabs[current].position + length <= slabSize) {
+            return slabs[current];
+        }
+        current = (current + 1) % slabs.length;
+        Slab slab = slabs[current];
+        if (slab.buffer == null) {
+            slab.buffer = ByteBuffer.allocateDirect(slabSize);
+        } else {
+            slab.generation++;
+            // A nova geração fica visível antes dos bytes novos (ver get)
+            VarHandle.storeStoreFence();
+            for (Key key : slab.keys) {
+                Location location = index.get(key);
+                if (location != null && location.slab() == slab) {
+                    remove(key, location);
+                }
+            }
+        }
+        slab.keys = new ArrayList<>();
+        slab.position = 0;
+        return slab;
+    }
+
+    private static final class Slab {
+        private ByteBuffer buffer;
+        private volatile int generation;
+        private int position;
+        private List<Key> keys = new ArrayList<>();
+    }
+
+    private record Key(String cache, Object key) {
+    }
+
+    private record Location(Slab slab, int generation, int offset, int length, int rawLength,
+                            Class<?> type, HttpStatusCode status, HttpHeaders headers,
+                            long writtenAt, long freshUntil, long expiresAt) {
+    }
+
+    /**
+     * Entrada lida do L2, ainda no formato compacto.
+     */
+    record Stored(CompactCodec.CompactValue value, long writtenAt, long freshUntil) {
+    }
+}
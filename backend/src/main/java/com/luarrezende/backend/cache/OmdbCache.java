@@ -0,0 +1,765 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.client.OmdbCallPriority;
+import com.luarrezende.backend.client.OmdbUnavailableException;
+import com.luarrezende.backend.dto.SuccessAware;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache das respostas da OMDb sobre o Caffeine. Cada entrada é fresca por {@code ttl}
+ * e depois fica retida (o Caffeine só a remove após o período de retenção) para ser
+ * servida como stale quando a OMDb está indisponível: circuito aberto, erro de
+ * transporte ou 5xx. Respostas stale recebem o header {@code X-Cache-Status: STALE}.
+ *
+ * <p>Os métodos {@code @Cacheable(sync = true)} chegam aqui com o loader, então a
+ * decisão de servir stale e a de não armazenar respostas sem sucesso (antigo
+ * {@code unless}) ficam concentradas neste cache. Misses concorrentes da mesma chave são
+ * agrupados (single flight): só o primeiro chama o loader e os demais esperam o resultado
+ * dele por até {@code singleFlightWait}; passado esse tempo carregam por conta própria.
+ *
+ * <p>Com {@code refreshAfter} (soft TTL) configurado, uma leitura de entrada ainda fresca
+ * mas mais velha que o soft TTL devolve o valor atual na hora e dispara, em segundo plano,
+ * uma única recarga pelo mesmo loader com prioridade {@link OmdbCallPriority#BACKGROUND}.
+ * Só entradas lidas são revalidadas; se a recarga falhar a entrada atual é mantida.
+ *
+ * <p>Respostas sem sucesso com 2xx ou 404 (a OMDb respondeu {@code "Response": "False"};
+ * temporadas e episódios inexistentes saem do service como 404) vão para o
+ * {@link NegativeCache}, com ttl e tamanho próprios. Erros de transporte, demais 4xx e 5xx
+ * nunca entram nele.
+ *
+ * <p>Com um {@link EntityStore} configurado, respostas de detalhes são guardadas como
+ * referência ao registro do seu IMDb ID, compartilhado com os outros caches. Com
+ * {@link PreSerializedBodies}, o JSON de cada corpo lido do cache é renderizado uma vez.
+ * Com {@link CompactCodec} as respostas ficam no formato binário compacto e são
+ * decodificadas a cada leitura; nesse caso não passam pelo EntityStore nem pelo JSON pronto.
+ *
+ * <p>Com um {@link OffHeapStore} (L2), as entradas removidas por tamanho descem para fora
+ * do heap e um miss no Caffeine (L1) procura lá antes do loader; o que é achado volta ao L1.
+ * Com {@link ReleaseAwareTtl} a validade de cada entrada depende da data de lançamento do título.
+ * O {@link CacheSnapshotter} grava as entradas em disco e as devolve no próximo start.
+ */
+public class OmdbCache implements Cache {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache-Status";
+
+    private static final Logger logger = LoggerFactory.getLogger(OmdbCache.class);
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, CacheEntry> cache;
+    private volatile Duration ttl;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Counter staleServed;
+    private final Counter lookupHits;
+    private final Counter lookupMisses;
+    private final Counter lookupNegative;
+    private final Timer loadSuccess;
+    private final Timer loadFailure;
+    private volatile int logSamplePerMille;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private final Counter flightLeaders;
+    private final Counter flightCollapsed;
+    private final Counter flightTimeouts;
+    private volatile Duration singleFlightWait;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+    private volatile Duration refreshAfter;
+    private volatile Executor refreshExecutor;
+    private volatile NegativeCache negativeCache;
+    private volatile EntityStore entityStore;
+    private volatile PreSerializedBodies preSerializedBodies;
+    private volatile CompactCodec compactCodec;
+    private volatile OffHeapStore offHeap;
+    private volatile CompactCodec offHeapCodec;
+    private volatile Duration staleRetention = Duration.ZERO;
+    private volatile ReleaseAwareTtl releaseTtl;
+    private Counter offHeapHits;
+    private Counter offHeapMisses;
+
+    public OmdbCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, CacheEntry> cache,
+                     Duration ttl, Clock clock, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.cache = cache;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.staleServed = Counter.builder("omdb.cache.stale")
+            .description("Respostas servidas a partir de entradas expiradas enquanto a OMDb estava indisponível")
+            .tag("cache", name)
+            .register(meterRegistry);
+        this.lookupHits = lookupCounter("hit");
+        this.lookupMisses = lookupCounter("miss");
+        this.lookupNegative = lookupCounter("negative");
+        this.loadSuccess = loadTimer("success");
+        this.loadFailure = loadTimer("failure");
+        this.flightLeaders = flightCounter("leader", "Misses que chamaram o loader (líderes)");
+        this.flightCollapsed = flightCounter("collapsed", "Misses agrupados a uma carga já em andamento");
+        this.flightTimeouts = flightCounter("timeout", "Misses agrupados que desistiram de esperar e carregaram sozinhos");
+        if (getEstimatedHeapBytes().isPresent()) {
+            Gauge.builder("omdb.cache.heap.bytes", this, omdbCache -> omdbCache.getEstimatedHeapBytes().orElse(0))
+                .description("Tamanho estimado no heap das entradas do cache (limite por memória)")
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, CacheEntry> getNativeCache() {
+        return cache;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    // Soma dos pesos (bytes estimados) quando o cache é limitado por memória
+    public OptionalLong getEstimatedHeapBytes() {
+        return cache.policy().eviction().map(Policy.Eviction::weightedSize).orElse(OptionalLong.empty());
+    }
+
+    // Novo tempo de validade; entradas já gravadas mantêm a validade com que foram escritas
+    void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    // Soft TTL: idade a partir da qual uma leitura dispara a revalidação (null ou zero desliga)
+    void setRefreshAfter(Duration refreshAfter) {
+        this.refreshAfter = refreshAfter;
+    }
+
+    // Espera máxima de um miss agrupado à carga de outro (null desliga o single flight)
+    void setSingleFlightWait(Duration singleFlightWait) {
+        this.singleFlightWait = singleFlightWait;
+    }
+
+    // Fração das chaves com HIT/MISS logado em DEBUG (0 desliga)
+    void setLogSampleRate(double rate) {
+        this.logSamplePerMille = (int) Math.round(Math.max(0, Math.min(1, rate)) * 1000);
+    }
+
+    void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    void setNegativeCache(NegativeCache negativeCache) {
+        this.negativeCache = negativeCache;
+    }
+
+    void setEntityStore(EntityStore entityStore) {
+        this.entityStore = entityStore;
+    }
+
+    void setPreSerializedBodies(PreSerializedBodies preSerializedBodies) {
+        this.preSerializedBodies = preSerializedBodies;
+    }
+
+    void setCompactCodec(CompactCodec compactCodec) {
+        this.compactCodec = compactCodec;
+    }
+
+    void setOffHeap(OffHeapStore offHeap, CompactCodec codec) {
+        this.offHeapHits = offHeapCounter("hit");
+        this.offHeapMisses = offHeapCounter("miss");
+        this.offHeapCodec = codec;
+        this.offHeap = offHeap;
+    }
+
+    // Com política configurada, o ttl do cache vale só para respostas sem regra de lançamento
+    void setReleaseTtl(ReleaseAwareTtl releaseTtl) {
+        this.releaseTtl = releaseTtl;
+    }
+
+    // Retenção stale das entradas, que o L2 mantém como o L1 (expiresAt = freshUntil + retenção)
+    void setStaleRetention(Duration staleRetention) {
+        this.staleRetention = staleRetention;
+    }
+
+    Duration getStaleRetention() {
+        return staleRetention;
+    }
+
+    // Entradas deste cache no L2 (0 sem L2)
+    public long getOffHeapSize() {
+        OffHeapStore store = offHeap;
+        return store != null ? store.size(name) : 0;
+    }
+
+    // Entradas no cache negativo (0 quando desligado)
+    public long getNegativeSize() {
+        NegativeCache negative = negativeCache;
+        return negative != null ? negative.size() : 0;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheEntry entry = freshEntry(key);
+        return entry != null ? new SimpleValueWrapper(valueOf(entry)) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        CacheEntry entry = freshEntry(key);
+        if (entry == null) {
+            return null;
+        }
+        Object value = valueOf(entry);
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Valor em cache não é do tipo [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheEntry entry = lookup(key);
+        long now = clock.millis();
+        if (entry != null && entry.isFresh(now)) {
+            recordLookup(key, lookupHits, "HIT");
+            if (shouldRefresh(entry, now)) {
+                refreshAhead(key, () -> {
+                    try {
+                        return CompletableFuture.completedFuture(valueLoader.call());
+                    } catch (Exception ex) {
+                        return CompletableFuture.failedFuture(ex);
+                    }
+                });
+            }
+            return (T) valueOf(entry);
+        }
+        Object absent = negativeEntry(key);
+        if (absent != null) {
+            recordLookup(key, lookupNegative, "NEGATIVE");
+            return (T) absent;
+        }
+        recordLookup(key, lookupMisses, "MISS");
+
+        Duration maxWait = singleFlightWait;
+        if (maxWait == null) {
+            return (T) load(key, entry, valueLoader);
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = loading.putIfAbsent(key, flight);
+        if (leader != null) {
+            flightCollapsed.increment();
+            return (T) awaitFlight(key, leader, maxWait, () -> load(key, entry, valueLoader));
+        }
+        flightLeaders.increment();
+        try {
+            Object value = load(key, entry, valueLoader);
+            loading.remove(key, flight);
+            flight.complete(value);
+            return (T) value;
+        } catch (RuntimeException | Error ex) {
+            loading.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private Object load(Object key, CacheEntry entry, Callable<?> valueLoader) {
+        Object value;
+        long started = System.nanoTime();
+        try {
+            value = valueLoader.call();
+            loadSuccess.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } catch (Exception ex) {
+            loadFailure.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (entry != null && isUpstreamFailure(ex)) {
+                return serveStale(key, entry, ex);
+            }
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        return complete(key, entry, value);
+    }
+
+    // Seguidor no caminho síncrono: o mesmo valor (ou a mesma exceção) do líder
+    private Object awaitFlight(Object key, CompletableFuture<Object> leader, Duration maxWait, Supplier<Object> loadAlone) {
+        try {
+            return leader.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            flightTimeouts.increment();
+            logger.debug("[SINGLE FLIGHT] Carga de {} passou de {}; carregando sem esperar o lider", key, maxWait);
+            return loadAlone.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(ex);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CacheEntry entry = freshEntry(key);
+        return entry != null ? CompletableFuture.completedFuture(valueOf(entry)) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        CacheEntry entry = lookup(key);
+        long now = clock.millis();
+        if (entry != null && entry.isFresh(now)) {
+            recordLookup(key, lookupHits, "HIT");
+            if (shouldRefresh(entry, now)) {
+                refreshAhead(key, valueLoader);
+            }
+            return CompletableFuture.completedFuture((T) valueOf(entry));
+        }
+        Object absent = negativeEntry(key);
+        if (absent != null) {
+            recordLookup(key, lookupNegative, "NEGATIVE");
+            return CompletableFuture.completedFuture((T) absent);
+        }
+        recordLookup(key, lookupMisses, "MISS");
+
+        Duration maxWait = singleFlightWait;
+        if (maxWait == null) {
+            return loadAsync(key, entry, valueLoader);
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = loading.putIfAbsent(key, flight);
+        if (leader != null) {
+            flightCollapsed.increment();
+            // Cópia com timeout: o future do líder não é afetado
+            return leader.copy()
+                .orTimeout(maxWait.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((value, ex) -> {
+                    if (ex == null) {
+                        return CompletableFuture.completedFuture((T) value);
+                    }
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof TimeoutException) {
+                        flightTimeouts.increment();
+                        return loadAsync(key, entry, valueLoader);
+                    }
+                    return CompletableFuture.<T>failedFuture(cause);
+                })
+                .thenCompose(Function.identity());
+        }
+        flightLeaders.increment();
+        CompletableFuture<T> result;
+        try {
+            result = loadAsync(key, entry, valueLoader);
+        } catch (RuntimeException | Error ex) {
+            loading.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+        return result.whenComplete((value, ex) -> {
+            loading.remove(key, flight);
+            if (ex != null) {
+                flight.completeExceptionally(ex);
+            } else {
+                flight.complete(value);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> loadAsync(Object key, CacheEntry entry, Supplier<CompletableFuture<T>> valueLoader) {
+        long started = System.nanoTime();
+        return valueLoader.get().handle((value, ex) -> {
+            (ex == null ? loadSuccess : loadFailure).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (ex == null) {
+                return (T) complete(key, entry, value);
+            }
+            if (entry != null && isUpstreamFailure(ex)) {
+                return (T) serveStale(key, entry, ex);
+            }
+            throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        invalidateNegative(key);
+        removeOffHeap(key);
+        if (value == null) {
+            cache.invalidate(key);
+            return;
+        }
+        cache.put(key, newEntry(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        CacheEntry current = freshEntry(key);
+        if (current != null) {
+            return new SimpleValueWrapper(valueOf(current));
+        }
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidateNegative(key);
+        removeOffHeap(key);
+        cache.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidateNegative(key);
+        boolean removed = removeOffHeap(key);
+        return cache.asMap().remove(key) != null || removed;
+    }
+
+    @Override
+    public void clear() {
+        clearNegative();
+        clearOffHeap();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = !cache.asMap().isEmpty() || getNegativeSize() > 0 || getOffHeapSize() > 0;
+        clearNegative();
+        clearOffHeap();
+        cache.invalidateAll();
+        return notEmpty;
+    }
+
+    private Object complete(Object key, CacheEntry previous, Object value) {
+        // Resposta de erro 5xx montada pelo service: a entrada antiga é melhor que o erro
+        if (previous != null && isServerErrorResponse(value)) {
+            return serveStale(key, previous, null);
+        }
+        if (isCacheable(value)) {
+            invalidateNegative(key);
+            cache.put(key, newEntry(value));
+        } else if (isNotFound(value) && negativeCache != null) {
+            negativeCache.put(key, value);
+        }
+        return value;
+    }
+
+    private Object negativeEntry(Object key) {
+        NegativeCache negative = negativeCache;
+        return negative != null ? negative.get(key) : null;
+    }
+
+    private void invalidateNegative(Object key) {
+        NegativeCache negative = negativeCache;
+        if (negative != null) {
+            negative.invalidate(key);
+        }
+    }
+
+    private void clearNegative() {
+        NegativeCache negative = negativeCache;
+        if (negative != null) {
+            negative.clear();
+        }
+    }
+
+    private boolean shouldRefresh(CacheEntry entry, long now) {
+        Duration after = refreshAfter;
+        return after != null && !after.isZero() && refreshExecutor != null && now - entry.writtenAt() >= after.toMillis();
+    }
+
+    // Uma recarga por chave de cada vez; a chamada à OMDb sai com prioridade de fundo
+    private void refreshAhead(Object key, Supplier<? extends CompletableFuture<?>> reload) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                CompletableFuture<?> future;
+                try {
+                    future = OmdbCallPriority.runAs(OmdbCallPriority.BACKGROUND, reload);
+                } catch (RuntimeException ex) {
+                    future = CompletableFuture.failedFuture(ex);
+                }
+                future.whenComplete((value, ex) -> {
+                    try {
+                        onRefreshed(key, value, ex);
+                    } finally {
+                        refreshing.remove(key);
+                    }
+                });
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.remove(key);
+            refreshCounter("rejected").increment();
+        }
+    }
+
+    private void onRefreshed(Object key, Object value, Throwable ex) {
+        if (ex == null && isCacheable(value) && !isServerErrorResponse(value)) {
+            cache.put(key, newEntry(value));
+            refreshCounter("success").increment();
+            logger.debug("[CACHE REFRESH] Entrada '{}' do cache '{}' revalidada em segundo plano", key, name);
+            return;
+        }
+        refreshCounter("failure").increment();
+        logger.debug("[CACHE REFRESH] Revalidacao de '{}' no cache '{}' falhou ({}) - mantendo entrada atual",
+            key, name, ex != null ? rootCause(ex).getMessage() : "resposta sem sucesso");
+    }
+
+    // Contador sempre; log só para as chaves da amostra (hash estável: a mesma chave sempre entra)
+    private void recordLookup(Object key, Counter counter, String result) {
+        counter.increment();
+        int perMille = logSamplePerMille;
+        if (perMille > 0 && logger.isDebugEnabled() && Math.floorMod(key.hashCode(), 1000) < perMille) {
+            logger.debug("[CACHE {}] Cache '{}' com chave '{}'", result, name, key);
+        }
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("omdb.cache.lookups")
+            .description("Leituras das operações @Cacheable: fresca no cache, miss (chama a OMDb) ou cache negativo")
+            .tag("cache", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private Counter flightCounter(String result, String description) {
+        return Counter.builder("omdb.cache.singleflight")
+            .description(description)
+            .tag("cache", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private Timer loadTimer(String result) {
+        return Timer.builder("omdb.cache.load")
+            .description("Tempo de carga de um miss (chamada à OMDb pelo método @Cacheable)")
+            .tag("cache", name)
+            .tag("result", result)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private Counter refreshCounter(String result) {
+        return Counter.builder("omdb.cache.refresh")
+            .description("Revalidações em segundo plano de entradas acima do soft TTL")
+            .tag("cache", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    // L1 e, num miss, o L2: a entrada achada fora do heap é promovida de volta ao L1
+    private CacheEntry lookup(Object key) {
+        CacheEntry entry = cache.getIfPresent(key);
+        OffHeapStore store = offHeap;
+        if (entry != null || store == null) {
+            return entry;
+        }
+        OffHeapStore.Stored stored = store.get(name, key, clock.millis());
+        if (stored == null) {
+            offHeapMisses.increment();
+            return null;
+        }
+        offHeapHits.increment();
+        store.remove(name, key);
+        CacheEntry promoted = entryOf(stored.value().decode(), stored.writtenAt(), stored.freshUntil());
+        cache.put(key, promoted);
+        return promoted;
+    }
+
+    /**
+     * Entrada lida do snapshot ({@link CacheSnapshotter}), com os prazos originais. Não
+     * substitui o que já foi gravado desde o início da aplicação: nem a própria chave, nem
+     * o registro do EntityStore que ela compartilha com outras chaves do mesmo ID (a
+     * comparação por {@code writtenAt} fica no {@link EntityStore}).
+     */
+    boolean restore(Object key, Object value, long writtenAt, long freshUntil) {
+        boolean[] restored = {false};
+        cache.asMap().computeIfAbsent(key, absent -> {
+            restored[0] = true;
+            return entryOf(value, writtenAt, freshUntil);
+        });
+        return restored[0];
+    }
+
+    // Chamado pelo Caffeine ao remover a entrada por tamanho
+    void demote(Object key, CacheEntry entry) {
+        OffHeapStore store = offHeap;
+        if (store == null) {
+            return;
+        }
+        if (offHeapCodec.encode(resolve(entry)) instanceof CompactCodec.CompactValue compact) {
+            store.put(name, key, compact, entry.writtenAt(), entry.freshUntil(),
+                entry.freshUntil() + staleRetention.toMillis());
+        }
+    }
+
+    private boolean removeOffHeap(Object key) {
+        OffHeapStore store = offHeap;
+        return store != null && store.remove(name, key);
+    }
+
+    private void clearOffHeap() {
+        OffHeapStore store = offHeap;
+        if (store != null) {
+            store.clear(name);
+        }
+    }
+
+    private Counter offHeapCounter(String result) {
+        return Counter.builder("omdb.cache.l2")
+            .description("Consultas ao cache fora do heap (L2) depois de um miss no Caffeine (L1)")
+            .tag("cache", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private CacheEntry freshEntry(Object key) {
+        CacheEntry entry = lookup(key);
+        return entry != null && entry.isFresh(clock.millis()) ? entry : null;
+    }
+
+    private CacheEntry newEntry(Object value) {
+        long now = clock.millis();
+        ReleaseAwareTtl policy = releaseTtl;
+        Duration entryTtl = policy != null ? policy.ttlFor(value, ttl) : ttl;
+        return entryOf(value, now, now + entryTtl.toMillis());
+    }
+
+    private CacheEntry entryOf(Object value, long writtenAt, long freshUntil) {
+        CompactCodec codec = compactCodec;
+        if (codec != null) {
+            return new CacheEntry(codec.encode(value), writtenAt, freshUntil);
+        }
+        EntityStore store = entityStore;
+        CacheEntry entry = new CacheEntry(store != null ? store.intern(value, writtenAt) : value, writtenAt, freshUntil);
+        if (preSerializedBodies != null) {
+            // Renderiza já na escrita: o primeiro hit não paga a serialização
+            valueOf(entry);
+        }
+        return entry;
+    }
+
+    private Object valueOf(CacheEntry entry) {
+        if (entry.value() instanceof CompactCodec.CompactValue compact) {
+            return compact.decode();
+        }
+        Object value = resolve(entry);
+        PreSerializedBodies bodies = preSerializedBodies;
+        if (bodies != null) {
+            bodies.render(value);
+        }
+        return value;
+    }
+
+    Object resolve(CacheEntry entry) {
+        if (entry.value() instanceof CompactCodec.CompactValue compact) {
+            return compact.decode();
+        }
+        EntityStore store = entityStore;
+        return store != null ? store.resolve(entry.value()) : entry.value();
+    }
+
+    private Object serveStale(Object key, CacheEntry entry, Throwable cause) {
+        staleServed.increment();
+        long now = clock.millis();
+        logger.info("[CACHE STALE] OMDb indisponivel ({}) - servindo entrada expirada do cache '{}' com chave '{}' (idade {}s)",
+            cause != null ? rootCause(cause).getMessage() : "erro 5xx", name, key, entry.ageSeconds(now));
+        return markStale(valueOf(entry), entry.ageSeconds(now));
+    }
+
+    private static Object markStale(Object value, long ageSeconds) {
+        if (value instanceof ResponseEntity<?> response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.addAll(response.getHeaders());
+            headers.set(CACHE_STATUS_HEADER, "STALE");
+            headers.set(HttpHeaders.AGE, Long.toString(ageSeconds));
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+        }
+        return value;
+    }
+
+    static boolean isCacheable(Object value) {
+        if (value == null) {
+            return false;
+        }
+        Object body = value instanceof ResponseEntity<?> response ? response.getBody() : value;
+        return !(body instanceof SuccessAware result) || result.isSuccess();
+    }
+
+    // Só corpos marcados pelos services (a OMDb respondeu Response: False); validação,
+    // corpo nulo da OMDb e os demais 4xx (chave inválida, limite) não são "não encontrado"
+    static boolean isNotFound(Object value) {
+        return value instanceof ResponseEntity<?> response
+            && (response.getStatusCode().is2xxSuccessful() || response.getStatusCode().value() == 404)
+            && response.getBody() instanceof SuccessAware result
+            && !result.isSuccess()
+            && result.isNotFound();
+    }
+
+    private static boolean isServerErrorResponse(Object value) {
+        return value instanceof ResponseEntity<?> response && response.getStatusCode().is5xxServerError();
+    }
+
+    static boolean isUpstreamFailure(Throwable ex) {
+        for (Throwable current = ex; current != null; current = current.getCause()) {
+            if (current instanceof OmdbUnavailableException
+                    || current instanceof ResourceAccessException
+                    || current instanceof HttpServerErrorException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable rootCause(Throwable ex) {
+        Throwable current = ex;
+        while (current.getCause() != null && current.getCause() != current) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
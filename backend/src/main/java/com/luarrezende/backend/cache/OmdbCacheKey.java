@@ -0,0 +1,315 @@
+package com.luarrezende.backend.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Chaves dos caches da OMDb, uma classe por formato de operação. Os valores são
+ * normalizados na criação (título pelo {@link QueryNormalizer}, IDs sem espaços nas pontas
+ * e em minúsculas, página mínima 1, plot padrão {@code short}, temporada e episódio sem
+ * zeros à esquerda); os construtores, privados, recebem valores já normalizados. Classes
+ * finais em vez de records para que o hash seja calculado uma vez: as chaves são consultadas
+ * a cada chamada cacheada. {@code toString()} mantém o formato das antigas chaves String
+ * ({@code the matrix}, {@code matrix_page_1}, {@code tt0133093_short}), usado nos logs.
+ */
+public sealed interface OmdbCacheKey {
+
+    enum Kind { TITLE, SEARCH, DETAILS, SEASON, EPISODE }
+
+    Kind kind();
+
+    // Componentes já normalizados, na ordem da fábrica (snapshot)
+    List<String> parts();
+
+    static Title title(String title) {
+        return new Title(QueryNormalizer.normalize(title));
+    }
+
+    static Search search(String title, int page) {
+        return new Search(QueryNormalizer.normalize(title), Math.max(page, 1));
+    }
+
+    static Details details(String id, String plot) {
+        String normalizedPlot = normalizeText(plot);
+        return new Details(normalizeText(id), normalizedPlot == null || normalizedPlot.isEmpty() ? "short" : normalizedPlot);
+    }
+
+    static Season season(String seriesId, String season) {
+        return new Season(normalizeText(seriesId), normalizeNumber(season));
+    }
+
+    static Episode episode(String seriesId, String season, String episode) {
+        return new Episode(normalizeText(seriesId), normalizeNumber(season), normalizeNumber(episode));
+    }
+
+    /**
+     * Chave a partir de {@link #parts()} (valores já normalizados).
+     */
+    static OmdbCacheKey of(Kind kind, List<String> parts) {
+        return switch (kind) {
+            case TITLE -> new Title(parts.get(0));
+            case SEARCH -> new Search(parts.get(0), Integer.parseInt(parts.get(1)));
+            case DETAILS -> new Details(parts.get(0), parts.get(1));
+            case SEASON -> new Season(parts.get(0), parts.get(1));
+            case EPISODE -> new Episode(parts.get(0), parts.get(1), parts.get(2));
+        };
+    }
+
+    static String normalizeText(String value) {
+        return value != null ? value.strip().toLowerCase(Locale.ROOT) : null;
+    }
+
+    // "01" e " 1 " viram "1"; valores não numéricos ficam só sem espaços
+    static String normalizeNumber(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.strip();
+        int start = 0;
+        while (start < trimmed.length() - 1 && trimmed.charAt(start) == '0') {
+            start++;
+        }
+        for (int i = start; i < trimmed.length(); i++) {
+            if (trimmed.charAt(i) < '0' || trimmed.charAt(i) > '9') {
+                return trimmed;
+            }
+        }
+        return trimmed.isEmpty() ? trimmed : trimmed.substring(start);
+    }
+
+    final class Title implements OmdbCacheKey {
+
+        private final String title;
+        private final int hash;
+
+        private Title(String title) {
+            this.title = title;
+            this.hash = Objects.hashCode(title);
+        }
+
+        public String title() {
+            return title;
+        }
+
+        @Override
+        public Kind kind() {
+            return Kind.TITLE;
+        }
+
+        @Override
+        public List<String> parts() {
+            return Arrays.asList(title);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || other instanceof Title key && hash == key.hash && Objects.equals(title, key.title);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(title);
+        }
+    }
+
+    final class Search implements OmdbCacheKey {
+
+        private final String title;
+        private final int page;
+        private final int hash;
+
+        private Search(String title, int page) {
+            this.title = title;
+            this.page = page;
+            this.hash = 31 * Objects.hashCode(title) + page;
+        }
+
+        public String title() {
+            return title;
+        }
+
+        public int page() {
+            return page;
+        }
+
+        @Override
+        public Kind kind() {
+            return Kind.SEARCH;
+        }
+
+        @Override
+        public List<String> parts() {
+            return Arrays.asList(title, Integer.toString(page));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || other instanceof Search key && hash == key.hash && page == key.page
+                && Objects.equals(title, key.title);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return title + "_page_" + page;
+        }
+    }
+
+    final class Details implements OmdbCacheKey {
+
+        private final String id;
+        private final String plot;
+        private final int hash;
+
+        private Details(String id, String plot) {
+            this.id = id;
+            this.plot = plot;
+            this.hash = 31 * Objects.hashCode(id) + Objects.hashCode(plot);
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public String plot() {
+            return plot;
+        }
+
+        @Override
+        public Kind kind() {
+            return Kind.DETAILS;
+        }
+
+        @Override
+        public List<String> parts() {
+            return Arrays.asList(id, plot);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || other instanceof Details key && hash == key.hash && Objects.equals(id, key.id)
+                && Objects.equals(plot, key.plot);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return id + "_" + plot;
+        }
+    }
+
+    final class Season implements OmdbCacheKey {
+
+        private final String seriesId;
+        private final String season;
+        private final int hash;
+
+        private Season(String seriesId, String season) {
+            this.seriesId = seriesId;
+            this.season = season;
+            this.hash = 31 * Objects.hashCode(seriesId) + Objects.hashCode(season);
+        }
+
+        public String seriesId() {
+            return seriesId;
+        }
+
+        public String season() {
+            return season;
+        }
+
+        @Override
+        public Kind kind() {
+            return Kind.SEASON;
+        }
+
+        @Override
+        public List<String> parts() {
+            return Arrays.asList(seriesId, season);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || other instanceof Season key && hash == key.hash && Objects.equals(seriesId, key.seriesId)
+                && Objects.equals(season, key.season);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return seriesId + "_" + season;
+        }
+    }
+
+    final class Episode implements OmdbCacheKey {
+
+        private final String seriesId;
+        private final String season;
+        private final String episode;
+        private final int hash;
+
+        private Episode(String seriesId, String season, String episode) {
+            this.seriesId = seriesId;
+            this.season = season;
+            this.episode = episode;
+            this.hash = 31 * (31 * Objects.hashCode(seriesId) + Objects.hashCode(season)) + Objects.hashCode(episode);
+        }
+
+        public String seriesId() {
+            return seriesId;
+        }
+
+        public String season() {
+            return season;
+        }
+
+        public String episode() {
+            return episode;
+        }
+
+        @Override
+        public Kind kind() {
+            return Kind.EPISODE;
+        }
+
+        @Override
+        public List<String> parts() {
+            return Arrays.asList(seriesId, season, episode);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || other instanceof Episode key && hash == key.hash && Objects.equals(seriesId, key.seriesId)
+                && Objects.equals(season, key.season) && Objects.equals(episode, key.episode);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return seriesId + "_" + season + "_" + episode;
+        }
+    }
+}
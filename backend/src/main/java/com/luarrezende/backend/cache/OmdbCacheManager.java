@@ -0,0 +1,273 @@
+package com.luarrezende.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.luarrezende.backend.config.OmdbCacheProperties;
+import com.luarrezende.backend.config.OmdbCacheProperties.CacheSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cria um {@link OmdbCache} para cada nome configurado. Nomes desconhecidos não
+ * criam caches sob demanda, como no {@code CaffeineCacheManager} com nomes fixos.
+ *
+ * <p>Cada cache usa a sua própria configuração ({@code app.cache.caches.<nome>.*}),
+ * que pode ser alterada em tempo de execução por {@link #reconfigure}: o limite e a
+ * retenção valem na hora para todas as entradas, o novo ttl vale para as próximas escritas.
+ * Com {@code app.cache.release-ttl.enabled} ({@link ReleaseAwareTtl}) a expiração é por
+ * entrada e a nova retenção também só vale para as próximas escritas.
+ *
+ * <p>Com {@code app.cache.max-heap-mb} o limite de cada cache passa a ser em bytes: cada
+ * entrada pesa o tamanho estimado da resposta ({@link ObjectSizeEstimator}) e o orçamento
+ * é dividido entre os caches ({@code max-heap} explícito ou partes iguais do restante).
+ *
+ * <p>As revalidações de soft TTL ({@code refresh-after}) rodam em um pool pequeno e
+ * limitado deste manager, separado das threads das requisições.
+ *
+ * <p>Com {@code app.cache.normalize-entities} todos os caches compartilham um
+ * {@link EntityStore}: cada título é guardado uma vez, não uma vez por chave. Os caches
+ * listados em {@code app.cache.compact.caches} guardam as respostas em binário compacto, e
+ * os de {@code app.cache.off-heap.caches} ganham um segundo nível fora do heap ({@link OffHeapStore}).
+ */
+public class OmdbCacheManager extends AbstractCacheManager implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(OmdbCacheManager.class);
+
+    private static final Weigher<Object, CacheEntry> ESTIMATED_SIZE = (key, entry) ->
+        (int) Math.min(Integer.MAX_VALUE, ObjectSizeEstimator.estimate(key) + ObjectSizeEstimator.estimate(entry));
+
+    private final List<String> cacheNames;
+    private final OmdbCacheProperties properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CacheSpec> specs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refreshExecutor;
+    private final EntityStore entityStore;
+    private PreSerializedBodies preSerializedBodies;
+    private final OffHeapStore offHeapStore;
+    private final ReleaseAwareTtl releaseTtl;
+
+    public OmdbCacheManager(OmdbCacheProperties properties, Clock clock, MeterRegistry meterRegistry, String... cacheNames) {
+        this.cacheNames = Arrays.asList(cacheNames);
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("omdb-cache-refresh-");
+        threadFactory.setDaemon(true);
+        this.refreshExecutor = new ThreadPoolExecutor(properties.getRefreshThreads(), properties.getRefreshThreads(),
+            30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getRefreshQueueCapacity()), threadFactory);
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
+        this.entityStore = properties.isNormalizeEntities() ? new EntityStore(meterRegistry) : null;
+        this.releaseTtl = properties.getReleaseTtl().isEnabled()
+            ? new ReleaseAwareTtl(properties.getReleaseTtl(), clock, meterRegistry) : null;
+        OmdbCacheProperties.OffHeap offHeap = properties.getOffHeap();
+        this.offHeapStore = offHeap.getCaches().isEmpty() || offHeap.getMaxSize().toBytes() <= 0 ? null
+            : new OffHeapStore(offHeap.getMaxSize().toBytes(), offHeap.getSlabSize().toBytes(), meterRegistry);
+    }
+
+    // Antes da inicialização dos caches (afterPropertiesSet)
+    public void setPreSerializedBodies(PreSerializedBodies preSerializedBodies) {
+        this.preSerializedBodies = preSerializedBodies;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        Map<String, DataSize> heapBudgets = heapBudgets();
+        return cacheNames.stream().map(name -> createCache(name, heapBudgets.get(name))).toList();
+    }
+
+    // Configuração efetiva de cada cache, na ordem em que foram declarados
+    public Map<String, CacheSpec> getSpecs() {
+        Map<String, CacheSpec> effective = new LinkedHashMap<>();
+        for (String name : cacheNames) {
+            CacheSpec spec = specs.get(name);
+            if (spec != null) {
+                effective.put(name, spec);
+            }
+        }
+        return effective;
+    }
+
+    /**
+     * Aplica {@code changes} sobre a configuração atual do cache; campos nulos são mantidos.
+     * Retorna a nova configuração efetiva, ou {@code null} se o cache não existir.
+     */
+    public CacheSpec reconfigure(String name, CacheSpec changes) {
+        if (!(getCache(name) instanceof OmdbCache cache)) {
+            return null;
+        }
+        CacheSpec current = specs.get(name);
+        if (current.isWeighted() && changes.getMaximumSize() != null) {
+            throw new IllegalArgumentException("Cache '" + name + "' é limitado por memória: altere maxHeap, não maximumSize");
+        }
+        if (!current.isWeighted() && changes.getMaxHeap() != null) {
+            throw new IllegalArgumentException("Cache '" + name + "' é limitado por quantidade: habilite app.cache.max-heap-mb para usar maxHeap");
+        }
+        CacheSpec spec = changes.withDefaults(current);
+        validate(name, spec);
+
+        com.github.benmanes.caffeine.cache.Cache<Object, CacheEntry> nativeCache = cache.getNativeCache();
+        nativeCache.policy().eviction().ifPresent(eviction ->
+            eviction.setMaximum(spec.isWeighted() ? spec.getMaxHeap().toBytes() : spec.getMaximumSize()));
+        nativeCache.policy().expireAfterWrite().ifPresent(expiration ->
+            expiration.setExpiresAfter(spec.getTtl().plus(spec.getStaleRetention())));
+        cache.setTtl(spec.getTtl());
+        cache.setRefreshAfter(spec.getRefreshAfter());
+        cache.setStaleRetention(spec.getStaleRetention());
+        specs.put(name, spec);
+
+        logger.info("[CACHE CONFIG] Cache '{}' reconfigurado: ttl={}, refreshAfter={}, maximumSize={}, maxHeap={}, staleRetention={}",
+            name, spec.getTtl(), spec.getRefreshAfter(), spec.getMaximumSize(), spec.getMaxHeap(), spec.getStaleRetention());
+        return spec;
+    }
+
+    private OmdbCache createCache(String name, DataSize heapBudget) {
+        CacheSpec spec = properties.specFor(name);
+        spec.setMaxHeap(heapBudget);
+        validate(name, spec);
+        specs.put(name, spec);
+
+        boolean offHeap = offHeapStore != null && properties.getOffHeap().getCaches().contains(name);
+        // O cache ainda não existe quando o listener é criado
+        AtomicReference<OmdbCache> owner = new AtomicReference<>();
+        Caffeine<Object, CacheEntry> builder = Caffeine.newBuilder()
+                .recordStats()
+                .evictionListener((Object key, CacheEntry entry, RemovalCause cause) -> {
+                    OmdbCache evictedFrom = owner.get();
+                    if (offHeap && cause == RemovalCause.SIZE && key != null && entry != null && evictedFrom != null) {
+                        evictedFrom.demote(key, entry);
+                    }
+                });
+        if (releaseTtl != null) {
+            builder.expireAfter(new RetentionExpiry(owner, clock));
+        } else {
+            builder.expireAfterWrite(spec.getTtl().plus(spec.getStaleRetention()));
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, CacheEntry> nativeCache = spec.isWeighted()
+                ? builder.maximumWeight(spec.getMaxHeap().toBytes()).weigher(ESTIMATED_SIZE).build()
+                : builder.maximumSize(spec.getMaximumSize()).build();
+        OmdbCache cache = new OmdbCache(name, nativeCache, spec.getTtl(), clock, meterRegistry);
+        owner.set(cache);
+        cache.setStaleRetention(spec.getStaleRetention());
+        if (offHeap) {
+            cache.setOffHeap(offHeapStore, new CompactCodec(properties.getCompact().getCompressMinSize().toBytes()));
+        }
+        cache.setRefreshAfter(spec.getRefreshAfter());
+        cache.setRefreshExecutor(refreshExecutor);
+        cache.setReleaseTtl(releaseTtl);
+        cache.setLogSampleRate(properties.getLogSampleRate());
+        OmdbCacheProperties.SingleFlight singleFlight = properties.getSingleFlight();
+        cache.setSingleFlightWait(singleFlight.isEnabled() ? singleFlight.getMaxWait() : null);
+        cache.setEntityStore(entityStore);
+        cache.setPreSerializedBodies(preSerializedBodies);
+        OmdbCacheProperties.Compact compact = properties.getCompact();
+        if (compact.getCaches().contains(name)) {
+            cache.setCompactCodec(new CompactCodec(compact.getCompressMinSize().toBytes()));
+        }
+        OmdbCacheProperties.Negative negative = properties.getNegative();
+        if (negative.isEnabled()) {
+            cache.setNegativeCache(new NegativeCache(name, negative.getTtl(), negative.getMaximumSize(),
+                negative.getFalsePositiveRate(), clock, meterRegistry));
+        }
+        return cache;
+    }
+
+    // Orçamento de cada cache: max-heap explícito ou divisão igual do que sobra do global
+    private Map<String, DataSize> heapBudgets() {
+        Map<String, DataSize> budgets = new HashMap<>();
+        long remaining = DataSize.ofMegabytes(properties.getMaxHeapMb()).toBytes();
+        int unassigned = 0;
+        for (String name : cacheNames) {
+            DataSize explicit = properties.specFor(name).getMaxHeap();
+            if (explicit != null) {
+                budgets.put(name, explicit);
+                remaining -= explicit.toBytes();
+            } else {
+                unassigned++;
+            }
+        }
+        if (properties.getMaxHeapMb() <= 0 || unassigned == 0) {
+            return budgets;
+        }
+        if (remaining <= 0) {
+            throw new IllegalArgumentException("app.cache.max-heap-mb=" + properties.getMaxHeapMb()
+                + " não comporta os max-heap definidos por cache");
+        }
+        DataSize share = DataSize.ofBytes(remaining / unassigned);
+        for (String name : cacheNames) {
+            budgets.putIfAbsent(name, share);
+        }
+        logger.info("[CACHE CONFIG] Orcamento de heap dos caches: {}MB ({} por cache sem max-heap)",
+            properties.getMaxHeapMb(), share);
+        return budgets;
+    }
+
+    private static void validate(String name, CacheSpec spec) {
+        if (spec.getTtl().isNegative() || spec.getTtl().isZero()) {
+            throw new IllegalArgumentException("ttl do cache '" + name + "' deve ser positivo: " + spec.getTtl());
+        }
+        if (spec.getMaximumSize() < 0) {
+            throw new IllegalArgumentException("maximumSize do cache '" + name + "' não pode ser negativo: " + spec.getMaximumSize());
+        }
+        if (spec.isWeighted() && spec.getMaxHeap().isNegative()) {
+            throw new IllegalArgumentException("maxHeap do cache '" + name + "' não pode ser negativo: " + spec.getMaxHeap());
+        }
+        if (spec.getRefreshAfter() != null && spec.getRefreshAfter().isNegative()) {
+            throw new IllegalArgumentException("refreshAfter do cache '" + name + "' não pode ser negativo: " + spec.getRefreshAfter());
+        }
+        if (spec.getStaleRetention().isNegative()) {
+            throw new IllegalArgumentException("staleRetention do cache '" + name + "' não pode ser negativo: " + spec.getStaleRetention());
+        }
+    }
+
+    /**
+     * Expiração por entrada (política por data de lançamento): a entrada sai do Caffeine ao
+     * fim da validade dela mais a retenção stale atual do cache; leituras não alteram o prazo.
+     */
+    private record RetentionExpiry(AtomicReference<OmdbCache> owner, Clock clock) implements Expiry<Object, CacheEntry> {
+
+        @Override
+        public long expireAfterCreate(Object key, CacheEntry entry, long currentTime) {
+            OmdbCache cache = owner.get();
+            long expiresAt = entry.freshUntil() + cache.getStaleRetention().toMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAt - clock.millis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, CacheEntry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, CacheEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,108 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.config.OmdbCacheProperties.CacheSpec;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint de administração dos caches da OMDb ({@code /actuator/omdbcaches}).
+ * GET lista a configuração efetiva de cada cache, o número de entradas (positivas e
+ * negativas) e, nos caches limitados por memória, o tamanho estimado em bytes; POST em
+ * {@code /actuator/omdbcaches/{cache}} altera ttl, refreshAfter (0 desliga),
+ * maximumSize (ou maxHeap) e staleRetention sem reiniciar a aplicação (mesmas unidades das propriedades:
+ * ttl sem unidade = segundos, ex.: {@code {"ttl": "15m", "maxHeap": "64MB"}}).
+ * Como os demais endpoints do actuator além de health e info, exige o papel ACTUATOR
+ * ({@code SecurityConfig}).
+ */
+@Endpoint(id = "omdbcaches")
+public class OmdbCachesEndpoint {
+
+    private final OmdbCacheManager cacheManager;
+
+    public OmdbCachesEndpoint(OmdbCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @ReadOperation
+    public Map<String, CacheDescriptor> caches() {
+        Map<String, CacheDescriptor> caches = new LinkedHashMap<>();
+        cacheManager.getSpecs().forEach((name, spec) -> caches.put(name, describe(name, spec)));
+        return caches;
+    }
+
+    @ReadOperation
+    public CacheDescriptor cache(@Selector String cache) {
+        CacheSpec spec = cacheManager.getSpecs().get(cache);
+        return spec != null ? describe(cache, spec) : null;
+    }
+
+    @WriteOperation
+    public CacheDescriptor reconfigure(@Selector String cache, @Nullable String ttl, @Nullable String refreshAfter,
+                                       @Nullable Long maximumSize, @Nullable String maxHeap,
+                                       @Nullable String staleRetention) {
+        CacheSpec changes = new CacheSpec();
+        changes.setTtl(parse("ttl", ttl, ChronoUnit.SECONDS));
+        changes.setRefreshAfter(parse("refreshAfter", refreshAfter, ChronoUnit.SECONDS));
+        changes.setMaximumSize(maximumSize);
+        changes.setStaleRetention(parse("staleRetention", staleRetention, ChronoUnit.MILLIS));
+        changes.setMaxHeap(parseSize(maxHeap));
+        try {
+            CacheSpec spec = cacheManager.reconfigure(cache, changes);
+            return spec != null ? describe(cache, spec) : null;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException(ex.getMessage(), ex.getMessage());
+        }
+    }
+
+    private CacheDescriptor describe(String name, CacheSpec spec) {
+        OmdbCache cache = (OmdbCache) cacheManager.getCache(name);
+        long size = cache != null ? cache.getNativeCache().estimatedSize() : 0;
+        Long heapBytes = cache != null && cache.getEstimatedHeapBytes().isPresent()
+            ? cache.getEstimatedHeapBytes().getAsLong() : null;
+        String refreshAfter = spec.getRefreshAfter() != null && !spec.getRefreshAfter().isZero()
+            ? spec.getRefreshAfter().toString() : null;
+        return new CacheDescriptor(spec.getTtl().toString(), refreshAfter, spec.isWeighted() ? null : spec.getMaximumSize(),
+            spec.isWeighted() ? spec.getMaxHeap().toBytes() : null, spec.getStaleRetention().toString(), size, heapBytes,
+            cache != null ? cache.getNegativeSize() : 0);
+    }
+
+    private static Duration parse(String field, String value, ChronoUnit unit) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return DurationStyle.detectAndParse(value.trim(), unit);
+        } catch (IllegalArgumentException ex) {
+            String message = "Valor invalido para " + field + ": " + value;
+            throw new InvalidEndpointRequestException(message, message);
+        }
+    }
+
+    private static DataSize parseSize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return DataSize.parse(value.trim());
+        } catch (IllegalArgumentException ex) {
+            String message = "Valor invalido para maxHeap: " + value;
+            throw new InvalidEndpointRequestException(message, message);
+        }
+    }
+
+    // maximumSize ou maxHeapBytes, conforme o tipo de limite; heapBytes só nos caches limitados por memória
+    public record CacheDescriptor(String ttl, String refreshAfter, Long maximumSize, Long maxHeapBytes, String staleRetention,
+                                  long size, Long heapBytes, long negativeSize) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.luarrezende.backend.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Formato da {@link OmdbCacheKey} de um método {@code @Cacheable} que usa o
+ * {@link OmdbKeyGenerator}. Os parâmetros do método devem seguir a fábrica do formato, na
+ * mesma ordem: {@code (String title)}, {@code (String title, int page)},
+ * {@code (String id, String plot)}, {@code (String seriesId, String season)} ou
+ * {@code (String seriesId, String season, String episode)}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OmdbKey {
+
+    OmdbCacheKey.Kind value();
+}
@@ -0,0 +1,57 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.cache.OmdbCacheKey.Kind;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link KeyGenerator} dos services de filmes e séries: monta uma {@link OmdbCacheKey}
+ * direto dos argumentos, sem avaliar SpEL a cada chamada. O formato da chave é declarado
+ * no método com {@link OmdbKey} e conferido com os tipos dos parâmetros uma vez por método.
+ * Método sem a anotação ou com parâmetros que não batem com o formato é erro de
+ * configuração: a chamada falha com {@link IllegalStateException} em vez de cair numa
+ * chave genérica sem normalização.
+ */
+public class OmdbKeyGenerator implements KeyGenerator {
+
+    private final Map<Method, Kind> kinds = new ConcurrentHashMap<>();
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return switch (kinds.computeIfAbsent(method, OmdbKeyGenerator::kindOf)) {
+            case TITLE -> OmdbCacheKey.title((String) params[0]);
+            case SEARCH -> OmdbCacheKey.search((String) params[0], (Integer) params[1]);
+            case DETAILS -> OmdbCacheKey.details((String) params[0], (String) params[1]);
+            case SEASON -> OmdbCacheKey.season((String) params[0], (String) params[1]);
+            case EPISODE -> OmdbCacheKey.episode((String) params[0], (String) params[1], (String) params[2]);
+        };
+    }
+
+    static Kind kindOf(Method method) {
+        OmdbKey key = AnnotationUtils.findAnnotation(method, OmdbKey.class);
+        if (key == null) {
+            throw new IllegalStateException("Metodo " + method.toGenericString() + " usa o omdbKeyGenerator sem @OmdbKey");
+        }
+        List<Class<?>> expected = parameterTypes(key.value());
+        if (!Arrays.asList(method.getParameterTypes()).equals(expected)) {
+            throw new IllegalStateException("Metodo " + method.toGenericString() + " com @OmdbKey(" + key.value()
+                + ") deve receber " + expected.stream().map(Class::getSimpleName).toList());
+        }
+        return key.value();
+    }
+
+    private static List<Class<?>> parameterTypes(Kind kind) {
+        return switch (kind) {
+            case TITLE -> List.of(String.class);
+            case SEARCH -> List.of(String.class, int.class);
+            case DETAILS, SEASON -> List.of(String.class, String.class);
+            case EPISODE -> List.of(String.class, String.class, String.class);
+        };
+    }
+}
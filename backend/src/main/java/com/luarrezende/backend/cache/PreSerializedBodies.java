@@ -0,0 +1,102 @@
+package com.luarrezende.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luarrezende.backend.dto.SuccessAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON das respostas em cache, renderizado uma vez quando a entrada é gravada (ou
+ * quando o {@link EntityStore} monta um corpo novo) em vez de a cada cache hit. A chave
+ * é a própria instância do corpo (identidade, referência fraca): o mapeamento some junto
+ * com a entrada do cache. Os bytes não entram no peso das entradas dos caches: têm orçamento
+ * próprio ({@code app.cache.pre-serialized.max-size}, JSON + gzip). Corpo cujos bytes saíram
+ * por esse limite é renderizado de novo no próximo hit.
+ *
+ * <p>Os corpos em cache não podem ser alterados depois de renderizados; o
+ * {@link PreSerializedBodyConverter} escreve estes bytes direto na resposta.
+ */
+public class PreSerializedBodies {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreSerializedBodies.class);
+
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+    private final long gzipMinBytes;
+    private final Cache<Object, Rendered> rendered;
+
+    public PreSerializedBodies(ObjectMapper objectMapper, boolean gzip, long gzipMinBytes, long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+        this.gzipMinBytes = gzipMinBytes;
+        this.rendered = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumWeight(maxBytes)
+            .<Object, Rendered>weigher((body, bytes) -> bytes.weight())
+            .build();
+    }
+
+    /**
+     * JSON (e gzip) de um corpo de resposta da API; bytes já renderizados são reaproveitados.
+     */
+    public void render(Object value) {
+        Object body = value instanceof ResponseEntity<?> response ? response.getBody() : value;
+        if (body instanceof SuccessAware) {
+            rendered.get(body, this::serialize);
+        }
+    }
+
+    // null quando o corpo não veio de um cache (ou não pôde ser serializado)
+    public Rendered get(Object body) {
+        return rendered.getIfPresent(body);
+    }
+
+    public long size() {
+        return rendered.estimatedSize();
+    }
+
+    // Bytes de JSON e gzip guardados, o que conta para max-size
+    public long weightedSize() {
+        return rendered.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    private Rendered serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Rendered(json, gzip && json.length >= gzipMinBytes ? gzip(json) : null);
+        } catch (JsonProcessingException ex) {
+            logger.debug("[CACHE JSON] Corpo {} nao pode ser pre-serializado: {}", body.getClass().getSimpleName(), ex.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 3 + 32);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Corpo renderizado; {@code gzipped} é null com gzip desligado ou JSON pequeno.
+     * Os arrays são compartilhados entre requisições e nunca devem ser alterados.
+     */
+    public record Rendered(byte[] json, byte[] gzipped) {
+
+        int weight() {
+            return json.length + (gzipped != null ? gzipped.length : 0);
+        }
+    }
+}
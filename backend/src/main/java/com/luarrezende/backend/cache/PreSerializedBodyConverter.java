@@ -0,0 +1,139 @@
+package com.luarrezende.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luarrezende.backend.dto.SuccessAware;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Escreve as respostas da API ({@link SuccessAware}) em JSON. Corpos vindos do cache já
+ * têm os bytes prontos em {@link PreSerializedBodies} e vão direto para a resposta, em
+ * gzip quando o cliente aceita; os demais são serializados pelo mesmo ObjectMapper do
+ * Jackson, então o JSON é idêntico nos dois caminhos. Registrado antes do conversor do Jackson.
+ */
+public class PreSerializedBodyConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final PreSerializedBodies bodies;
+    private final ObjectMapper objectMapper;
+    private final Counter jsonWrites;
+    private final Counter gzipWrites;
+    private final Counter jacksonWrites;
+
+    public PreSerializedBodyConverter(PreSerializedBodies bodies, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(MediaType.APPLICATION_JSON);
+        this.bodies = bodies;
+        this.objectMapper = objectMapper;
+        this.jsonWrites = writeCounter(meterRegistry, "json");
+        this.gzipWrites = writeCounter(meterRegistry, "gzip");
+        this.jacksonWrites = writeCounter(meterRegistry, "jackson");
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SuccessAware.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Somente escrita");
+    }
+
+    // O tamanho depende da codificação escolhida em writeInternal
+    @Override
+    protected Long getContentLength(Object body, MediaType contentType) {
+        return null;
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        PreSerializedBodies.Rendered rendered = bodies.get(body);
+        byte[] bytes;
+        if (rendered == null) {
+            bytes = objectMapper.writeValueAsBytes(body);
+            jacksonWrites.increment();
+        } else if (rendered.gzipped() != null) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip()) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                bytes = rendered.gzipped();
+                gzipWrites.increment();
+            } else {
+                bytes = rendered.json();
+                jsonWrites.increment();
+            }
+        } else {
+            bytes = rendered.json();
+            jsonWrites.increment();
+        }
+        headers.setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    private static boolean acceptsGzip() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return false;
+        }
+        HttpServletRequest request = servlet.getRequest();
+        return acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    // Codificações separadas por vírgula, cada uma com q opcional ("gzip;q=0" recusa);
+    // "*" vale para gzip quando gzip não aparece explicitamente
+    static boolean acceptsGzip(String accepted) {
+        if (accepted == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : accepted.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].strip().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                return quality(parts) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality(parts) > 0;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].strip();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).strip());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static Counter writeCounter(MeterRegistry meterRegistry, String encoding) {
+        return Counter.builder("omdb.cache.serialized.writes")
+            .description("Corpos de resposta escritos a partir do JSON pré-serializado (json/gzip) ou pelo Jackson")
+            .tag("encoding", encoding)
+            .register(meterRegistry);
+    }
+}
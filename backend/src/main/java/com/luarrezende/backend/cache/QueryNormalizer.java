@@ -0,0 +1,95 @@
+package com.luarrezende.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canônica dos títulos buscados, usada na chave do cache ({@link OmdbCacheKey#title},
+ * {@link OmdbCacheKey#search}) e na consulta enviada à OMDb. {@code "Amélie"},
+ * {@code "amelie "}, {@code "AMÉLIE"} e {@code "Ａｍｅｌｉｅ"} viram {@code "amelie"}:
+ * <ul>
+ *   <li>NFKC (largura total, ligaduras e outras formas de compatibilidade)</li>
+ *   <li>acentos latinos removidos (marcas de U+0300 a U+036F sobre letras latinas e letras
+ *   com traço como {@code ø}, {@code ł}, {@code đ}); marcas de outras escritas são mantidas
+ *   ({@code й}, {@code ё}, tonos do grego)</li>
+ *   <li>aspas, apóstrofos e travessões tipográficos trocados pelos equivalentes ASCII;
+ *   caracteres invisíveis removidos e aspas nas pontas descartadas</li>
+ *   <li>minúsculas, espaços colapsados e sem espaço antes de {@code , : ; ! ?}</li>
+ * </ul>
+ * O resultado é memoizado para as consultas mais frequentes.
+ */
+public final class QueryNormalizer {
+
+    private static final int MEMOIZED_QUERIES = 10_000;
+
+    // Só marcas sobre letras latinas: й, ё e o tonos do grego são letras/grafia, não acento a descartar
+    private static final Pattern LATIN_DIACRITICS = Pattern.compile("(?<=\\p{IsLatin})[\\u0300-\\u036F]+");
+    private static final Pattern INVISIBLE = Pattern.compile("[\\p{Cf}\\p{Cc}&&[^\\s]]+");
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s\\p{Z}]+");
+    private static final Pattern SPACE_BEFORE_PUNCTUATION = Pattern.compile(" (?=[,:;!?])");
+
+    private static final Cache<String, String> memo = Caffeine.newBuilder()
+        .maximumSize(MEMOIZED_QUERIES)
+        .build();
+
+    private QueryNormalizer() {
+    }
+
+    public static String normalize(String query) {
+        if (query == null) {
+            return null;
+        }
+        return memo.get(query, QueryNormalizer::compute);
+    }
+
+    static String compute(String query) {
+        String folded = Normalizer.normalize(query, Normalizer.Form.NFKC);
+        folded = INVISIBLE.matcher(folded).replaceAll("");
+        folded = LATIN_DIACRITICS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        folded = replaceTypographic(folded).toLowerCase(Locale.ROOT);
+        folded = WHITESPACE.matcher(folded).replaceAll(" ");
+        folded = SPACE_BEFORE_PUNCTUATION.matcher(folded).replaceAll("");
+        return Normalizer.normalize(stripQuotes(folded.strip()), Normalizer.Form.NFC);
+    }
+
+    private static String replaceTypographic(String value) {
+        StringBuilder result = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            char replacement = switch (c) {
+                case '‘', '’', '‚', '‛', '′', '`' -> '\'';
+                case '“', '”', '„', '‟', '″', '«', '»' -> '"';
+                case '‐', '‑', '‒', '–', '—', '―', '−' -> '-';
+                case 'ø', 'Ø' -> 'o';
+                case 'ł', 'Ł' -> 'l';
+                case 'đ', 'Đ' -> 'd';
+                case 'ħ', 'Ħ' -> 'h';
+                default -> c;
+            };
+            if (replacement != c && result == null) {
+                result = new StringBuilder(value.length()).append(value, 0, i);
+            }
+            if (result != null) {
+                result.append(replacement);
+            }
+        }
+        return result != null ? result.toString() : value;
+    }
+
+    // "\"Matrix\"" copiado com aspas; apóstrofos ficam ('Salem's Lot)
+    private static String stripQuotes(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) == '"') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) == '"') {
+            end--;
+        }
+        return start == 0 && end == value.length() ? value : value.substring(start, end).strip();
+    }
+}
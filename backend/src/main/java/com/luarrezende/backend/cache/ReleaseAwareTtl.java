@@ -0,0 +1,159 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.config.OmdbCacheProperties;
+import com.luarrezende.backend.dto.EpisodeDetailsResponse;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import com.luarrezende.backend.dto.SeasonDetailsResponse;
+import com.luarrezende.backend.dto.SeriesDetailsResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * TTL de cada entrada a partir da data de lançamento da resposta ({@code released}, ou
+ * {@code year} quando não há data). Notas, votos e bilheteria mudam o tempo todo em
+ * lançamentos e quase nunca em títulos de catálogo, então:
+ * <ul>
+ *   <li>ainda não lançado: {@code upcoming}</li>
+ *   <li>lançado há menos de {@code new-release-window}: {@code new-release}</li>
+ *   <li>lançado há mais de {@code catalog-age}: {@code catalog}</li>
+ *   <li>séries em exibição ({@code year} sem ano de término): {@code ongoing-series}</li>
+ *   <li>temporadas com episódio futuro, sem data ou recente: {@code ongoing-season}</li>
+ * </ul>
+ * O resto (buscas, respostas sem data, títulos entre as duas faixas) fica com o ttl do cache.
+ */
+public class ReleaseAwareTtl {
+
+    private static final DateTimeFormatter RELEASED = DateTimeFormatter.ofPattern("d MMM yyyy", Locale.ENGLISH);
+    private static final Pattern YEAR = Pattern.compile("^(\\d{4})(?:\\s*[–-]\\s*(\\d{4})?)?");
+
+    enum Rule { UPCOMING, NEW_RELEASE, CATALOG, ONGOING_SERIES, ONGOING_SEASON, DEFAULT }
+
+    private final OmdbCacheProperties.ReleaseTtl properties;
+    private final Clock clock;
+    private final Map<Rule, Counter> applied = new EnumMap<>(Rule.class);
+
+    public ReleaseAwareTtl(OmdbCacheProperties.ReleaseTtl properties, Clock clock, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clock = clock;
+        for (Rule rule : Rule.values()) {
+            applied.put(rule, Counter.builder("omdb.cache.ttl.rule")
+                .description("Entradas gravadas por regra de TTL baseada na data de lançamento")
+                .tag("rule", rule.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * TTL da resposta; {@code defaultTtl} quando nenhuma regra se aplica.
+     */
+    public Duration ttlFor(Object value, Duration defaultTtl) {
+        Rule rule = ruleFor(value instanceof ResponseEntity<?> response ? response.getBody() : value);
+        applied.get(rule).increment();
+        return switch (rule) {
+            case UPCOMING -> properties.getUpcoming();
+            case NEW_RELEASE -> properties.getNewRelease();
+            case CATALOG -> properties.getCatalog();
+            case ONGOING_SERIES -> properties.getOngoingSeries();
+            case ONGOING_SEASON -> properties.getOngoingSeason();
+            case DEFAULT -> defaultTtl;
+        };
+    }
+
+    Rule ruleFor(Object body) {
+        LocalDate today = LocalDate.now(clock);
+        if (body instanceof MovieDetailsResponse movie) {
+            if ("series".equalsIgnoreCase(movie.getType())) {
+                return seriesRule(movie.getYear(), movie.getReleased(), today);
+            }
+            return releaseRule(releaseDate(movie.getReleased(), movie.getYear()), today);
+        }
+        if (body instanceof SeriesDetailsResponse series) {
+            return seriesRule(series.getYear(), series.getReleased(), today);
+        }
+        if (body instanceof EpisodeDetailsResponse episode) {
+            return releaseRule(releaseDate(episode.getReleased(), episode.getYear()), today);
+        }
+        if (body instanceof SeasonDetailsResponse season) {
+            return seasonRule(season, today);
+        }
+        return Rule.DEFAULT;
+    }
+
+    // Série encerrada conta a partir do último ano; em exibição não vira catálogo
+    private Rule seriesRule(String year, String released, LocalDate today) {
+        Matcher matcher = year != null ? YEAR.matcher(year.trim()) : null;
+        if (matcher == null || !matcher.find()) {
+            return releaseRule(releaseDate(released, null), today);
+        }
+        boolean range = matcher.group(0).length() > 4;
+        if (range && matcher.group(2) == null) {
+            LocalDate premiere = releaseDate(released, year);
+            return premiere != null && premiere.isAfter(today) ? Rule.UPCOMING : Rule.ONGOING_SERIES;
+        }
+        LocalDate lastYear = LocalDate.of(Integer.parseInt(range ? matcher.group(2) : matcher.group(1)), 12, 31);
+        return releaseRule(range ? lastYear : releaseDate(released, year), today);
+    }
+
+    private Rule seasonRule(SeasonDetailsResponse season, LocalDate today) {
+        if (season.getEpisodes() == null || season.getEpisodes().isEmpty()) {
+            return Rule.DEFAULT;
+        }
+        LocalDate latest = null;
+        for (SeasonDetailsResponse.EpisodeSummary episode : season.getEpisodes()) {
+            LocalDate released = releaseDate(episode.getReleased(), null);
+            if (released == null || released.isAfter(today)) {
+                return Rule.ONGOING_SEASON;
+            }
+            latest = latest == null || released.isAfter(latest) ? released : latest;
+        }
+        return switch (releaseRule(latest, today)) {
+            case NEW_RELEASE -> Rule.ONGOING_SEASON;
+            case CATALOG -> Rule.CATALOG;
+            default -> Rule.DEFAULT;
+        };
+    }
+
+    private Rule releaseRule(LocalDate released, LocalDate today) {
+        if (released == null) {
+            return Rule.DEFAULT;
+        }
+        if (released.isAfter(today)) {
+            return Rule.UPCOMING;
+        }
+        Duration age = Duration.ofDays(today.toEpochDay() - released.toEpochDay());
+        if (age.compareTo(properties.getNewReleaseWindow()) < 0) {
+            return Rule.NEW_RELEASE;
+        }
+        return age.compareTo(properties.getCatalogAge()) >= 0 ? Rule.CATALOG : Rule.DEFAULT;
+    }
+
+    // "16 Jul 2010"; sem data, 1º de janeiro do ano (OMDb usa "N/A" para campos vazios)
+    static LocalDate releaseDate(String released, String year) {
+        if (released != null && !released.isBlank() && !"N/A".equals(released)) {
+            try {
+                return LocalDate.parse(released.trim(), RELEASED);
+            } catch (DateTimeParseException ex) {
+                // cai para o ano
+            }
+        }
+        if (year != null) {
+            Matcher matcher = YEAR.matcher(year.trim());
+            if (matcher.find()) {
+                return LocalDate.of(Integer.parseInt(matcher.group(1)), 1, 1);
+            }
+        }
+        return null;
+    }
+}
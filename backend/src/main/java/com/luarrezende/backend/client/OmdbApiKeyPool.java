@@ -0,0 +1,143 @@
+package com.luarrezende.backend.client;
+
+import com.luarrezende.backend.config.OmdbApiKeyProperties;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conjunto de chaves da OMDb usado em rodízio. Cada chamada usa a chave saudável menos
+ * usada no dia que ainda tenha cota e vaga no seu limite por segundo. Uma resposta 401
+ * tira a chave da rotação: até a cota zerar quando a OMDb diz que o limite foi atingido,
+ * ou por {@code unhealthyDuration} para chave inválida.
+ */
+public class OmdbApiKeyPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(OmdbApiKeyPool.class);
+
+    private final List<KeyState> keys;
+    private final List<String> keyValues;
+    private final Duration unhealthyDuration;
+    private final OmdbQuotaManager quotaManager;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    public OmdbApiKeyPool(OmdbApiKeyProperties properties, OmdbQuotaManager quotaManager, Clock clock, MeterRegistry meterRegistry) {
+        this.unhealthyDuration = properties.getUnhealthyDuration();
+        this.quotaManager = quotaManager;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        int perSecond = properties.getKeyRateLimitPerSecond();
+        this.keys = properties.allKeys().stream().map(key -> new KeyState(key, perSecond)).toList();
+        this.keyValues = keys.stream().map(state -> state.key).toList();
+
+        for (KeyState state : keys) {
+            Gauge.builder("omdb.apikey.healthy", state, s -> s.isHealthy(clock.instant()) ? 1 : 0)
+                .description("Chave da OMDb em rotação (1) ou suspensa (0)")
+                .tag("key", state.fingerprint)
+                .register(meterRegistry);
+        }
+        logger.info("[API KEYS] {} chave(s) da OMDb em rotacao", keys.size());
+    }
+
+    /**
+     * Escolhe a chave para a próxima chamada, ou {@code null} se nenhuma estiver
+     * disponível agora.
+     */
+    public String select() {
+        Instant now = clock.instant();
+        // Uma leitura da cota por chamada; a chave de menor uso sai numa passada pela lista
+        long[] usage = quotaManager != null ? quotaManager.getUsed(keyValues) : null;
+        long limit = quotaManager != null ? quotaManager.getDailyLimit() : Long.MAX_VALUE;
+        boolean[] tried = new boolean[keys.size()];
+        while (true) {
+            int best = -1;
+            long bestUsage = Long.MAX_VALUE;
+            for (int i = 0; i < keys.size(); i++) {
+                KeyState state = keys.get(i);
+                long used = usage != null ? usage[i] : state.calls.get();
+                if (!tried[i] && used < limit && used < bestUsage && state.isHealthy(now)) {
+                    best = i;
+                    bestUsage = used;
+                }
+            }
+            if (best < 0) {
+                return null;
+            }
+            KeyState state = keys.get(best);
+            // Sem vaga no limite por segundo: tenta a próxima menos usada
+            if (state.bucket.tryConsume(1)) {
+                state.calls.incrementAndGet();
+                return state.key;
+            }
+            tried[best] = true;
+        }
+    }
+
+    public void onResponse(String key, HttpStatusCode status, byte[] body) {
+        if (status.value() != HttpStatus.UNAUTHORIZED.value()) {
+            return;
+        }
+        KeyState state = find(key);
+        if (state == null) {
+            return;
+        }
+        // A OMDb responde 401 tanto para chave inválida quanto para cota esgotada
+        String error = new String(body, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT);
+        boolean limitReached = error.contains("limit");
+        Duration suspension = limitReached && quotaManager != null ? quotaManager.untilReset() : unhealthyDuration;
+        state.unhealthyUntil = clock.instant().plus(suspension);
+        meterRegistry.counter("omdb.apikey.unhealthy", "key", state.fingerprint, "reason", limitReached ? "limit" : "unauthorized")
+            .increment();
+        logger.warn("[API KEYS] Chave {} suspensa por {} ({})", state.fingerprint, suspension,
+            limitReached ? "limite atingido" : "nao autorizada");
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    // Identifica a chave em logs, métricas e arquivos sem expor o valor
+    static String fingerprint(String key) {
+        return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)).substring(0, 8);
+    }
+
+    private KeyState find(String key) {
+        return keys.stream().filter(state -> state.key.equals(key)).findFirst().orElse(null);
+    }
+
+    private static final class KeyState {
+
+        private final String key;
+        private final String fingerprint;
+        private final Bucket bucket;
+        private final AtomicLong calls = new AtomicLong();
+        private volatile Instant unhealthyUntil = Instant.MIN;
+
+        private KeyState(String key, int perSecond) {
+            this.key = key;
+            this.fingerprint = fingerprint(key);
+            Bandwidth limit = Bandwidth.classic(perSecond, Refill.greedy(perSecond, Duration.ofSeconds(1)));
+            this.bucket = Bucket.builder().addLimit(limit).build();
+        }
+
+        private boolean isHealthy(Instant now) {
+            return !now.isBefore(unhealthyUntil);
+        }
+    }
+}
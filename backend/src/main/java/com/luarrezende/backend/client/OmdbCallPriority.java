@@ -0,0 +1,44 @@
+package com.luarrezende.backend.client;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.function.Supplier;
+
+/**
+ * Prioridade de uma chamada à OMDb na disputa pela cota diária. Consultas de detalhes
+ * ({@code t}, {@code i}, temporadas e episódios) são interativas, páginas de busca
+ * ({@code s}) vêm depois e prefetch/refresh, marcados com {@link #runAs}, por último.
+ */
+public enum OmdbCallPriority {
+
+    INTERACTIVE, SEARCH, BACKGROUND;
+
+    private static final ThreadLocal<OmdbCallPriority> OVERRIDE = new ThreadLocal<>();
+
+    /**
+     * Executa {@code action} com as chamadas à OMDb feitas nesta thread marcadas com
+     * {@code priority}, independente da URL.
+     */
+    public static <T> T runAs(OmdbCallPriority priority, Supplier<T> action) {
+        OmdbCallPriority previous = OVERRIDE.get();
+        OVERRIDE.set(priority);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                OVERRIDE.set(previous);
+            } else {
+                OVERRIDE.remove();
+            }
+        }
+    }
+
+    public static OmdbCallPriority of(URI uri) {
+        OmdbCallPriority override = OVERRIDE.get();
+        if (override != null) {
+            return override;
+        }
+        return UriComponentsBuilder.fromUri(uri).build().getQueryParams().containsKey("s") ? SEARCH : INTERACTIVE;
+    }
+}
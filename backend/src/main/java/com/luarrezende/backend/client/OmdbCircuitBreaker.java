@@ -0,0 +1,211 @@
+package com.luarrezende.backend.client;
+
+import com.luarrezende.backend.config.OmdbCircuitBreakerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker das chamadas à OMDb. Fechado, observa uma janela deslizante das
+ * últimas chamadas (erros de transporte, 5xx e chamadas lentas contam como falha) e
+ * abre quando a taxa de falhas passa do limite. Aberto, recusa chamadas sem tocar a
+ * rede até {@code openDuration}; depois passa a meio-aberto e libera algumas chamadas
+ * de teste: se todas derem certo o circuito fecha, qualquer falha o reabre.
+ */
+public class OmdbCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Logger logger = LoggerFactory.getLogger(OmdbCircuitBreaker.class);
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoTime;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Janela circular de resultados (true = falha)
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probeSuccesses;
+
+    private final Counter successCalls;
+    private final Counter failedCalls;
+    private final Counter slowCalls;
+    private final Counter rejectedCalls;
+
+    public OmdbCircuitBreaker(OmdbCircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    OmdbCircuitBreaker(OmdbCircuitBreakerProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.window = new boolean[properties.getSlidingWindowSize()];
+        this.minimumCalls = Math.min(properties.getMinimumCalls(), properties.getSlidingWindowSize());
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.slowCallNanos = properties.getSlowCallThreshold().toNanos();
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.halfOpenCalls = properties.getHalfOpenCalls();
+        this.nanoTime = nanoTime;
+        this.meterRegistry = meterRegistry;
+
+        for (State candidate : State.values()) {
+            Gauge.builder("omdb.circuitbreaker.state", this, breaker -> breaker.state == candidate ? 1 : 0)
+                .description("Estado atual do circuit breaker da OMDb (1 = ativo)")
+                .tag("state", tagOf(candidate))
+                .register(meterRegistry);
+        }
+        this.successCalls = callCounter("success");
+        this.failedCalls = callCounter("failure");
+        this.slowCalls = callCounter("slow");
+        this.rejectedCalls = callCounter("rejected");
+    }
+
+    /**
+     * Retorna {@code false} quando a chamada deve ser recusada sem acessar a OMDb.
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        lock.lock();
+        try {
+            if (state == State.OPEN && nanoTime.getAsLong() - openedAt >= openNanos) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN && probesStarted < halfOpenCalls) {
+                probesStarted++;
+                return true;
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        rejectedCalls.increment();
+        return false;
+    }
+
+    public void onSuccess(long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        (slow ? slowCalls : successCalls).increment();
+        record(slow);
+    }
+
+    public void onFailure() {
+        failedCalls.increment();
+        record(true);
+    }
+
+    /**
+     * Chamada liberada que terminou sem resultado (cancelada): não conta na janela, mas
+     * devolve a vaga de teste do meio-aberto para que outra chamada possa testar a OMDb.
+     */
+    public void onIgnored() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && probesStarted > probeSuccesses) {
+                probesStarted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Duration getOpenDuration() {
+        return Duration.ofNanos(openNanos);
+    }
+
+    private void record(boolean failure) {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED -> recordClosed(failure);
+                case HALF_OPEN -> recordHalfOpen(failure);
+                case OPEN -> {
+                    // Resposta de uma chamada iniciada antes da abertura: ignorada
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordClosed(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+
+        if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+            logger.warn("[CIRCUIT BREAKER] {} falhas nas ultimas {} chamadas a OMDb", windowFailures, windowCount);
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void recordHalfOpen(boolean failure) {
+        if (failure) {
+            transitionTo(State.OPEN);
+        } else if (++probeSuccesses >= halfOpenCalls) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    private void transitionTo(State target) {
+        State previous = state;
+        state = target;
+        switch (target) {
+            case OPEN -> openedAt = nanoTime.getAsLong();
+            case HALF_OPEN -> {
+                probesStarted = 0;
+                probeSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                windowCount = 0;
+                windowFailures = 0;
+            }
+        }
+        meterRegistry.counter("omdb.circuitbreaker.transitions", "from", tagOf(previous), "to", tagOf(target)).increment();
+        logger.warn("[CIRCUIT BREAKER] Circuito da OMDb: {} -> {}", previous, target);
+    }
+
+    private Counter callCounter(String result) {
+        return Counter.builder("omdb.circuitbreaker.calls")
+            .description("Chamadas à OMDb observadas pelo circuit breaker")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static String tagOf(State state) {
+        return state.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,280 @@
+package com.luarrezende.backend.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.io.CloseMode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Cliente HTTP não bloqueante para a OMDb API. Todas as chamadas, síncronas (via
+ * {@link OmdbClientHttpRequestFactory}) ou assíncronas, passam por este cliente e
+ * compartilham o mesmo pool de conexões. O cliente é dono do executor de callbacks e
+ * o encerra junto com o pool.
+ */
+public class OmdbClient implements AutoCloseable {
+
+    private static final String API_KEY_PARAM = "apikey";
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final UriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
+    private final ResponseErrorHandler errorHandler = new DefaultResponseErrorHandler();
+    private OmdbCircuitBreaker circuitBreaker;
+    private OmdbConcurrencyLimiter concurrencyLimiter;
+    private OmdbHedgingPolicy hedgingPolicy;
+    private OmdbQuotaManager quotaManager;
+    private OmdbApiKeyPool apiKeyPool;
+
+    public OmdbClient(CloseableHttpAsyncClient httpClient, ObjectMapper objectMapper, ExecutorService executor) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+    }
+
+    public void setCircuitBreaker(OmdbCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public void setConcurrencyLimiter(OmdbConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    public void setHedgingPolicy(OmdbHedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+    public void setQuotaManager(OmdbQuotaManager quotaManager) {
+        this.quotaManager = quotaManager;
+    }
+
+    public void setApiKeyPool(OmdbApiKeyPool apiKeyPool) {
+        this.apiKeyPool = apiKeyPool;
+    }
+
+    /**
+     * Equivalente assíncrono de {@code RestTemplate.getForObject}: a URL é codificada da
+     * mesma forma e respostas 4xx/5xx falham com {@code HttpClientErrorException} /
+     * {@code HttpServerErrorException}. A conversão do JSON roda no executor do cliente,
+     * nunca na thread de I/O.
+     */
+    public <T> CompletableFuture<T> get(String url, Class<T> responseType) {
+        return get(uriBuilderFactory.expand(url), responseType);
+    }
+
+    /**
+     * Como {@link #get(String, Class)}, para uma URI já codificada.
+     */
+    public <T> CompletableFuture<T> get(URI uri, Class<T> responseType) {
+        return exchange(HttpMethod.GET, uri, HttpHeaders.EMPTY, null)
+            .handleAsync((response, ex) -> {
+                if (ex != null) {
+                    throw toRestClientException(HttpMethod.GET, uri, ex);
+                }
+                return decode(uri, response, responseType);
+            }, executor);
+    }
+
+    public CompletableFuture<OmdbHttpResponse> exchange(HttpMethod method, URI uri, HttpHeaders headers, byte[] body) {
+        // A prioridade é lida aqui, ainda na thread de quem chamou (OmdbCallPriority.runAs)
+        OmdbCallPriority priority = OmdbCallPriority.of(uri);
+        // Só GET é repetido: cada tentativa passa pelo limite de concorrência, pela cota e pelo circuit breaker
+        if (hedgingPolicy != null && method == HttpMethod.GET) {
+            return hedgingPolicy.execute(() -> limited(method, uri, headers, body, priority), executor);
+        }
+        return limited(method, uri, headers, body, priority);
+    }
+
+    private CompletableFuture<OmdbHttpResponse> limited(HttpMethod method, URI uri, HttpHeaders headers, byte[] body,
+                                                        OmdbCallPriority priority) {
+        if (concurrencyLimiter == null) {
+            return keyed(method, uri, headers, body, priority);
+        }
+        // A vaga é obtida antes do circuit breaker para que uma chamada de teste do
+        // meio-aberto nunca fique presa na fila
+        CompletableFuture<OmdbHttpResponse> attempt = new CompletableFuture<>();
+        CompletableFuture<OmdbConcurrencyLimiter.Permit> acquired = concurrencyLimiter.acquire();
+        acquired.whenComplete((permit, acquireEx) -> {
+            if (acquireEx != null) {
+                attempt.completeExceptionally(acquireEx);
+                return;
+            }
+            CompletableFuture<OmdbHttpResponse> future = keyed(method, uri, headers, body, priority);
+            future.whenComplete((response, ex) -> {
+                if (ex instanceof OmdbUnavailableException || ex instanceof CancellationException) {
+                    permit.onIgnore();
+                } else if (ex != null || response.getStatusCode().is5xxServerError()) {
+                    permit.onDropped();
+                } else {
+                    permit.onSuccess();
+                }
+                if (ex != null) {
+                    attempt.completeExceptionally(ex);
+                } else {
+                    attempt.complete(response);
+                }
+            });
+            attempt.whenComplete((response, ex) -> {
+                if (ex instanceof CancellationException) {
+                    future.cancel(true);
+                }
+            });
+        });
+        // Tentativa cancelada (hedge perdedor): sai da fila ou interrompe a requisição
+        attempt.whenComplete((response, ex) -> {
+            if (ex instanceof CancellationException) {
+                acquired.cancel(true);
+            }
+        });
+        return attempt;
+    }
+
+    // Troca o apikey montado pelos services pela chave escolhida no pool para esta tentativa
+    private CompletableFuture<OmdbHttpResponse> keyed(HttpMethod method, URI uri, HttpHeaders headers, byte[] body,
+                                                      OmdbCallPriority priority) {
+        if (apiKeyPool == null) {
+            return charged(method, uri, headers, body, priority, apiKeyOf(uri));
+        }
+        String apiKey = apiKeyPool.select();
+        if (apiKey == null) {
+            return CompletableFuture.failedFuture(new OmdbUnavailableException(
+                "Nenhuma chave da OMDb disponível (suspensas, sem cota ou no limite por segundo)", Duration.ofSeconds(1)));
+        }
+        URI target = UriComponentsBuilder.fromUri(uri).replaceQueryParam(API_KEY_PARAM, apiKey).build(true).toUri();
+        CompletableFuture<OmdbHttpResponse> future = charged(method, target, headers, body, priority, apiKey);
+        future.thenAccept(response -> apiKeyPool.onResponse(apiKey, response.getStatusCode(), response.getBodyBytes()));
+        return future;
+    }
+
+    // Cada tentativa é contada na cota antes de passar pelo circuit breaker
+    private CompletableFuture<OmdbHttpResponse> charged(HttpMethod method, URI uri, HttpHeaders headers, byte[] body,
+                                                        OmdbCallPriority priority, String apiKey) {
+        if (quotaManager != null && !quotaManager.tryAcquire(priority, apiKey)) {
+            return CompletableFuture.failedFuture(new OmdbUnavailableException(
+                "Cota diária da OMDb reservada: chamada " + priority + " recusada (" + quotaManager.getRemaining() + " restantes)",
+                quotaManager.untilReset()));
+        }
+        return guarded(method, uri, headers, body);
+    }
+
+    private static String apiKeyOf(URI uri) {
+        return UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst(API_KEY_PARAM);
+    }
+
+    private CompletableFuture<OmdbHttpResponse> guarded(HttpMethod method, URI uri, HttpHeaders headers, byte[] body) {
+        if (circuitBreaker == null) {
+            return send(method, uri, headers, body);
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(new OmdbUnavailableException(
+                "Circuito aberto: chamada à OMDb recusada para " + uri.getPath(), circuitBreaker.getOpenDuration()));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<OmdbHttpResponse> future = send(method, uri, headers, body);
+        future.whenComplete((response, ex) -> {
+            if (ex instanceof CancellationException) {
+                circuitBreaker.onIgnored();
+                return;
+            }
+            if (ex != null || response.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<OmdbHttpResponse> send(HttpMethod method, URI uri, HttpHeaders headers, byte[] body) {
+        SimpleHttpRequest request = SimpleRequestBuilder.create(method.name()).setUri(uri).build();
+        headers.forEach((name, values) -> values.forEach(value -> request.addHeader(name, value)));
+        if (body != null && body.length > 0) {
+            request.setBody(body, contentTypeOf(headers));
+        }
+
+        CompletableFuture<OmdbHttpResponse> future = new CompletableFuture<>();
+        Future<SimpleHttpResponse> call = httpClient.execute(request, new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                future.complete(OmdbHttpResponse.from(response));
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                future.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                future.completeExceptionally(new CancellationException("Requisição à OMDb cancelada: " + uri));
+            }
+        });
+        future.whenComplete((response, ex) -> {
+            if (ex instanceof CancellationException) {
+                call.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void close() {
+        httpClient.close(CloseMode.GRACEFUL);
+        executor.shutdown();
+    }
+
+    private <T> T decode(URI uri, OmdbHttpResponse response, Class<T> responseType) {
+        try {
+            if (errorHandler.hasError(response)) {
+                errorHandler.handleError(uri, HttpMethod.GET, response);
+            }
+            if (response.getBodyBytes().length == 0) {
+                return null;
+            }
+            return objectMapper.readValue(response.getBodyBytes(), responseType);
+        } catch (IOException ex) {
+            throw new RestClientException("Erro ao ler a resposta da OMDb para " + uri, ex);
+        }
+    }
+
+    private static RuntimeException toRestClientException(HttpMethod method, URI uri, Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof IOException ioException) {
+            return new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                + ioException.getMessage(), ioException);
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new RestClientException("Falha na requisição à OMDb para " + uri, cause);
+    }
+
+    private static ContentType contentTypeOf(HttpHeaders headers) {
+        return headers.getContentType() != null
+            ? ContentType.parse(headers.getContentType().toString())
+            : ContentType.APPLICATION_OCTET_STREAM;
+    }
+}
@@ -0,0 +1,85 @@
+package com.luarrezende.backend.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Adapta o {@link OmdbClient} ao {@link org.springframework.web.client.RestTemplate}: a
+ * thread chamadora aguarda a resposta, mas a requisição usa o mesmo pool de conexões
+ * das chamadas assíncronas.
+ */
+public class OmdbClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final OmdbClient client;
+
+    public OmdbClientHttpRequestFactory(OmdbClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new OmdbClientHttpRequest(client, httpMethod, uri);
+    }
+
+    private static class OmdbClientHttpRequest extends AbstractClientHttpRequest {
+
+        private final OmdbClient client;
+        private final HttpMethod method;
+        private final URI uri;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(0);
+
+        OmdbClientHttpRequest(OmdbClient client, HttpMethod method, URI uri) {
+            this.client = client;
+            this.method = method;
+            this.uri = uri;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            CompletableFuture<OmdbHttpResponse> response = client.exchange(method, uri, headers, body.toByteArray());
+            try {
+                return response.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                response.cancel(true);
+                throw new InterruptedIOException("Requisição à OMDb interrompida: " + uri);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.luarrezende.backend.client;
+
+import com.luarrezende.backend.config.OmdbConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite adaptativo de chamadas simultâneas à OMDb (AIMD). Cada resposta rápida com o
+ * limite em uso aumenta o limite em 1; uma resposta lenta, um erro de transporte ou um
+ * 5xx o multiplicam por {@code backoffRatio}. Sem vaga, a chamada espera numa fila curta
+ * sem ocupar thread e, se a vaga não surgir a tempo, falha com
+ * {@link OmdbUnavailableException} (stale do cache ou 503).
+ */
+public class OmdbConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OmdbConcurrencyLimiter.class);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final int maxQueueSize;
+    private final Duration maxQueueWait;
+    private final Executor queueTimeouts;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<CompletableFuture<Permit>> queue = new ArrayDeque<>();
+
+    private volatile int limit;
+    private volatile int inFlight;
+
+    private final Counter rejected;
+
+    public OmdbConcurrencyLimiter(OmdbConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.limit = Math.max(minLimit, Math.min(properties.getInitialLimit(), maxLimit));
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.maxQueueSize = properties.getMaxQueueSize();
+        this.maxQueueWait = properties.getMaxQueueWait();
+        this.queueTimeouts = CompletableFuture.delayedExecutor(maxQueueWait.toNanos(), TimeUnit.NANOSECONDS);
+
+        Gauge.builder("omdb.concurrency.limit", this, limiter -> limiter.limit)
+            .description("Limite atual de chamadas simultâneas à OMDb")
+            .register(meterRegistry);
+        Gauge.builder("omdb.concurrency.inflight", this, limiter -> limiter.inFlight)
+            .description("Chamadas à OMDb em andamento")
+            .register(meterRegistry);
+        Gauge.builder("omdb.concurrency.queue", this, OmdbConcurrencyLimiter::getQueueSize)
+            .description("Chamadas aguardando vaga para a OMDb")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("omdb.concurrency.rejected")
+            .description("Chamadas recusadas por falta de vaga para a OMDb")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Obtém uma vaga. O future completa na hora se houver vaga, depois de esperar na fila
+     * ou falha com {@link OmdbUnavailableException} quando a fila está cheia ou a espera
+     * passa de {@code maxQueueWait}.
+     */
+    public CompletableFuture<Permit> acquire() {
+        CompletableFuture<Permit> waiter;
+        lock.lock();
+        try {
+            if (inFlight < limit) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            if (queue.size() >= maxQueueSize) {
+                rejected.increment();
+                return CompletableFuture.failedFuture(unavailable("fila cheia"));
+            }
+            waiter = new CompletableFuture<>();
+            queue.addLast(waiter);
+        } finally {
+            lock.unlock();
+        }
+
+        queueTimeouts.execute(() -> {
+            if (waiter.completeExceptionally(unavailable("sem vaga em " + maxQueueWait.toMillis() + "ms"))) {
+                lock.lock();
+                try {
+                    queue.remove(waiter);
+                } finally {
+                    lock.unlock();
+                }
+                rejected.increment();
+            }
+        });
+        return waiter;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getQueueSize() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Long rttNanos, boolean dropped) {
+        List<CompletableFuture<Permit>> granted = new ArrayList<>();
+        lock.lock();
+        try {
+            if (rttNanos != null || dropped) {
+                adjustLimit(rttNanos, dropped);
+            }
+            inFlight--;
+            while (inFlight < limit && !queue.isEmpty()) {
+                inFlight++;
+                granted.add(queue.pollFirst());
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Completa fora do lock: a chamada liberada segue nesta thread
+        for (CompletableFuture<Permit> waiter : granted) {
+            if (!waiter.complete(new Permit())) {
+                // Expirou na fila enquanto recebia a vaga: devolve sem amostra
+                release(null, false);
+            }
+        }
+    }
+
+    private void adjustLimit(Long rttNanos, boolean dropped) {
+        int previous = limit;
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlight * 2 >= limit) {
+            // Só cresce quando o limite atual está de fato sendo usado
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        if (limit < previous) {
+            logger.debug("[CONCURRENCY LIMIT] Limite reduzido de {} para {} ({})", previous, limit,
+                dropped ? "erro" : (rttNanos / 1_000_000) + "ms");
+        }
+    }
+
+    private OmdbUnavailableException unavailable(String reason) {
+        return new OmdbUnavailableException("Limite de concorrência da OMDb atingido (" + limit + " em andamento, " + reason + ")",
+            Duration.ofSeconds(1));
+    }
+
+    /**
+     * Vaga obtida em {@link #acquire()}; deve ser devolvida exatamente uma vez.
+     */
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private boolean released;
+
+        private Permit() {
+        }
+
+        public void onSuccess() {
+            release(System.nanoTime() - startNanos, false);
+        }
+
+        public void onDropped() {
+            release(null, true);
+        }
+
+        // Chamada que não chegou à OMDb (ex.: circuito aberto): não afeta o limite
+        public void onIgnore() {
+            release(null, false);
+        }
+
+        private void release(Long rttNanos, boolean dropped) {
+            if (released) {
+                return;
+            }
+            released = true;
+            OmdbConcurrencyLimiter.this.release(rttNanos, dropped);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.luarrezende.backend.client;
+
+import com.luarrezende.backend.config.OmdbHedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Hedging das chamadas GET à OMDb: se a resposta não chega até o percentil configurado
+ * da latência recente, uma segunda requisição idêntica é disparada e vence a primeira
+ * que responder com sucesso; a que perder é cancelada (devolve a vaga de concorrência e,
+ * se ainda não saiu, não gasta cota). Cada requisição original deposita {@code budgetPercent}%
+ * de um crédito e cada hedge gasta um crédito inteiro, então as requisições extras
+ * nunca passam desse percentual (fora uma rajada de {@code maxBurst}).
+ *
+ * <p>A latência amostrada para o percentil é a da chamada inteira, desde o início da
+ * requisição original até a resposta (sucesso ou erro da OMDb); recusas locais
+ * ({@link OmdbUnavailableException}) não entram.
+ *
+ * <p>O atraso do hedge é só agendado no timer do {@link CompletableFuture}; a tentativa extra
+ * (vaga de concorrência, cota, escolha da chave) roda no executor recebido em
+ * {@link #execute}, nunca na thread compartilhada do timer.
+ */
+public class OmdbHedgingPolicy {
+
+    private final double percentile;
+    private final int minSamples;
+    private final long defaultDelayNanos;
+    private final long minDelayNanos;
+    private final double depositPerCall;
+    private final double maxTokens;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Janela circular das latências recentes (nanos)
+    private final long[] latencies;
+    private int latencyIndex;
+    private int latencyCount;
+    private double tokens;
+
+    private final Counter sent;
+    private final Counter won;
+    private final Counter skipped;
+
+    public OmdbHedgingPolicy(OmdbHedgingProperties properties, MeterRegistry meterRegistry) {
+        this.percentile = properties.getPercentile();
+        this.minSamples = properties.getMinSamples();
+        this.defaultDelayNanos = properties.getDefaultDelay().toNanos();
+        this.minDelayNanos = properties.getMinDelay().toNanos();
+        this.depositPerCall = properties.getBudgetPercent() / 100.0;
+        this.maxTokens = properties.getMaxBurst();
+        this.latencies = new long[properties.getWindowSize()];
+
+        Gauge.builder("omdb.hedge.delay", this, policy -> policy.hedgeDelayNanos() / 1_000_000.0)
+            .description("Atraso atual (ms) antes de disparar a requisição de hedge")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        this.sent = hedgeCounter("sent", meterRegistry);
+        this.won = hedgeCounter("won", meterRegistry);
+        this.skipped = hedgeCounter("skipped", meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> attempt, Executor executor) {
+        deposit();
+        long start = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        List<CompletableFuture<T>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        result.whenComplete((value, ex) -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (!(cause instanceof OmdbUnavailableException)) {
+                recordLatency(System.nanoTime() - start);
+            }
+            attempts.forEach(call -> call.cancel(true));
+        });
+
+        track(attempt.get(), result, attempts, pending, false);
+
+        CompletableFuture.delayedExecutor(hedgeDelayNanos(), TimeUnit.NANOSECONDS, executor).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (!tryConsume()) {
+                skipped.increment();
+                return;
+            }
+            sent.increment();
+            pending.incrementAndGet();
+            track(attempt.get(), result, attempts, pending, true);
+        });
+        return result;
+    }
+
+    long hedgeDelayNanos() {
+        lock.lock();
+        try {
+            if (latencyCount < minSamples) {
+                return defaultDelayNanos;
+            }
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return Math.max(minDelayNanos, sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> void track(CompletableFuture<T> call, CompletableFuture<T> result, List<CompletableFuture<T>> attempts,
+                           AtomicInteger pending, boolean hedge) {
+        attempts.add(call);
+        if (result.isDone()) {
+            // Hedge disparado junto com a resposta da original
+            call.cancel(true);
+        }
+        call.whenComplete((value, ex) -> {
+            int remaining = pending.decrementAndGet();
+            if (ex == null) {
+                if (result.complete(value) && hedge) {
+                    won.increment();
+                }
+            } else if (remaining == 0) {
+                // Só falha quando nenhuma das tentativas pode mais responder
+                result.completeExceptionally(ex);
+            }
+        });
+    }
+
+    private void recordLatency(long nanos) {
+        lock.lock();
+        try {
+            latencies[latencyIndex] = nanos;
+            latencyIndex = (latencyIndex + 1) % latencies.length;
+            latencyCount = Math.min(latencyCount + 1, latencies.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deposit() {
+        lock.lock();
+        try {
+            tokens = Math.min(maxTokens, tokens + depositPerCall);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean tryConsume() {
+        lock.lock();
+        try {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Counter hedgeCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("omdb.hedge.calls")
+            .description("Requisições de hedge à OMDb")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.luarrezende.backend.client;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Resposta da OMDb já lida por completo (status, cabeçalhos e corpo em memória).
+ */
+public class OmdbHttpResponse implements ClientHttpResponse {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final HttpStatusCode statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    public OmdbHttpResponse(HttpStatusCode statusCode, String statusText, HttpHeaders headers, byte[] body) {
+        this.statusCode = statusCode;
+        this.statusText = statusText != null ? statusText : "";
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body != null ? body : EMPTY_BODY;
+    }
+
+    static OmdbHttpResponse from(SimpleHttpResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Header header : response.getHeaders()) {
+            headers.add(header.getName(), header.getValue());
+        }
+        return new OmdbHttpResponse(HttpStatusCode.valueOf(response.getCode()), response.getReasonPhrase(),
+                headers, response.getBodyBytes());
+    }
+
+    public byte[] getBodyBytes() {
+        return body;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public void close() {
+    }
+}
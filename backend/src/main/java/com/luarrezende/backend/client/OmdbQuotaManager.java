@@ -0,0 +1,282 @@
+package com.luarrezende.backend.client;
+
+import com.luarrezende.backend.config.OmdbQuotaProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contabiliza as chamadas feitas à OMDb contra a cota diária de cada chave e persiste o
+ * consumo em arquivo, para que um restart no meio do dia não zere a conta. Quando a
+ * cota restante (somada entre as chaves) fica baixa, chamadas de menor prioridade são
+ * recusadas primeiro (o cache serve a entrada stale, se houver): fundo abaixo de
+ * {@code backgroundReservePercent}, buscas abaixo de {@code searchReservePercent} e
+ * interativas só com a cota esgotada.
+ *
+ * <p>O arquivo nunca é gravado sob o lock da cota: a cada {@code persistEvery} alterações
+ * o consumo é copiado sob o lock e gravado por uma thread própria, já que
+ * {@link #tryAcquire} roda nas threads de I/O do cliente HTTP.
+ */
+public class OmdbQuotaManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(OmdbQuotaManager.class);
+
+    private final long dailyLimit;
+    private final long totalLimit;
+    private final long searchReserve;
+    private final long backgroundReserve;
+    private final ZoneId zone;
+    private final Path storePath;
+    private final boolean persist;
+    private final int persistEvery;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ThreadPoolExecutor writer;
+
+    // Consumo do dia por chave; a primeira chave recebe as chamadas sem chave identificada
+    private final Map<String, Long> used = new LinkedHashMap<>();
+    private final String defaultKey;
+    private LocalDate day;
+    // Alterações no consumo e a última enviada para gravação (sob o lock)
+    private long version;
+    private long scheduledVersion;
+    // Última versão gravada em disco (sob o próprio monitor, fora do lock da cota)
+    private long writtenVersion;
+
+    public OmdbQuotaManager(OmdbQuotaProperties properties, List<String> apiKeys, Clock clock, MeterRegistry meterRegistry) {
+        List<String> keys = apiKeys.isEmpty() ? List.of("") : apiKeys;
+        this.dailyLimit = properties.getDailyLimit();
+        this.totalLimit = dailyLimit * keys.size();
+        this.searchReserve = totalLimit * properties.getSearchReservePercent() / 100;
+        this.backgroundReserve = totalLimit * properties.getBackgroundReservePercent() / 100;
+        this.zone = properties.getZone();
+        this.storePath = properties.getStorePath();
+        this.persist = properties.isPersist();
+        this.persistEvery = Math.max(1, properties.getPersistEvery());
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.defaultKey = keys.get(0);
+        keys.forEach(key -> used.put(key, 0L));
+        this.day = today();
+        this.writer = persist ? createWriter() : null;
+        load();
+
+        Gauge.builder("omdb.quota.used", this, OmdbQuotaManager::getUsed)
+            .description("Chamadas à OMDb feitas hoje")
+            .register(meterRegistry);
+        Gauge.builder("omdb.quota.remaining", this, OmdbQuotaManager::getRemaining)
+            .description("Chamadas à OMDb ainda disponíveis hoje")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reserva uma chamada à OMDb com a chave informada. Retorna {@code false}, sem contar
+     * nada, quando a cota da chave acabou ou quando a cota restante está reservada para
+     * chamadas de prioridade maior que {@code priority}. A verificação e a contagem são
+     * feitas sob o mesmo lock, para que chamadas concorrentes não passem do limite.
+     */
+    public boolean tryAcquire(OmdbCallPriority priority, String apiKey) {
+        long reserve = switch (priority) {
+            case INTERACTIVE -> 0;
+            case SEARCH -> searchReserve;
+            case BACKGROUND -> backgroundReserve;
+        };
+        Snapshot snapshot = null;
+        boolean acquired = false;
+        lock.lock();
+        try {
+            rollover();
+            String key = apiKey != null && used.containsKey(apiKey) ? apiKey : defaultKey;
+            long remaining = totalLimit - used.values().stream().mapToLong(Long::longValue).sum();
+            if (remaining > reserve && used.get(key) < dailyLimit) {
+                used.merge(key, 1L, Long::sum);
+                version++;
+                acquired = true;
+                if (persist && version - scheduledVersion >= persistEvery) {
+                    snapshot = snapshot();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (acquired) {
+            if (snapshot != null) {
+                Snapshot pending = snapshot;
+                writer.execute(() -> save(pending));
+            }
+            return true;
+        }
+        meterRegistry.counter("omdb.quota.rejected", "priority", priority.name().toLowerCase(Locale.ROOT)).increment();
+        return false;
+    }
+
+    public long getUsed() {
+        lock.lock();
+        try {
+            rollover();
+            return used.values().stream().mapToLong(Long::longValue).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getUsed(String apiKey) {
+        lock.lock();
+        try {
+            rollover();
+            return used.getOrDefault(apiKey, 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Consumo de várias chaves lido sob um único lock, na ordem recebida
+    public long[] getUsed(List<String> apiKeys) {
+        long[] result = new long[apiKeys.size()];
+        lock.lock();
+        try {
+            rollover();
+            for (int i = 0; i < result.length; i++) {
+                result[i] = used.getOrDefault(apiKeys.get(i), 0L);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    public long getDailyLimit() {
+        return dailyLimit;
+    }
+
+    public long getRemaining() {
+        return Math.max(0, totalLimit - getUsed());
+    }
+
+    public long getRemaining(String apiKey) {
+        return Math.max(0, dailyLimit - getUsed(apiKey));
+    }
+
+    // Tempo até a cota ser zerada, usado como Retry-After
+    public Duration untilReset() {
+        ZonedDateTime now = ZonedDateTime.now(clock.withZone(zone));
+        return Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay(zone));
+    }
+
+    // Grava o consumo atual na thread chamadora (encerramento do contexto)
+    public void flush() {
+        if (!persist) {
+            return;
+        }
+        Snapshot snapshot;
+        lock.lock();
+        try {
+            rollover();
+            snapshot = snapshot();
+        } finally {
+            lock.unlock();
+        }
+        save(snapshot);
+    }
+
+    private void rollover() {
+        LocalDate today = today();
+        if (!today.equals(day)) {
+            logger.info("[QUOTA] Novo dia {}: {} chamadas a OMDb em {}", today,
+                used.values().stream().mapToLong(Long::longValue).sum(), day);
+            day = today;
+            used.replaceAll((key, count) -> 0L);
+            version++;
+        }
+    }
+
+    // Chamado sob o lock
+    private Snapshot snapshot() {
+        scheduledVersion = version;
+        return new Snapshot(version, day, new LinkedHashMap<>(used));
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock.withZone(zone));
+    }
+
+    // As chaves são gravadas pelo fingerprint, nunca pelo valor
+    private void load() {
+        if (!persist || !Files.exists(storePath)) {
+            return;
+        }
+        Properties stored = new Properties();
+        try (InputStream in = Files.newInputStream(storePath)) {
+            stored.load(in);
+            if (!day.toString().equals(stored.getProperty("day"))) {
+                return;
+            }
+            used.replaceAll((key, count) -> Long.parseLong(stored.getProperty("used." + OmdbApiKeyPool.fingerprint(key), "0")));
+            logger.info("[QUOTA] Consumo de hoje restaurado de {}: {}/{}", storePath,
+                used.values().stream().mapToLong(Long::longValue).sum(), totalLimit);
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("[QUOTA] Nao foi possivel ler {}: {}", storePath, e.getMessage());
+        }
+    }
+
+    // Gravações fora de ordem (thread própria e flush) não voltam para uma versão anterior
+    private synchronized void save(Snapshot snapshot) {
+        if (snapshot.version() <= writtenVersion) {
+            return;
+        }
+        Properties stored = new Properties();
+        stored.setProperty("day", snapshot.day().toString());
+        snapshot.used().forEach((key, count) -> stored.setProperty("used." + OmdbApiKeyPool.fingerprint(key), Long.toString(count)));
+        try {
+            Path parent = storePath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = Files.createTempFile(parent, "omdb-quota", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                stored.store(out, "Consumo diario da cota da OMDb por chave");
+            }
+            Files.move(temp, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            writtenVersion = snapshot.version();
+        } catch (IOException e) {
+            logger.warn("[QUOTA] Nao foi possivel gravar {}: {}", storePath, e.getMessage());
+        }
+    }
+
+    // Uma thread só, para as gravações saírem em ordem; encerra sozinha quando ociosa
+    private static ThreadPoolExecutor createWriter() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("omdb-quota-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private record Snapshot(long version, LocalDate day, Map<String, Long> used) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.luarrezende.backend.client;
+
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+
+/**
+ * A chamada à OMDb foi recusada localmente (circuito aberto, limite de concorrência,
+ * cota esgotada) ou a OMDb está indisponível. Quando existe uma entrada expirada
+ * retida no cache, ela é servida como stale; caso contrário a API responde 503.
+ */
+public class OmdbUnavailableException extends RestClientException {
+
+    private final Duration retryAfter;
+
+    public OmdbUnavailableException(String message) {
+        this(message, (Duration) null);
+    }
+
+    public OmdbUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public OmdbUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = null;
+    }
+
+    // Sugestão de espera para o header Retry-After; null quando desconhecida
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,29 +1,99 @@
 package com.luarrezende.backend.config;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luarrezende.backend.cache.CacheSnapshotter;
+import com.luarrezende.backend.cache.DetailsCrossIndex;
+import com.luarrezende.backend.cache.OmdbCache;
+import com.luarrezende.backend.cache.OmdbCacheManager;
+import com.luarrezende.backend.cache.OmdbCachesEndpoint;
+import com.luarrezende.backend.cache.OmdbKeyGenerator;
+import com.luarrezende.backend.cache.PreSerializedBodies;
+import com.luarrezende.backend.cache.PreSerializedBodyConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import java.util.concurrent.TimeUnit;
+
+import java.time.Clock;
 
 @Configuration
+@EnableConfigurationProperties(OmdbCacheProperties.class)
 public class CacheConfig {
 
+    // Entradas expiradas ficam retidas por stale-retention e são servidas como stale
+    // quando a OMDb está indisponível (ver OmdbCache); cada cache pode ter ttl, tamanho
+    // e retenção próprios em app.cache.caches.<nome>.*
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+    public OmdbCacheManager cacheManager(OmdbCacheProperties properties, ObjectProvider<Clock> clock,
+                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                     ObjectProvider<PreSerializedBodies> preSerializedBodies) {
+        OmdbCacheManager cacheManager = new OmdbCacheManager(properties,
+            clock.getIfAvailable(Clock::systemUTC),
+            meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
             "moviesByTitle", "moviesById", "movieSearch",
             "seriesByTitle", "seriesById", "seriesSearch", "seriesSeason", "seriesEpisode"
         );
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(1, TimeUnit.HOURS)
-                .maximumSize(500)
-                .recordStats());
+        cacheManager.setPreSerializedBodies(preSerializedBodies.getIfAvailable());
         return cacheManager;
     }
-    
+
+    // JSON das respostas renderizado na escrita do cache; o conversor entra antes do Jackson
+    // (HttpMessageConverters do Spring Boot) e escreve os bytes prontos nos cache hits
+    @Bean
+    @ConditionalOnProperty("app.cache.pre-serialized.enabled")
+    public PreSerializedBodies preSerializedBodies(ObjectMapper objectMapper, OmdbCacheProperties properties) {
+        OmdbCacheProperties.PreSerialized preSerialized = properties.getPreSerialized();
+        return new PreSerializedBodies(objectMapper, preSerialized.isGzip(), preSerialized.getGzipMinSize().toBytes(),
+            preSerialized.getMaxSize().toBytes());
+    }
+
+    @Bean
+    @ConditionalOnProperty("app.cache.pre-serialized.enabled")
+    public PreSerializedBodyConverter preSerializedBodyConverter(PreSerializedBodies preSerializedBodies, ObjectMapper objectMapper,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PreSerializedBodyConverter(preSerializedBodies, objectMapper, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    // Snapshot periódico dos caches em disco, carregado em segundo plano no start
+    @Bean
+    @ConditionalOnProperty("app.cache.snapshot.enabled")
+    public CacheSnapshotter cacheSnapshotter(OmdbCacheManager cacheManager, OmdbCacheProperties properties,
+                                             ObjectProvider<Clock> clock, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new CacheSnapshotter(cacheManager, properties, clock.getIfAvailable(Clock::systemUTC),
+            meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    // GET/POST /actuator/omdbcaches: configuração efetiva por cache e ajuste em tempo de execução
+    @Bean
+    public OmdbCachesEndpoint omdbCachesEndpoint(OmdbCacheManager cacheManager) {
+        return new OmdbCachesEndpoint(cacheManager);
+    }
+
+    // Respostas de detalhes entram nos caches por título e por ID (busca seguida de detalhes = 1 chamada)
+    @Bean
+    public DetailsCrossIndex detailsCrossIndex(CacheManager cacheManager, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DetailsCrossIndex(cacheManager, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    // Mantém as métricas cache.gets/cache.puts/... do Caffeine para o cache customizado
+    @Bean
+    public CacheMeterBinderProvider<OmdbCache> omdbCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
+    }
+
+    // Chaves tipadas dos @Cacheable dos services (keyGenerator = "omdbKeyGenerator"), sem SpEL por chamada
+    @Bean
+    public OmdbKeyGenerator omdbKeyGenerator() {
+        return new OmdbKeyGenerator();
+    }
+
     @Bean
     public CacheResolver cacheResolver(CacheManager cacheManager) {
         return new CustomCacheResolver(cacheManager);
@@ -0,0 +1,30 @@
+package com.luarrezende.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "omdb.api")
+public class OmdbApiKeyProperties {
+
+    // Chave única usada pelos services na URL; continua valendo quando omdb.api.keys está vazio
+    private String key;
+    private List<String> keys = new ArrayList<>();
+    private boolean keyPoolEnabled = true;
+    // Limite de requisições por segundo de cada chave
+    private int keyRateLimitPerSecond = 20;
+    // Por quanto tempo uma chave recusada (401) fica fora da rotação
+    private Duration unhealthyDuration = Duration.ofHours(1);
+
+    public List<String> allKeys() {
+        List<String> all = keys.stream().filter(k -> k != null && !k.isBlank()).map(String::trim).distinct().toList();
+        if (!all.isEmpty()) {
+            return all;
+        }
+        return key != null && !key.isBlank() ? List.of(key.trim()) : List.of();
+    }
+}
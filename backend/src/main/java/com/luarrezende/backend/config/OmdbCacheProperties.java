@@ -0,0 +1,170 @@
+package com.luarrezende.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class OmdbCacheProperties {
+
+    // Tempo em que uma entrada é considerada fresca (sem unidade = segundos)
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration ttl = Duration.ofHours(1);
+    // Soft TTL: leituras de entradas mais velhas que isso disparam revalidação em segundo
+    // plano (sem unidade = segundos; vazio desliga)
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration refreshAfter;
+    // Threads e fila das revalidações; com a fila cheia a revalidação é descartada
+    private int refreshThreads = 4;
+    private int refreshQueueCapacity = 200;
+    private long maximumSize = 500;
+    // Tempo extra em que a entrada expirada fica retida para ser servida como stale
+    private Duration staleRetention = Duration.ofHours(24);
+    // Orçamento de heap (MB) somado de todos os caches; com valor > 0 a remoção passa a ser
+    // pelo tamanho estimado das respostas e maximum-size deixa de ser usado
+    private long maxHeapMb = 0;
+    // Fração das chaves (0.0 a 1.0) com HIT/MISS logado em DEBUG; a mesma chave é sempre amostrada
+    private double logSampleRate = 0.0;
+    // Respostas de detalhes guardadas uma vez por IMDb ID e referenciadas pelos caches (EntityStore)
+    private boolean normalizeEntities = true;
+    // JSON das respostas em cache renderizado na escrita (app.cache.pre-serialized.*)
+    private PreSerialized preSerialized = new PreSerialized();
+    // Caches guardados no formato binário compacto (app.cache.compact.*)
+    private Compact compact = new Compact();
+    // Segundo nível fora do heap para os caches listados (app.cache.off-heap.*)
+    private OffHeap offHeap = new OffHeap();
+    // TTL por entrada conforme a data de lançamento da resposta (app.cache.release-ttl.*)
+    private ReleaseTtl releaseTtl = new ReleaseTtl();
+    // Snapshot periódico dos caches em disco e carga no start (app.cache.snapshot.*)
+    private Snapshot snapshot = new Snapshot();
+    // Cache negativo das respostas "não encontrado" da OMDb (app.cache.negative.*)
+    private Negative negative = new Negative();
+    // Agrupamento de misses concorrentes da mesma chave (app.cache.single-flight.*)
+    private SingleFlight singleFlight = new SingleFlight();
+    // Ajustes por cache (app.cache.caches.<nome>.*); o que não for informado herda os valores acima
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    public CacheSpec specFor(String cacheName) {
+        CacheSpec defaults = new CacheSpec();
+        defaults.setTtl(ttl);
+        defaults.setRefreshAfter(refreshAfter);
+        defaults.setMaximumSize(maximumSize);
+        defaults.setStaleRetention(staleRetention);
+        CacheSpec spec = caches.get(cacheName);
+        return spec != null ? spec.withDefaults(defaults) : defaults;
+    }
+
+    @Data
+    public static class SingleFlight {
+
+        private boolean enabled = true;
+        // Espera máxima pelo resultado da carga em andamento; depois o miss chama a OMDb sozinho
+        private Duration maxWait = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Negative {
+
+        private boolean enabled = true;
+        // Curto: um título pode passar a existir na OMDb
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration ttl = Duration.ofMinutes(10);
+        // Limite por cache; também dimensiona o filtro de Bloom
+        private long maximumSize = 10_000;
+        private double falsePositiveRate = 0.01;
+    }
+
+    @Data
+    public static class PreSerialized {
+
+        private boolean enabled = false;
+        // Guarda também a versão gzip, servida a clientes com Accept-Encoding: gzip
+        private boolean gzip = false;
+        private DataSize gzipMinSize = DataSize.ofBytes(512);
+        // Limite dos bytes renderizados (JSON + gzip), fora do max-heap dos caches
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+    }
+
+    @Data
+    public static class Compact {
+
+        // Nomes dos caches guardados como byte[] (mais títulos por MB, decodificação a cada hit)
+        private List<String> caches = new ArrayList<>();
+        // Entradas a partir deste tamanho são comprimidas com Deflater
+        private DataSize compressMinSize = DataSize.ofBytes(256);
+    }
+
+    @Data
+    public static class OffHeap {
+
+        // Caches cujas entradas removidas por tamanho descem para o L2 (vazio desliga)
+        private List<String> caches = new ArrayList<>();
+        // Memória direta total do L2, reservada em slabs conforme o uso
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+        private DataSize slabSize = DataSize.ofMegabytes(4);
+    }
+
+    @Data
+    public static class ReleaseTtl {
+
+        // Ligado, a expiração no Caffeine passa a ser por entrada (validade + stale-retention)
+        private boolean enabled = false;
+        private Duration upcoming = Duration.ofMinutes(15);
+        private Duration newRelease = Duration.ofMinutes(30);
+        // Idade até a qual o título ainda é lançamento
+        private Duration newReleaseWindow = Duration.ofDays(30);
+        private Duration catalog = Duration.ofDays(7);
+        // Idade a partir da qual o título é catálogo
+        private Duration catalogAge = Duration.ofDays(730);
+        private Duration ongoingSeries = Duration.ofHours(2);
+        private Duration ongoingSeason = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Snapshot {
+
+        private boolean enabled = false;
+        private String path = "data/omdb-cache.snapshot";
+        // Intervalo entre gravações; a última é feita no shutdown
+        private Duration interval = Duration.ofMinutes(5);
+        // Threads da carga no start (um cache por vez em cada thread)
+        private int loadThreads = 4;
+    }
+
+    @Data
+    public static class CacheSpec {
+
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration ttl;
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration refreshAfter;
+        private Long maximumSize;
+        private Duration staleRetention;
+        // Parte do orçamento de heap deste cache; sem valor, divide igualmente o que sobrar de max-heap-mb
+        private DataSize maxHeap;
+
+        public boolean isWeighted() {
+            return maxHeap != null;
+        }
+
+        // Cópia com os campos nulos preenchidos a partir de defaults
+        public CacheSpec withDefaults(CacheSpec defaults) {
+            CacheSpec merged = new CacheSpec();
+            merged.setTtl(ttl != null ? ttl : defaults.getTtl());
+            merged.setRefreshAfter(refreshAfter != null ? refreshAfter : defaults.getRefreshAfter());
+            merged.setMaximumSize(maximumSize != null ? maximumSize : defaults.getMaximumSize());
+            merged.setStaleRetention(staleRetention != null ? staleRetention : defaults.getStaleRetention());
+            merged.setMaxHeap(maxHeap != null ? maxHeap : defaults.getMaxHeap());
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.luarrezende.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "omdb.circuit-breaker")
+public class OmdbCircuitBreakerProperties {
+
+    private boolean enabled = true;
+    private int slidingWindowSize = 20;
+    private int minimumCalls = 10;
+    private int failureRateThreshold = 50;
+    private Duration slowCallThreshold = Duration.ofSeconds(3);
+    private Duration openDuration = Duration.ofSeconds(30);
+    private int halfOpenCalls = 3;
+}
@@ -0,0 +1,150 @@
+package com.luarrezende.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luarrezende.backend.client.OmdbApiKeyPool;
+import com.luarrezende.backend.client.OmdbCircuitBreaker;
+import com.luarrezende.backend.client.OmdbClient;
+import com.luarrezende.backend.client.OmdbConcurrencyLimiter;
+import com.luarrezende.backend.client.OmdbHedgingPolicy;
+import com.luarrezende.backend.client.OmdbQuotaManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties({OmdbHttpClientProperties.class, OmdbCircuitBreakerProperties.class,
+        OmdbConcurrencyLimitProperties.class, OmdbHedgingProperties.class, OmdbQuotaProperties.class,
+        OmdbApiKeyProperties.class})
+public class OmdbClientConfig {
+
+    // O executor de callbacks não é exposto como bean: um bean Executor faria o Spring Boot
+    // desistir do applicationTaskExecutor usado pelo MVC assíncrono
+    @Bean(destroyMethod = "close")
+    public OmdbClient omdbClient(OmdbHttpClientProperties properties, ObjectMapper objectMapper, Environment environment,
+                                 ObjectProvider<OmdbCircuitBreaker> circuitBreaker,
+                                 ObjectProvider<OmdbConcurrencyLimiter> concurrencyLimiter,
+                                 ObjectProvider<OmdbHedgingPolicy> hedgingPolicy,
+                                 ObjectProvider<OmdbQuotaManager> quotaManager,
+                                 ObjectProvider<OmdbApiKeyPool> apiKeyPool) {
+        ExecutorService callbacks = Threading.VIRTUAL.isActive(environment)
+                ? createVirtualCallbackExecutor()
+                : createCallbackExecutor(properties);
+        OmdbClient client = new OmdbClient(createHttpClient(properties), objectMapper, callbacks);
+        client.setCircuitBreaker(circuitBreaker.getIfAvailable());
+        client.setConcurrencyLimiter(concurrencyLimiter.getIfAvailable());
+        client.setHedgingPolicy(hedgingPolicy.getIfAvailable());
+        client.setQuotaManager(quotaManager.getIfAvailable());
+        client.setApiKeyPool(apiKeyPool.getIfAvailable());
+        return client;
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "omdb.circuit-breaker.enabled", matchIfMissing = true)
+    public OmdbCircuitBreaker omdbCircuitBreaker(OmdbCircuitBreakerProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OmdbCircuitBreaker(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    // Compartilhado por MoviesService e SeriesService, já que ambos passam pelo OmdbClient
+    @Bean
+    @ConditionalOnProperty(value = "omdb.concurrency-limit.enabled", matchIfMissing = true)
+    public OmdbConcurrencyLimiter omdbConcurrencyLimiter(OmdbConcurrencyLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OmdbConcurrencyLimiter(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "omdb.hedging.enabled", havingValue = "true")
+    public OmdbHedgingPolicy omdbHedgingPolicy(OmdbHedgingProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OmdbHedgingPolicy(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean(destroyMethod = "flush")
+    @ConditionalOnProperty(value = "omdb.quota.enabled", matchIfMissing = true)
+    public OmdbQuotaManager omdbQuotaManager(OmdbQuotaProperties properties, OmdbApiKeyProperties apiKeys,
+                                             ObjectProvider<Clock> clock, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OmdbQuotaManager(properties, apiKeys.allKeys(), clock.getIfAvailable(Clock::systemUTC),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "omdb.api.key-pool-enabled", matchIfMissing = true)
+    public OmdbApiKeyPool omdbApiKeyPool(OmdbApiKeyProperties properties, ObjectProvider<OmdbQuotaManager> quotaManager,
+                                         ObjectProvider<Clock> clock, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OmdbApiKeyPool(properties, quotaManager.getIfAvailable(), clock.getIfAvailable(Clock::systemUTC),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public static ExecutorService createCallbackExecutor(OmdbHttpClientProperties properties) {
+        return Executors.newFixedThreadPool(properties.getCallbackThreads(), new CustomizableThreadFactory("omdb-client-"));
+    }
+
+    // Uma thread virtual por callback, sem reaproveitamento (equivalente a
+    // Executors.newThreadPerTaskExecutor, indisponível enquanto compilamos para Java 17)
+    public static ExecutorService createVirtualCallbackExecutor() {
+        ThreadFactory virtualThreads = new VirtualThreadTaskExecutor("omdb-client-").getVirtualThreadFactory();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), virtualThreads);
+    }
+
+    public static CloseableHttpAsyncClient createHttpClient(OmdbHttpClientProperties properties) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                .setTimeToLive(TimeValue.of(properties.getConnectionTimeToLive()))
+                .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                .build();
+
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                .build();
+
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(properties.getIoThreads())
+                .setSoTimeout(Timeout.of(properties.getReadTimeout()))
+                .build();
+
+        TimeValue keepAlive = TimeValue.of(properties.getKeepAlive());
+
+        CloseableHttpAsyncClient httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setIOReactorConfig(ioReactorConfig)
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEvictionTimeout()))
+                .build();
+        httpClient.start();
+        return httpClient;
+    }
+}
@@ -0,0 +1,21 @@
+package com.luarrezende.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "omdb.concurrency-limit")
+public class OmdbConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    // Respostas mais lentas que isso (ou com erro) reduzem o limite
+    private Duration latencyThreshold = Duration.ofSeconds(1);
+    private double backoffRatio = 0.9;
+    private int maxQueueSize = 50;
+    private Duration maxQueueWait = Duration.ofMillis(200);
+}
@@ -0,0 +1,23 @@
+package com.luarrezende.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "omdb.hedging")
+public class OmdbHedgingProperties {
+
+    private boolean enabled = false;
+    // Percentil da latência recente após o qual a segunda requisição é disparada
+    private double percentile = 0.95;
+    private int windowSize = 200;
+    private int minSamples = 20;
+    // Atraso usado enquanto não há amostras suficientes
+    private Duration defaultDelay = Duration.ofMillis(500);
+    private Duration minDelay = Duration.ofMillis(20);
+    // Requisições extras permitidas, em % das requisições originais
+    private double budgetPercent = 5;
+    private int maxBurst = 10;
+}
@@ -0,0 +1,24 @@
+package com.luarrezende.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.ZoneId;
+
+@Data
+@ConfigurationProperties(prefix = "omdb.quota")
+public class OmdbQuotaProperties {
+
+    private boolean enabled = true;
+    private long dailyLimit = 1000;
+    // Fuso em que a cota da OMDb é zerada
+    private ZoneId zone = ZoneId.of("UTC");
+    // Abaixo destes percentuais de cota restante, buscas e chamadas de fundo são recusadas
+    private int searchReservePercent = 10;
+    private int backgroundReservePercent = 30;
+    // Desligado nos testes (pom.xml), para que as execuções não gastem a cota do dia gravada em disco
+    private boolean persist = true;
+    private Path storePath = Path.of("data", "omdb-quota.properties");
+    private int persistEvery = 10;
+}
@@ -0,0 +1,15 @@
+package com.luarrezende.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.virtual-threads.pinning")
+public class PinningMonitorProperties {
+
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(20);
+    private int maxFrames = 8;
+}
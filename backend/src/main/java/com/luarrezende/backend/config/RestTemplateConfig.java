@@ -1,15 +1,16 @@
 package com.luarrezende.backend.config;
 
+import com.luarrezende.backend.client.OmdbClient;
+import com.luarrezende.backend.client.OmdbClientHttpRequestFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
-    
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(OmdbClient omdbClient) {
+        return new RestTemplate(new OmdbClientHttpRequestFactory(omdbClient));
     }
 }
-
@@ -0,0 +1,27 @@
+package com.luarrezende.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Ativa com spring.threads.virtual.enabled=true em JDK 21+ (profile "virtual"). Nesse modo o
+// Spring Boot executa as requisições do Tomcat em threads virtuais e o OmdbClient usa
+// threads virtuais para os callbacks das chamadas à OMDb.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(PinningMonitorProperties.class)
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnProperty(value = "app.virtual-threads.pinning.enabled", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(PinningMonitorProperties properties,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new VirtualThreadPinningMonitor(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+}
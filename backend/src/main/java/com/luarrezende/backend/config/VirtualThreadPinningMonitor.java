@@ -0,0 +1,90 @@
+package com.luarrezende.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta threads virtuais presas ao carrier (por exemplo, bloqueando dentro de um
+ * bloco {@code synchronized}) a partir do evento JFR {@code jdk.VirtualThreadPinned}.
+ * Cada ocorrência acima do limite gera um log com a pilha e alimenta a métrica
+ * {@code jvm.threads.virtual.pinned}.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final Duration threshold;
+    private final int maxFrames;
+    private final Timer pinned;
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(PinningMonitorProperties properties, MeterRegistry meterRegistry) {
+        this.threshold = properties.getThreshold();
+        this.maxFrames = properties.getMaxFrames();
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Tempo em que threads virtuais ficaram presas ao carrier")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onEvent);
+        recording.startAsync();
+        stream = recording;
+        logger.info("[PINNING] Monitorando threads virtuais presas ao carrier por mais de {}ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    void record(Duration duration, List<String> frames) {
+        pinned.record(duration);
+        logger.warn("[PINNING] Thread virtual presa ao carrier por {}ms:{}", duration.toMillis(),
+            frames.stream().map(frame -> "\n    at " + frame).collect(Collectors.joining()));
+    }
+
+    private void onEvent(RecordedEvent event) {
+        record(event.getDuration(), framesOf(event.getStackTrace()));
+    }
+
+    private List<String> framesOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        return stackTrace.getFrames().stream()
+            .limit(maxFrames)
+            .map(VirtualThreadPinningMonitor::describe)
+            .toList();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + "(linha " + frame.getLineNumber() + ")";
+    }
+}
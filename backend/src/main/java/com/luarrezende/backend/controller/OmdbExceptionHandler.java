@@ -0,0 +1,30 @@
+package com.luarrezende.backend.controller;
+
+import com.luarrezende.backend.client.OmdbUnavailableException;
+import com.luarrezende.backend.dto.ErrorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Duration;
+
+// OMDb indisponível e sem entrada stale no cache: 503 com Retry-After em vez de 500
+@RestControllerAdvice
+public class OmdbExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OmdbExceptionHandler.class);
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(30);
+
+    @ExceptionHandler(OmdbUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleOmdbUnavailable(OmdbUnavailableException e) {
+        logger.warn("[OMDB UNAVAILABLE] {}", e.getMessage());
+        Duration retryAfter = e.getRetryAfter() != null ? e.getRetryAfter() : DEFAULT_RETRY_AFTER;
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())))
+            .body(new ErrorResponse("Serviço de filmes temporariamente indisponível. Tente novamente em instantes.", HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+}
@@ -11,12 +11,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.http.ResponseEntity;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
+@ConditionalOnProperty(value = "omdb.async.enabled", havingValue = "false", matchIfMissing = true)
 @RequestMapping("/api/series")
 @Tag(name = "Series", description = "API para busca e obtenção de detalhes de séries")
 public class SeriesController {
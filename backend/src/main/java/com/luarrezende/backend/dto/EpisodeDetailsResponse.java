@@ -1,5 +1,6 @@
 package com.luarrezende.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.Builder;
 import lombok.AllArgsConstructor;
@@ -10,7 +11,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class EpisodeDetailsResponse {
+public class EpisodeDetailsResponse implements SuccessAware {
     
     private String id;
     private String title;
@@ -39,6 +40,8 @@ public class EpisodeDetailsResponse {
     private String seriesID;
     private boolean success;
     private String errorMessage;
+    @JsonIgnore
+    private boolean notFound;
 
     @Data
     @Builder
@@ -1,5 +1,6 @@
 package com.luarrezende.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.Builder;
 import lombok.AllArgsConstructor;
@@ -10,7 +11,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class MovieSearchResponse {
+public class MovieSearchResponse implements SuccessAware {
     
     private List<MovieSummary> movies;
     private int totalResults;
@@ -22,6 +23,8 @@ public class MovieSearchResponse {
     private String searchType;
     private boolean success;
     private String errorMessage;
+    @JsonIgnore
+    private boolean notFound;
     private long searchTime;
     private int itemsPerPage;
     private List<String> suggestions;
@@ -1,5 +1,6 @@
 package com.luarrezende.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.Builder;
 import lombok.AllArgsConstructor;
@@ -10,7 +11,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class SeasonDetailsResponse {
+public class SeasonDetailsResponse implements SuccessAware {
     
     private String title;
     private String season;
@@ -18,6 +19,8 @@ public class SeasonDetailsResponse {
     private List<EpisodeSummary> episodes;
     private boolean success;
     private String errorMessage;
+    @JsonIgnore
+    private boolean notFound;
     private String response;
 
     @Data
@@ -1,5 +1,6 @@
 package com.luarrezende.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.Builder;
 import lombok.AllArgsConstructor;
@@ -7,10 +8,10 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
-public class SeriesDetailsResponse {
+public class SeriesDetailsResponse implements SuccessAware {
     
     private String id;
     private String title;
@@ -37,6 +38,8 @@ public class SeriesDetailsResponse {
     private String type;
     private boolean success;
     private String errorMessage;
+    @JsonIgnore
+    private boolean notFound;
 
     @Data
     @Builder
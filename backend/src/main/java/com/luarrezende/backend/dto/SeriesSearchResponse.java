@@ -1,5 +1,6 @@
 package com.luarrezende.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.Builder;
 import lombok.AllArgsConstructor;
@@ -10,7 +11,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class SeriesSearchResponse {
+public class SeriesSearchResponse implements SuccessAware {
     private List<SeriesSummary> series;
     private int totalResults;
     private int currentPage;
@@ -21,6 +22,8 @@ public class SeriesSearchResponse {
     private String searchType;
     private boolean success;
     private String errorMessage;
+    @JsonIgnore
+    private boolean notFound;
     private long searchTime;
     private int itemsPerPage;
 }
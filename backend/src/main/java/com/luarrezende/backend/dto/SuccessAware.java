@@ -0,0 +1,16 @@
+package com.luarrezende.backend.dto;
+
+/**
+ * Respostas da API que indicam sucesso no corpo. Usado pelo cache para decidir o
+ * que armazenar: respostas com {@code success = false} nunca são cacheadas, e só as
+ * marcadas com {@code notFound} (a OMDb respondeu {@code Response: False}) vão para o
+ * cache negativo. Erros de validação ou de comunicação com a OMDb nunca são marcados.
+ */
+public interface SuccessAware {
+
+    boolean isSuccess();
+
+    boolean isNotFound();
+
+    void setNotFound(boolean notFound);
+}
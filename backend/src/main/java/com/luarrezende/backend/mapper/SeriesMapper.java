@@ -153,4 +153,16 @@ public class SeriesMapper {
                 .success(true)
                 .build();
     }
+
+    // Mesmos campos da resposta de episódio da OMDb, lidos da lista de episódios da temporada
+    public EpisodeDetailsResponse convertToEpisodeDetailsResponse(SeasonDetailsResponse.EpisodeSummary episodeSummary) {
+        return EpisodeDetailsResponse.builder()
+                .title(episodeSummary.getTitle())
+                .released(episodeSummary.getReleased())
+                .episode(episodeSummary.getEpisode())
+                .imdbRating(episodeSummary.getImdbRating())
+                .id(episodeSummary.getImdbID())
+                .success(true)
+                .build();
+    }
 }
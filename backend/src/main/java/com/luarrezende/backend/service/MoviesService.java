@@ -1,7 +1,14 @@
 package com.luarrezende.backend.service;
 
+import com.luarrezende.backend.cache.DetailsCrossIndex;
+import com.luarrezende.backend.cache.OmdbCacheKey.Kind;
+import com.luarrezende.backend.cache.OmdbKey;
+import com.luarrezende.backend.cache.QueryNormalizer;
+import com.luarrezende.backend.client.OmdbClient;
+import com.luarrezende.backend.client.OmdbUnavailableException;
 import com.luarrezende.backend.dto.MovieDetailsResponse;
 import com.luarrezende.backend.dto.MovieSearchResponse;
+import com.luarrezende.backend.dto.SuccessAware;
 import com.luarrezende.backend.clientdto.MovieDetailDto;
 import com.luarrezende.backend.clientdto.SearchAllDto;
 import com.luarrezende.backend.mapper.MovieMapper;
@@ -16,68 +23,82 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.util.UriComponentsBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Service
 @EnableCaching
 public class MoviesService {
     private static final Logger logger = LoggerFactory.getLogger(MoviesService.class);
     private static final int minSearchLen = 3;
     private final RestTemplate restTemplate;
+    private final OmdbClient omdbClient;
     private final MovieMapper movieMapper;
     private final ErrorResponseMapper errorResponseMapper;
-    
+
     @Value("${omdb.api.key}")
     private String apiKey;
 
+    @Value("${omdb.api.base-url:http://www.omdbapi.com/}")
+    private String baseUrl;
+
+    // Indexa respostas de detalhes nos caches por título e por ID (null sem cache)
+    private DetailsCrossIndex crossIndex;
+
     @Autowired
-    public MoviesService(RestTemplate restTemplate, MovieMapper movieMapper, ErrorResponseMapper errorResponseMapper) {
+    public MoviesService(RestTemplate restTemplate, OmdbClient omdbClient, MovieMapper movieMapper, ErrorResponseMapper errorResponseMapper) {
         this.restTemplate = restTemplate;
+        this.omdbClient = omdbClient;
         this.movieMapper = movieMapper;
         this.errorResponseMapper = errorResponseMapper;
     }
-    
-    @Cacheable(value = "moviesByTitle", key = "#title != null ? #title.toLowerCase().trim() : 'null'", unless = "#result.body.success == false", cacheResolver = "cacheResolver")
+
+    @Autowired(required = false)
+    void setCrossIndex(DetailsCrossIndex crossIndex) {
+        this.crossIndex = crossIndex;
+    }
+
+    @Cacheable(value = "moviesByTitle", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.TITLE)
     public ResponseEntity<MovieDetailsResponse> searchMovie(String title) {
         if (!isValidSearchTerm(title)) {
             return errorResponseMapper.createSearchErrorResponse();
         }
-        
-        logger.info("[SEARCH MOVIE] Executando busca para titulo: '{}' - CHAMANDO API EXTERNA", title.trim());
 
-        String url = String.format("http://www.omdbapi.com/?t=%s&apikey=%s", title.trim(), apiKey);
+        logger.info("[SEARCH MOVIE] Executando busca para titulo: '{}' - CHAMANDO API EXTERNA", title.trim());
 
         try {
-            MovieDetailDto omdbResponse = restTemplate.getForObject(url, MovieDetailDto.class);
-            
-            if (isEmptyResponse(omdbResponse)) {
-                return errorResponseMapper.createMovieNotFoundResponse();
-            }
-            
-            MovieDetailsResponse response = movieMapper.convertToMovieDetailsResponse(omdbResponse);
-            return ResponseEntity.ok(response);
-            
-        } catch (HttpClientErrorException e) {
-            MovieDetailsResponse errorResponse = MovieDetailsResponse.builder()
-                .success(false)
-                .errorMessage("Erro na comunicação com a API: " + e.getMessage())
-                .build();
-            return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+            MovieDetailDto omdbResponse = restTemplate.getForObject(searchMovieUrl(title), MovieDetailDto.class);
+            return toMovieDetailsResponse(omdbResponse, true);
         } catch (Exception e) {
-            logger.error("[SEARCH MOVIE] Erro inesperado ao buscar filme: {}", e.getMessage());
-            MovieDetailsResponse errorResponse = MovieDetailsResponse.builder()
-                .success(false)
-                .errorMessage("Erro interno do servidor")
-                .build();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return searchMovieErrorResponse(e);
         }
     }
 
-    @Cacheable(value = "movieSearch", key = "#title != null ? (#title.toLowerCase().trim() + '_page_' + #page) : ('null_page_' + #page)", unless = "#result.body.success == false", cacheResolver = "cacheResolver")
+    @Cacheable(value = "moviesByTitle", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.TITLE)
+    public CompletableFuture<ResponseEntity<MovieDetailsResponse>> searchMovieAsync(String title) {
+        if (!isValidSearchTerm(title)) {
+            return CompletableFuture.completedFuture(errorResponseMapper.createSearchErrorResponse());
+        }
+
+        logger.info("[SEARCH MOVIE] Executando busca assincrona para titulo: '{}' - CHAMANDO API EXTERNA", title.trim());
+
+        return omdbClient.get(searchMovieUrl(title), MovieDetailDto.class)
+            .thenApply(omdbResponse -> toMovieDetailsResponse(omdbResponse, true))
+            .exceptionally(ex -> searchMovieErrorResponse(unwrap(ex)));
+    }
+
+    @Cacheable(value = "movieSearch", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.SEARCH)
     public ResponseEntity<MovieSearchResponse> searchAllMovies(String title, int page) {
         long startTime = System.currentTimeMillis();
-        
+
         if (!isValidSearchTerm(title)) {
             return errorResponseMapper.createSearchAllErrorResponse(title != null ? title : "", page, startTime, "Termo de busca muito genérico. Digite pelo menos 3 caracteres.");
         }
@@ -88,66 +109,169 @@ public class MoviesService {
             page = 1;
         }
 
-        String url = String.format("http://www.omdbapi.com/?s=%s&apikey=%s&page=%d", title.trim(), apiKey, page);
-
         try {
-            SearchAllDto omdbResponse = restTemplate.getForObject(url, SearchAllDto.class);
-            
-            if (isEmptySearchResponse(omdbResponse)) {
-                String errorMessage = omdbResponse != null ? "Nenhum filme encontrado" : "Erro na API do OMDB";
-                return errorResponseMapper.createSearchAllErrorResponse(title.trim(), page, startTime, errorMessage);
-            }
-            
-            MovieSearchResponse response = movieMapper.convertToMovieSearchResponse(omdbResponse, title.trim(), page, startTime);
-            return ResponseEntity.ok(response);
-            
+            SearchAllDto omdbResponse = restTemplate.getForObject(searchAllMoviesUrl(title, page), SearchAllDto.class);
+            return toMovieSearchResponse(omdbResponse, title, page, startTime);
         } catch (HttpClientErrorException e) {
-            MovieSearchResponse errorResponse = MovieSearchResponse.builder()
-                .success(false)
-                .errorMessage("Erro na comunicação com a API: " + e.getMessage())
-                .searchTerm(title != null ? title.trim() : "")
-                .currentPage(page)
-                .totalResults(0)
-                .searchTime(System.currentTimeMillis() - startTime)
-                .build();
-            return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+            return searchAllErrorResponse(e, title, page, startTime);
         }
     }
 
-    @Cacheable(value = "moviesById", key = "#id.toLowerCase().trim() + '_' + #plot", unless = "#result.body.success == false", cacheResolver = "cacheResolver")
+    @Cacheable(value = "movieSearch", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.SEARCH)
+    public CompletableFuture<ResponseEntity<MovieSearchResponse>> searchAllMoviesAsync(String title, int page) {
+        long startTime = System.currentTimeMillis();
+
+        if (!isValidSearchTerm(title)) {
+            return CompletableFuture.completedFuture(errorResponseMapper.createSearchAllErrorResponse(title != null ? title : "", page, startTime, "Termo de busca muito genérico. Digite pelo menos 3 caracteres."));
+        }
+
+        logger.info("[SEARCH ALL MOVIES] Executando busca assincrona para titulo: '{}', pagina: {} - CHAMANDO API EXTERNA", title.trim(), page);
+
+        int validPage = Math.max(page, 1);
+
+        return omdbClient.get(searchAllMoviesUrl(title, validPage), SearchAllDto.class)
+            .thenApply(omdbResponse -> toMovieSearchResponse(omdbResponse, title, validPage, startTime))
+            .exceptionally(ex -> searchAllErrorResponse(clientError(ex), title, validPage, startTime));
+    }
+
+    @Cacheable(value = "moviesById", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.DETAILS)
     public ResponseEntity<MovieDetailsResponse> getMovieDetails(String id, String plot) {
         logger.info("[MOVIE DETAILS] Executando busca para ID: '{}', plot: '{}' - CHAMANDO API EXTERNA", id.trim(), plot);
-        
-        String url = String.format("http://www.omdbapi.com/?i=%s&apikey=%s&plot=%s", id, apiKey, plot);
-        
+
         try {
-            MovieDetailDto omdbResponse = restTemplate.getForObject(url, MovieDetailDto.class);
-            
-            if (isEmptyResponse(omdbResponse)) {
-                return errorResponseMapper.createMovieNotFoundResponse();
-            }
-            
-            MovieDetailsResponse response = movieMapper.convertToMovieDetailsResponse(omdbResponse);
-            return ResponseEntity.ok(response);
-            
+            MovieDetailDto omdbResponse = restTemplate.getForObject(movieDetailsUrl(id, plot), MovieDetailDto.class);
+            return toMovieDetailsResponse(omdbResponse, false);
         } catch (HttpClientErrorException e) {
-            MovieDetailsResponse errorResponse = MovieDetailsResponse.builder()
-                .success(false)
-                .errorMessage("Erro na comunicação com a API: " + e.getMessage())
-                .build();
-            return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+            return detailsErrorResponse(e);
+        }
+    }
+
+    @Cacheable(value = "moviesById", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.DETAILS)
+    public CompletableFuture<ResponseEntity<MovieDetailsResponse>> getMovieDetailsAsync(String id, String plot) {
+        logger.info("[MOVIE DETAILS] Executando busca assincrona para ID: '{}', plot: '{}' - CHAMANDO API EXTERNA", id.trim(), plot);
+
+        return omdbClient.get(movieDetailsUrl(id, plot), MovieDetailDto.class)
+            .thenApply(omdbResponse -> toMovieDetailsResponse(omdbResponse, false))
+            .exceptionally(ex -> detailsErrorResponse(clientError(ex)));
+    }
+
+    private URI searchMovieUrl(String title) {
+        return omdbUrl("?t={t}&apikey={apikey}", QueryNormalizer.normalize(title), apiKey);
+    }
+
+    private URI searchAllMoviesUrl(String title, int page) {
+        return omdbUrl("?s={s}&apikey={apikey}&page={page}", QueryNormalizer.normalize(title), apiKey, page);
+    }
+
+    private URI movieDetailsUrl(String id, String plot) {
+        return omdbUrl("?i={i}&apikey={apikey}&plot={plot}", id, apiKey, plot);
+    }
+
+    // Valores expandidos como variáveis: encode() escapa tudo que não é unreserved (&, +, #, =)
+    private URI omdbUrl(String query, Object... values) {
+        return UriComponentsBuilder.fromUriString(baseUrl + query).encode().buildAndExpand(values).toUri();
+    }
+
+    private ResponseEntity<MovieDetailsResponse> toMovieDetailsResponse(MovieDetailDto omdbResponse, boolean byTitle) {
+        if (isEmptyResponse(omdbResponse)) {
+            ResponseEntity<MovieDetailsResponse> notFound = errorResponseMapper.createMovieNotFoundResponse();
+            return omdbResponse != null ? confirmedNotFound(notFound) : notFound;
+        }
+
+        MovieDetailsResponse response = movieMapper.convertToMovieDetailsResponse(omdbResponse);
+        ResponseEntity<MovieDetailsResponse> result = ResponseEntity.ok(response);
+        // Só t= vai para o cache por ID; o título de uma busca por ID pode não ser o que t= devolveria
+        if (byTitle && crossIndex != null) {
+            crossIndex.indexTitleResult("moviesById", response.getId(), result);
+        }
+        return result;
+    }
+
+    private ResponseEntity<MovieSearchResponse> toMovieSearchResponse(SearchAllDto omdbResponse, String title, int page, long startTime) {
+        if (isEmptySearchResponse(omdbResponse)) {
+            if (omdbResponse == null) {
+                return errorResponseMapper.createSearchAllErrorResponse(title.trim(), page, startTime, "Erro na API do OMDB");
+            }
+            return confirmedNotFound(errorResponseMapper.createSearchAllErrorResponse(title.trim(), page, startTime, "Nenhum filme encontrado"));
+        }
+
+        MovieSearchResponse response = movieMapper.convertToMovieSearchResponse(omdbResponse, title.trim(), page, startTime);
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<MovieDetailsResponse> searchMovieErrorResponse(Throwable e) {
+        // Circuito aberto/limite atingido: propaga para o cache servir stale ou a API responder 503
+        if (e instanceof OmdbUnavailableException unavailable) {
+            throw unavailable;
+        }
+        if (e instanceof HttpClientErrorException clientError) {
+            return detailsErrorResponse(clientError);
         }
+
+        logger.error("[SEARCH MOVIE] Erro inesperado ao buscar filme: {}", e.getMessage());
+        MovieDetailsResponse errorResponse = MovieDetailsResponse.builder()
+            .success(false)
+            .errorMessage("Erro interno do servidor")
+            .build();
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
+    private ResponseEntity<MovieDetailsResponse> detailsErrorResponse(HttpClientErrorException e) {
+        MovieDetailsResponse errorResponse = MovieDetailsResponse.builder()
+            .success(false)
+            .errorMessage("Erro na comunicação com a API: " + e.getMessage())
+            .build();
+        return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
     }
-    
+
+    private ResponseEntity<MovieSearchResponse> searchAllErrorResponse(HttpClientErrorException e, String title, int page, long startTime) {
+        MovieSearchResponse errorResponse = MovieSearchResponse.builder()
+            .success(false)
+            .errorMessage("Erro na comunicação com a API: " + e.getMessage())
+            .searchTerm(title != null ? title.trim() : "")
+            .currentPage(page)
+            .totalResults(0)
+            .searchTime(System.currentTimeMillis() - startTime)
+            .build();
+        return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+    }
+
+    // Mede o termo que vai para a OMDb: aspas, espaços e caracteres invisíveis não contam
     private boolean isValidSearchTerm(String title) {
-        return title != null && title.trim().length() >= minSearchLen;
+        String normalized = QueryNormalizer.normalize(title);
+        return normalized != null && normalized.length() >= minSearchLen;
     }
-    
+
     private boolean isEmptyResponse(MovieDetailDto response) {
         return response == null || "False".equals(response.getResponse());
     }
-    
+
     private boolean isEmptySearchResponse(SearchAllDto response) {
         return response == null || "False".equals(response.getResponse());
     }
+
+    // Só o "Response: False" da OMDb é um não encontrado de fato (vai para o cache negativo);
+    // corpo nulo é falha na chamada e não deve ser lembrado
+    private static <T extends SuccessAware> ResponseEntity<T> confirmedNotFound(ResponseEntity<T> response) {
+        if (response != null && response.getBody() != null) {
+            response.getBody().setNotFound(true);
+        }
+        return response;
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    // Mesmo contrato dos métodos síncronos: apenas erros 4xx viram resposta, o resto é propagado
+    private static HttpClientErrorException clientError(Throwable ex) {
+        Throwable cause = unwrap(ex);
+        if (cause instanceof HttpClientErrorException clientError) {
+            return clientError;
+        }
+        throw cause instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(cause);
+    }
 }
@@ -1,9 +1,17 @@
 package com.luarrezende.backend.service;
 
+import com.luarrezende.backend.cache.DetailsCrossIndex;
+import com.luarrezende.backend.cache.OmdbCacheKey.Kind;
+import com.luarrezende.backend.cache.OmdbKey;
+import com.luarrezende.backend.client.OmdbClient;
+import com.luarrezende.backend.cache.OmdbCache;
+import com.luarrezende.backend.cache.QueryNormalizer;
+import com.luarrezende.backend.client.OmdbUnavailableException;
 import com.luarrezende.backend.dto.SeriesDetailsResponse;
 import com.luarrezende.backend.dto.SeriesSearchResponse;
 import com.luarrezende.backend.dto.SeasonDetailsResponse;
 import com.luarrezende.backend.dto.EpisodeDetailsResponse;
+import com.luarrezende.backend.dto.SuccessAware;
 import com.luarrezende.backend.clientdto.MovieDetailDto;
 import com.luarrezende.backend.clientdto.SearchAllDto;
 import com.luarrezende.backend.clientdto.SeasonDto;
@@ -18,70 +26,93 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.util.UriComponentsBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Service
 @EnableCaching
 public class SeriesService {
     private static final Logger logger = LoggerFactory.getLogger(SeriesService.class);
     private static final int minSearchLen = 3;
     private final RestTemplate restTemplate;
+    private final OmdbClient omdbClient;
     private final SeriesMapper seriesMapper;
     private final SeriesErrorResponseMapper errorResponseMapper;
     
     @Value("${omdb.api.key}")
     private String apiKey;
 
+    @Value("${omdb.api.base-url:http://www.omdbapi.com/}")
+    private String baseUrl;
+
+    // Proxy deste service: episódios são lidos da temporada em cache (e a populam) pelo @Cacheable
+    private SeriesService self;
+
+    // Indexa respostas de detalhes nos caches por título e por ID (null sem cache)
+    private DetailsCrossIndex crossIndex;
+
     @Autowired
-    public SeriesService(RestTemplate restTemplate, SeriesMapper seriesMapper, SeriesErrorResponseMapper errorResponseMapper) {
+    public SeriesService(RestTemplate restTemplate, OmdbClient omdbClient, SeriesMapper seriesMapper, SeriesErrorResponseMapper errorResponseMapper) {
         this.restTemplate = restTemplate;
+        this.omdbClient = omdbClient;
         this.seriesMapper = seriesMapper;
         this.errorResponseMapper = errorResponseMapper;
     }
+
+    @Autowired(required = false)
+    void setCrossIndex(DetailsCrossIndex crossIndex) {
+        this.crossIndex = crossIndex;
+    }
+
+    @Autowired
+    void setSelf(@Lazy SeriesService self) {
+        this.self = self;
+    }
     
-    @Cacheable(value = "seriesByTitle", key = "#title != null ? #title.toLowerCase().trim() : 'null'", unless = "#result.body.success == false", cacheResolver = "cacheResolver")
+    @Cacheable(value = "seriesByTitle", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.TITLE)
     public ResponseEntity<SeriesDetailsResponse> searchSeries(String title) {
         if (!isValidSearchTerm(title)) {
             return errorResponseMapper.createSearchErrorResponse();
         }
-        
-        logger.info("[SEARCH SERIES] Executando busca para titulo: '{}' - CHAMANDO API EXTERNA", title.trim());
 
-        String url = String.format("http://www.omdbapi.com/?t=%s&type=series&apikey=%s", title.trim(), apiKey);
+        logger.info("[SEARCH SERIES] Executando busca para titulo: '{}' - CHAMANDO API EXTERNA", title.trim());
 
         try {
-            MovieDetailDto omdbResponse = restTemplate.getForObject(url, MovieDetailDto.class);
-            
-            if (isEmptyResponse(omdbResponse)) {
-                return errorResponseMapper.createSeriesNotFoundResponse();
-            }
-            
-            SeriesDetailsResponse response = seriesMapper.convertToSeriesDetailsResponse(omdbResponse);
-            return ResponseEntity.ok(response);
-            
-        } catch (HttpClientErrorException e) {
-            SeriesDetailsResponse errorResponse = SeriesDetailsResponse.builder()
-                .success(false)
-                .errorMessage("Erro na comunicação com a API: " + e.getMessage())
-                .build();
-            return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+            MovieDetailDto omdbResponse = restTemplate.getForObject(searchSeriesUrl(title), MovieDetailDto.class);
+            return toSeriesDetailsResponse(omdbResponse, true);
         } catch (Exception e) {
-            logger.error("[SEARCH SERIES] Erro inesperado ao buscar série: {}", e.getMessage());
-            SeriesDetailsResponse errorResponse = SeriesDetailsResponse.builder()
-                .success(false)
-                .errorMessage("Erro interno do servidor")
-                .build();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return searchSeriesErrorResponse(e);
         }
     }
 
-    @Cacheable(value = "seriesSearch", key = "#title != null ? (#title.toLowerCase().trim() + '_page_' + #page) : ('null_page_' + #page)", unless = "#result.body.success == false", cacheResolver = "cacheResolver")
+    @Cacheable(value = "seriesByTitle", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.TITLE)
+    public CompletableFuture<ResponseEntity<SeriesDetailsResponse>> searchSeriesAsync(String title) {
+        if (!isValidSearchTerm(title)) {
+            return CompletableFuture.completedFuture(errorResponseMapper.createSearchErrorResponse());
+        }
+
+        logger.info("[SEARCH SERIES] Executando busca assincrona para titulo: '{}' - CHAMANDO API EXTERNA", title.trim());
+
+        return omdbClient.get(searchSeriesUrl(title), MovieDetailDto.class)
+            .thenApply(omdbResponse -> toSeriesDetailsResponse(omdbResponse, true))
+            .exceptionally(ex -> searchSeriesErrorResponse(unwrap(ex)));
+    }
+
+    @Cacheable(value = "seriesSearch", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.SEARCH)
     public ResponseEntity<SeriesSearchResponse> searchAllSeries(String title, int page) {
         long startTime = System.currentTimeMillis();
-        
+
         if (!isValidSearchTerm(title)) {
             return errorResponseMapper.createSearchAllErrorResponse(title != null ? title : "", page, startTime, "Termo de busca muito genérico. Digite pelo menos 3 caracteres.");
         }
@@ -92,130 +123,357 @@ public class SeriesService {
             page = 1;
         }
 
-        String url = String.format("http://www.omdbapi.com/?s=%s&type=series&apikey=%s&page=%d", title.trim(), apiKey, page);
-
         try {
-            SearchAllDto omdbResponse = restTemplate.getForObject(url, SearchAllDto.class);
-            
-            if (isEmptySearchResponse(omdbResponse)) {
-                String errorMessage = omdbResponse != null ? "Nenhuma série encontrada" : "Erro na API do OMDB";
-                return errorResponseMapper.createSearchAllErrorResponse(title.trim(), page, startTime, errorMessage);
-            }
-            
-            SeriesSearchResponse response = seriesMapper.convertToSeriesSearchResponse(omdbResponse, title.trim(), page, startTime);
-            return ResponseEntity.ok(response);
-            
+            SearchAllDto omdbResponse = restTemplate.getForObject(searchAllSeriesUrl(title, page), SearchAllDto.class);
+            return toSeriesSearchResponse(omdbResponse, title, page, startTime);
         } catch (HttpClientErrorException e) {
-            SeriesSearchResponse errorResponse = SeriesSearchResponse.builder()
-                .success(false)
-                .errorMessage("Erro na comunicação com a API: " + e.getMessage())
-                .searchTerm(title != null ? title.trim() : "")
-                .currentPage(page)
-                .totalResults(0)
-                .searchTime(System.currentTimeMillis() - startTime)
-                .build();
-            return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+            return searchAllErrorResponse(e, title, page, startTime);
         }
     }
 
-    @Cacheable(value = "seriesById", key = "#id.toLowerCase().trim() + '_' + #plot", unless = "#result.body.success == false", cacheResolver = "cacheResolver")
+    @Cacheable(value = "seriesSearch", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.SEARCH)
+    public CompletableFuture<ResponseEntity<SeriesSearchResponse>> searchAllSeriesAsync(String title, int page) {
+        long startTime = System.currentTimeMillis();
+
+        if (!isValidSearchTerm(title)) {
+            return CompletableFuture.completedFuture(errorResponseMapper.createSearchAllErrorResponse(title != null ? title : "", page, startTime, "Termo de busca muito genérico. Digite pelo menos 3 caracteres."));
+        }
+
+        logger.info("[SEARCH ALL SERIES] Executando busca assincrona para titulo: '{}', pagina: {} - CHAMANDO API EXTERNA", title.trim(), page);
+
+        int validPage = Math.max(page, 1);
+
+        return omdbClient.get(searchAllSeriesUrl(title, validPage), SearchAllDto.class)
+            .thenApply(omdbResponse -> toSeriesSearchResponse(omdbResponse, title, validPage, startTime))
+            .exceptionally(ex -> searchAllErrorResponse(clientError(ex), title, validPage, startTime));
+    }
+
+    @Cacheable(value = "seriesById", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.DETAILS)
     public ResponseEntity<SeriesDetailsResponse> getSeriesDetails(String id, String plot) {
         logger.info("[SERIES DETAILS] Executando busca para ID: '{}', plot: '{}' - CHAMANDO API EXTERNA", id.trim(), plot);
-        
-        String url = String.format("http://www.omdbapi.com/?i=%s&apikey=%s&plot=%s", id, apiKey, plot);
-        
+
         try {
-            MovieDetailDto omdbResponse = restTemplate.getForObject(url, MovieDetailDto.class);
-            
-            if (isEmptyResponse(omdbResponse)) {
-                return errorResponseMapper.createSeriesNotFoundResponse();
-            }
-            
-            SeriesDetailsResponse response = seriesMapper.convertToSeriesDetailsResponse(omdbResponse);
-            return ResponseEntity.ok(response);
-            
+            MovieDetailDto omdbResponse = restTemplate.getForObject(seriesDetailsUrl(id, plot), MovieDetailDto.class);
+            return toSeriesDetailsResponse(omdbResponse, false);
         } catch (HttpClientErrorException e) {
-            SeriesDetailsResponse errorResponse = SeriesDetailsResponse.builder()
-                .success(false)
-                .errorMessage("Erro na comunicação com a API: " + e.getMessage())
-                .build();
-            return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+            return seriesErrorResponse(e);
         }
     }
-    
+
+    @Cacheable(value = "seriesById", keyGenerator = "omdbKeyGenerator", sync = true, cacheResolver = "cacheResolver")
+    @OmdbKey(Kind.DETAILS)
+    public CompletableFuture<ResponseEntity<SeriesDetailsResponse>> getSeriesDetailsAsync(String id, String plot) {
+        logger.info("[SERIES DETAILS] Executando busca assincrona para ID: '{}', plot: '{}' - CHAMANDO API EXTERNA", id.trim(), plot);
+
+        return omdbClient.get(seriesDetailsUrl(id, plot), MovieDetailDto.class)
+            .thenApply(omdbResponse -> toSeriesDetailsResponse(omdbResponse, false))
+            .exceptionally(ex -> seriesErrorResponse(clientError(ex)));
+    }
+
+    // Mede o termo que vai para a OMDb: aspas, espaços e caracteres invisíveis não contam
     private boolean isValidSearchTerm(String title) {
-        return title != null && title.trim().length() >= minSearchLen;
+        String normalized = QueryNormalizer.normalize(title);
+        return normalized != null && normalized.length() >= minSearchLen;
     }
-    
+
     private boolean isEmptyResponse(MovieDetailDto response) {
         return response == null || "False".equals(response.getResponse());
     }
-    
+
     private boolean isEmptySearchResponse(SearchAllDto response) {
         return response == null || "False".equals(response.getResponse());
     }
 
-    @Cacheable(value = "seriesSeason", key = "#seriesId + '_' + #season")
+    @Cacheable(value = "seriesSeason", keyGenerator = "omdbKeyGenerator", sync = true)
+    @OmdbKey(Kind.SEASON)
     public ResponseEntity<SeasonDetailsResponse> getSeasonDetails(String seriesId, String season) {
         long startTime = System.currentTimeMillis();
         logger.info("[SEASON DETAILS] Buscando detalhes da temporada {} da série: {} - INICIANDO BUSCA EM CACHE", season, seriesId);
 
-        String url = String.format("http://www.omdbapi.com/?i=%s&Season=%s&apikey=%s", seriesId, season, apiKey);
-
         try {
-            SeasonDto omdbResponse = restTemplate.getForObject(url, SeasonDto.class);
-            
-            if (omdbResponse == null || "False".equals(omdbResponse.getResponse())) {
-                SeasonDetailsResponse errorResponse = SeasonDetailsResponse.builder()
-                    .success(false)
-                    .errorMessage("Temporada não encontrada")
-                    .build();
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-            }
-            
-            logger.info("[SEASON DETAILS] Temporada {} da série {} encontrada - Tempo de resposta: {}ms", season, seriesId, System.currentTimeMillis() - startTime);
-            
-            SeasonDetailsResponse response = seriesMapper.convertToSeasonDetailsResponse(omdbResponse);
-            return ResponseEntity.ok(response);
-            
+            SeasonDto omdbResponse = restTemplate.getForObject(seasonDetailsUrl(seriesId, season), SeasonDto.class);
+            return toSeasonDetailsResponse(omdbResponse, seriesId, season, startTime);
         } catch (HttpClientErrorException e) {
-            SeasonDetailsResponse errorResponse = SeasonDetailsResponse.builder()
-                .success(false)
-                .errorMessage("Erro na comunicação com a API: " + e.getMessage())
-                .build();
-            return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+            return seasonErrorResponse(e);
         }
     }
 
-    @Cacheable(value = "seriesEpisode", key = "#seriesId + '_' + #season + '_' + #episode")
+    @Cacheable(value = "seriesSeason", keyGenerator = "omdbKeyGenerator", sync = true)
+    @OmdbKey(Kind.SEASON)
+    public CompletableFuture<ResponseEntity<SeasonDetailsResponse>> getSeasonDetailsAsync(String seriesId, String season) {
+        long startTime = System.currentTimeMillis();
+        logger.info("[SEASON DETAILS] Buscando detalhes da temporada {} da série: {} de forma assincrona - INICIANDO BUSCA EM CACHE", season, seriesId);
+
+        return omdbClient.get(seasonDetailsUrl(seriesId, season), SeasonDto.class)
+            .thenApply(omdbResponse -> toSeasonDetailsResponse(omdbResponse, seriesId, season, startTime))
+            .exceptionally(ex -> seasonErrorResponse(clientError(ex)));
+    }
+
+    @Cacheable(value = "seriesEpisode", keyGenerator = "omdbKeyGenerator", sync = true)
+    @OmdbKey(Kind.EPISODE)
     public ResponseEntity<EpisodeDetailsResponse> getEpisodeDetails(String seriesId, String season, String episode) {
         long startTime = System.currentTimeMillis();
         logger.info("[EPISODE DETAILS] Buscando detalhes do episódio {} da temporada {} da série: {} - INICIANDO BUSCA EM CACHE", episode, season, seriesId);
 
-        String url = String.format("http://www.omdbapi.com/?i=%s&Season=%s&Episode=%s&apikey=%s", seriesId, season, episode, apiKey);
+        ResponseEntity<EpisodeDetailsResponse> fromSeason = episodeFromSeason(seasonForEpisode(seriesId, season), seriesId, season, episode);
+        if (fromSeason != null) {
+            return fromSeason;
+        }
 
         try {
-            EpisodeDto omdbResponse = restTemplate.getForObject(url, EpisodeDto.class);
-            
-            if (omdbResponse == null || omdbResponse.getTitle() == null) {
-                EpisodeDetailsResponse errorResponse = EpisodeDetailsResponse.builder()
-                    .success(false)
-                    .errorMessage("Episódio não encontrado")
-                    .build();
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-            }
-            
-            logger.info("[EPISODE DETAILS] Episódio {} da temporada {} da série {} encontrado - Tempo de resposta: {}ms", episode, season, seriesId, System.currentTimeMillis() - startTime);
-            
-            EpisodeDetailsResponse response = seriesMapper.convertToEpisodeDetailsResponse(omdbResponse);
-            return ResponseEntity.ok(response);
-            
+            EpisodeDto omdbResponse = restTemplate.getForObject(episodeDetailsUrl(seriesId, season, episode), EpisodeDto.class);
+            return toEpisodeDetailsResponse(omdbResponse, seriesId, season, episode, startTime);
         } catch (HttpClientErrorException e) {
-            EpisodeDetailsResponse errorResponse = EpisodeDetailsResponse.builder()
+            return episodeErrorResponse(e);
+        }
+    }
+
+    @Cacheable(value = "seriesEpisode", keyGenerator = "omdbKeyGenerator", sync = true)
+    @OmdbKey(Kind.EPISODE)
+    public CompletableFuture<ResponseEntity<EpisodeDetailsResponse>> getEpisodeDetailsAsync(String seriesId, String season, String episode) {
+        long startTime = System.currentTimeMillis();
+        logger.info("[EPISODE DETAILS] Buscando detalhes do episódio {} da temporada {} da série: {} de forma assincrona - INICIANDO BUSCA EM CACHE", episode, season, seriesId);
+
+        return seasonForEpisodeAsync(seriesId, season).thenCompose(seasonResponse -> {
+            ResponseEntity<EpisodeDetailsResponse> fromSeason = episodeFromSeason(seasonResponse, seriesId, season, episode);
+            if (fromSeason != null) {
+                return CompletableFuture.completedFuture(fromSeason);
+            }
+            return omdbClient.get(episodeDetailsUrl(seriesId, season, episode), EpisodeDto.class)
+                .thenApply(omdbResponse -> toEpisodeDetailsResponse(omdbResponse, seriesId, season, episode, startTime))
+                .exceptionally(ex -> episodeErrorResponse(clientError(ex)));
+        });
+    }
+
+    // Temporada pelo cache (uma chamada à OMDb popula seriesSeason para todos os episódios);
+    // null quando não há proxy de cache ou a busca falha, e o episódio é buscado sozinho
+    private ResponseEntity<SeasonDetailsResponse> seasonForEpisode(String seriesId, String season) {
+        if (self == null) {
+            return null;
+        }
+        try {
+            return self.getSeasonDetails(seriesId, season);
+        } catch (RuntimeException e) {
+            logger.debug("[EPISODE DETAILS] Temporada {} da série {} indisponivel para derivar episodio: {}", season, seriesId, e.getMessage());
+            return null;
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<SeasonDetailsResponse>> seasonForEpisodeAsync(String seriesId, String season) {
+        if (self == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return self.getSeasonDetailsAsync(seriesId, season).exceptionally(ex -> null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private ResponseEntity<EpisodeDetailsResponse> episodeFromSeason(ResponseEntity<SeasonDetailsResponse> seasonResponse, String seriesId, String season, String episode) {
+        // Temporada stale não é usada: o episódio derivado seria guardado como fresco
+        if (seasonResponse == null || seasonResponse.getBody() == null
+                || seasonResponse.getHeaders().containsKey(OmdbCache.CACHE_STATUS_HEADER)) {
+            return null;
+        }
+        SeasonDetailsResponse seasonDetails = seasonResponse.getBody();
+        if (seasonResponse.getStatusCode() == HttpStatus.NOT_FOUND) {
+            // Sem a confirmação da OMDb o episódio é consultado diretamente
+            return seasonDetails.isNotFound() ? confirmedNotFound(episodeNotFoundResponse()) : null;
+        }
+        if (!seasonDetails.isSuccess() || seasonDetails.getEpisodes() == null || episode == null) {
+            return null;
+        }
+        Integer number = parseNumber(episode);
+        if (number == null) {
+            return null;
+        }
+        for (SeasonDetailsResponse.EpisodeSummary summary : seasonDetails.getEpisodes()) {
+            if (number.equals(parseNumber(summary.getEpisode()))) {
+                logger.info("[EPISODE DETAILS] Episódio {} da temporada {} da série {} obtido da temporada em cache", episode, season, seriesId);
+                return ResponseEntity.ok(seriesMapper.convertToEpisodeDetailsResponse(summary));
+            }
+        }
+        return null;
+    }
+
+    // "01" e "1" são o mesmo episódio, como na chave do cache
+    private static Integer parseNumber(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private URI searchSeriesUrl(String title) {
+        return omdbUrl("?t={t}&type=series&apikey={apikey}", QueryNormalizer.normalize(title), apiKey);
+    }
+
+    private URI searchAllSeriesUrl(String title, int page) {
+        return omdbUrl("?s={s}&type=series&apikey={apikey}&page={page}", QueryNormalizer.normalize(title), apiKey, page);
+    }
+
+    private URI seriesDetailsUrl(String id, String plot) {
+        return omdbUrl("?i={i}&apikey={apikey}&plot={plot}", id, apiKey, plot);
+    }
+
+    private URI seasonDetailsUrl(String seriesId, String season) {
+        return omdbUrl("?i={i}&Season={season}&apikey={apikey}", seriesId, season, apiKey);
+    }
+
+    private URI episodeDetailsUrl(String seriesId, String season, String episode) {
+        return omdbUrl("?i={i}&Season={season}&Episode={episode}&apikey={apikey}", seriesId, season, episode, apiKey);
+    }
+
+    // Valores expandidos como variáveis: encode() escapa tudo que não é unreserved (&, +, #, =)
+    private URI omdbUrl(String query, Object... values) {
+        return UriComponentsBuilder.fromUriString(baseUrl + query).encode().buildAndExpand(values).toUri();
+    }
+
+    private ResponseEntity<SeriesDetailsResponse> toSeriesDetailsResponse(MovieDetailDto omdbResponse, boolean byTitle) {
+        if (isEmptyResponse(omdbResponse)) {
+            ResponseEntity<SeriesDetailsResponse> notFound = errorResponseMapper.createSeriesNotFoundResponse();
+            return omdbResponse != null ? confirmedNotFound(notFound) : notFound;
+        }
+
+        SeriesDetailsResponse response = seriesMapper.convertToSeriesDetailsResponse(omdbResponse);
+        ResponseEntity<SeriesDetailsResponse> result = ResponseEntity.ok(response);
+        // Só t= vai para o cache por ID; o título de uma busca por ID pode não ser o que t= devolveria
+        if (byTitle && crossIndex != null) {
+            crossIndex.indexTitleResult("seriesById", response.getId(), result);
+        }
+        return result;
+    }
+
+    private ResponseEntity<SeriesSearchResponse> toSeriesSearchResponse(SearchAllDto omdbResponse, String title, int page, long startTime) {
+        if (isEmptySearchResponse(omdbResponse)) {
+            if (omdbResponse == null) {
+                return errorResponseMapper.createSearchAllErrorResponse(title.trim(), page, startTime, "Erro na API do OMDB");
+            }
+            return confirmedNotFound(errorResponseMapper.createSearchAllErrorResponse(title.trim(), page, startTime, "Nenhuma série encontrada"));
+        }
+
+        SeriesSearchResponse response = seriesMapper.convertToSeriesSearchResponse(omdbResponse, title.trim(), page, startTime);
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<SeasonDetailsResponse> toSeasonDetailsResponse(SeasonDto omdbResponse, String seriesId, String season, long startTime) {
+        if (omdbResponse == null || "False".equals(omdbResponse.getResponse())) {
+            SeasonDetailsResponse errorResponse = SeasonDetailsResponse.builder()
                 .success(false)
-                .errorMessage("Erro na comunicação com a API: " + e.getMessage())
+                .errorMessage("Temporada não encontrada")
                 .build();
-            return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+            ResponseEntity<SeasonDetailsResponse> notFound = ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            return omdbResponse != null ? confirmedNotFound(notFound) : notFound;
+        }
+
+        logger.info("[SEASON DETAILS] Temporada {} da série {} encontrada - Tempo de resposta: {}ms", season, seriesId, System.currentTimeMillis() - startTime);
+
+        SeasonDetailsResponse response = seriesMapper.convertToSeasonDetailsResponse(omdbResponse);
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<EpisodeDetailsResponse> toEpisodeDetailsResponse(EpisodeDto omdbResponse, String seriesId, String season, String episode, long startTime) {
+        if (omdbResponse == null) {
+            return episodeNotFoundResponse();
+        }
+        // Episódio inexistente chega como Response: False, sem Title
+        if (omdbResponse.getTitle() == null) {
+            return confirmedNotFound(episodeNotFoundResponse());
+        }
+
+        logger.info("[EPISODE DETAILS] Episódio {} da temporada {} da série {} encontrado - Tempo de resposta: {}ms", episode, season, seriesId, System.currentTimeMillis() - startTime);
+
+        EpisodeDetailsResponse response = seriesMapper.convertToEpisodeDetailsResponse(omdbResponse);
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<EpisodeDetailsResponse> episodeNotFoundResponse() {
+        EpisodeDetailsResponse errorResponse = EpisodeDetailsResponse.builder()
+            .success(false)
+            .errorMessage("Episódio não encontrado")
+            .build();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    // Só o "Response: False" da OMDb é um não encontrado de fato (vai para o cache negativo);
+    // corpo nulo é falha na chamada e não deve ser lembrado
+    private static <T extends SuccessAware> ResponseEntity<T> confirmedNotFound(ResponseEntity<T> response) {
+        if (response != null && response.getBody() != null) {
+            response.getBody().setNotFound(true);
+        }
+        return response;
+    }
+
+    private ResponseEntity<SeriesDetailsResponse> searchSeriesErrorResponse(Throwable e) {
+        // Circuito aberto/limite atingido: propaga para o cache servir stale ou a API responder 503
+        if (e instanceof OmdbUnavailableException unavailable) {
+            throw unavailable;
+        }
+        if (e instanceof HttpClientErrorException clientError) {
+            return seriesErrorResponse(clientError);
+        }
+
+        logger.error("[SEARCH SERIES] Erro inesperado ao buscar série: {}", e.getMessage());
+        SeriesDetailsResponse errorResponse = SeriesDetailsResponse.builder()
+            .success(false)
+            .errorMessage("Erro interno do servidor")
+            .build();
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
+    private ResponseEntity<SeriesDetailsResponse> seriesErrorResponse(HttpClientErrorException e) {
+        SeriesDetailsResponse errorResponse = SeriesDetailsResponse.builder()
+            .success(false)
+            .errorMessage("Erro na comunicação com a API: " + e.getMessage())
+            .build();
+        return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+    }
+
+    private ResponseEntity<SeriesSearchResponse> searchAllErrorResponse(HttpClientErrorException e, String title, int page, long startTime) {
+        SeriesSearchResponse errorResponse = SeriesSearchResponse.builder()
+            .success(false)
+            .errorMessage("Erro na comunicação com a API: " + e.getMessage())
+            .searchTerm(title != null ? title.trim() : "")
+            .currentPage(page)
+            .totalResults(0)
+            .searchTime(System.currentTimeMillis() - startTime)
+            .build();
+        return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+    }
+
+    private ResponseEntity<SeasonDetailsResponse> seasonErrorResponse(HttpClientErrorException e) {
+        SeasonDetailsResponse errorResponse = SeasonDetailsResponse.builder()
+            .success(false)
+            .errorMessage("Erro na comunicação com a API: " + e.getMessage())
+            .build();
+        return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+    }
+
+    private ResponseEntity<EpisodeDetailsResponse> episodeErrorResponse(HttpClientErrorException e) {
+        EpisodeDetailsResponse errorResponse = EpisodeDetailsResponse.builder()
+            .success(false)
+            .errorMessage("Erro na comunicação com a API: " + e.getMessage())
+            .build();
+        return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    // Mesmo contrato dos métodos síncronos: apenas erros 4xx viram resposta, o resto é propagado
+    private static HttpClientErrorException clientError(Throwable ex) {
+        Throwable cause = unwrap(ex);
+        if (cause instanceof HttpClientErrorException clientError) {
+            return clientError;
         }
+        throw cause instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(cause);
     }
 }
@@ -0,0 +1,97 @@
+package com.luarrezende.backend.benchmark;
+
+import com.luarrezende.backend.cache.OmdbKeyGenerator;
+import com.luarrezende.backend.service.MoviesService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Custo de CPU e alocação por chamada para montar a chave de {@code moviesById} e
+ * consultar o cache com ela: a expressão SpEL antiga (já compilada, avaliada num contexto
+ * novo por chamada, como no {@code CacheAspectSupport}) contra o {@link OmdbKeyGenerator}.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=CacheKeyBenchmark
+ */
+@Tag("benchmark")
+class CacheKeyBenchmark {
+
+    private static final int WARMUP_CALLS = 200_000;
+    private static final int MEASURED_CALLS = 1_000_000;
+    private static final int DISTINCT_IDS = 1_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void deveCompararChaveSpelComChaveTipada() throws Exception {
+        Method method = MoviesService.class.getMethod("getMovieDetails", String.class, String.class);
+        Object[][] args = new Object[DISTINCT_IDS][];
+        for (int i = 0; i < DISTINCT_IDS; i++) {
+            args[i] = new Object[] {String.format("TT%07d", i), "short"};
+        }
+
+        ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+        Expression spel = new SpelExpressionParser().parseExpression("#id.toLowerCase().trim() + '_' + #plot");
+        Function<Object[], Object> spelKey = params ->
+            spel.getValue(new MethodBasedEvaluationContext(null, method, params, parameterNames));
+        OmdbKeyGenerator keyGenerator = new OmdbKeyGenerator();
+        Function<Object[], Object> typedKey = params -> keyGenerator.generate(null, method, params);
+
+        List<String> results = new ArrayList<>();
+        results.add(measure("SpEL (chave)", args, spelKey, null));
+        results.add(measure("Tipada (chave)", args, typedKey, null));
+        results.add(measure("SpEL (chave + lookup)", args, spelKey, populate(args, spelKey)));
+        results.add(measure("Tipada (chave + lookup)", args, typedKey, populate(args, typedKey)));
+
+        results.forEach(System.out::println);
+        assertThat(typedKey.apply(args[0])).hasToString((String) spelKey.apply(args[0]));
+    }
+
+    private String measure(String label, Object[][] args, Function<Object[], Object> key, Map<Object, Object> cache) {
+        long hits = 0;
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            hits += call(args[i % args.length], key, cache);
+        }
+        long threadId = Thread.currentThread().getId();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            hits += call(args[i % args.length], key, cache);
+        }
+        long cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedStart;
+        return String.format("%-26s CPU %7.1f ns/chamada | alocado %4d B/chamada | hits %d",
+            label, (double) cpuNanos / MEASURED_CALLS, allocated / MEASURED_CALLS, hits);
+    }
+
+    private static int call(Object[] params, Function<Object[], Object> key, Map<Object, Object> cache) {
+        Object generated = key.apply(params);
+        if (cache == null) {
+            return generated.hashCode() & 1;
+        }
+        return cache.get(generated) != null ? 1 : 0;
+    }
+
+    private static Map<Object, Object> populate(Object[][] args, Function<Object[], Object> key) {
+        Map<Object, Object> cache = new ConcurrentHashMap<>();
+        for (Object[] params : args) {
+            cache.put(key.apply(params), Boolean.TRUE);
+        }
+        return cache;
+    }
+}
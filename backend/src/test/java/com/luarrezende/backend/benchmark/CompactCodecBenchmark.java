@@ -0,0 +1,132 @@
+package com.luarrezende.backend.benchmark;
+
+import com.luarrezende.backend.cache.CompactCodec;
+import com.luarrezende.backend.cache.ObjectSizeEstimator;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import com.luarrezende.backend.dto.MovieSearchResponse;
+import com.luarrezende.backend.dto.MovieSummary;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap por entrada (estimativa usada como peso no cache) e custo por leitura do formato
+ * binário compacto em comparação com o grafo de objetos, com e sem Deflater, medidos com o
+ * {@link ObjectSizeEstimator} e o {@link CompactCodec} do cache.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=CompactCodecBenchmark
+ */
+@Tag("benchmark")
+class CompactCodecBenchmark {
+
+    private static final int WARMUP_READS = 50_000;
+    private static final int MEASURED_READS = 200_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void deveCompararObjetosComFormatoCompacto() {
+        List<String> results = new ArrayList<>();
+        results.addAll(compare("moviesById (plot completo)", ResponseEntity.ok(fullPlotMovie())));
+        results.addAll(compare("movieSearch (10 resultados)", ResponseEntity.ok(searchPage())));
+        results.forEach(System.out::println);
+    }
+
+    private List<String> compare(String label, ResponseEntity<?> response) {
+        List<String> lines = new ArrayList<>();
+        long objectBytes = ObjectSizeEstimator.estimate(response);
+        lines.add(String.format("%-28s objetos          %6d B/entrada | %7d entradas/GB | leitura    0.00 us",
+            label, objectBytes, (1L << 30) / objectBytes));
+        for (boolean deflate : new boolean[] { false, true }) {
+            CompactCodec codec = new CompactCodec(deflate ? 0 : Long.MAX_VALUE);
+            CompactCodec.CompactValue stored = (CompactCodec.CompactValue) codec.encode(response);
+            assertThat(stored.decode()).isEqualTo(response);
+            long storedBytes = ObjectSizeEstimator.estimate(stored);
+            lines.add(String.format("%-28s %-16s %6d B/entrada | %7d entradas/GB | leitura %7.2f us",
+                label, deflate ? "compacto+deflate" : "compacto", storedBytes, (1L << 30) / storedBytes, decodeMicros(stored)));
+        }
+        return lines;
+    }
+
+    private double decodeMicros(CompactCodec.CompactValue stored) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_READS; i++) {
+            sink += stored.decode().hashCode();
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_READS; i++) {
+            sink += stored.decode().getStatusCode().value();
+        }
+        long cpuNanos = threads.getCurrentThreadCpuTime() - start;
+        assertThat(sink).isNotZero();
+        return cpuNanos / 1_000.0 / MEASURED_READS;
+    }
+
+    private static MovieDetailsResponse fullPlotMovie() {
+        return MovieDetailsResponse.builder()
+            .success(true)
+            .id("tt0133093")
+            .title("The Matrix")
+            .year("1999")
+            .genre("Action, Sci-Fi")
+            .director("Lana Wachowski, Lilly Wachowski")
+            .writer("Lilly Wachowski, Lana Wachowski")
+            .actors("Keanu Reeves, Laurence Fishburne, Carrie-Anne Moss")
+            .plot("Thomas A. Anderson is a man living two lives. By day he is an average computer programmer "
+                + "and by night a hacker known as Neo. Neo has always questioned his reality, but the truth "
+                + "is far beyond his imagination. Neo finds himself targeted by the police when he is "
+                + "contacted by Morpheus, a legendary computer hacker branded a terrorist by the government. "
+                + "As a rebel against the machines, Neo must confront the agents: super-powerful computer "
+                + "programs devoted to stopping Neo and the entire human rebellion.")
+            .rated("R")
+            .runtime("136 min")
+            .language("English")
+            .country("United States, Australia")
+            .awards("Won 4 Oscars. 42 wins & 52 nominations total")
+            .poster("https://m.media-amazon.com/images/M/MV5BNzQzOTk3OTAtNDQ0Zi00ZTVkLWI0MTEtMDllZjNkYzNjNTc4L2ltYWdlXkEyXkFqcGdeQXVyNjU0OTQ0OTY@._V1_SX300.jpg")
+            .imdbRating("8.7")
+            .imdbVotes("2,089,467")
+            .metascore("73")
+            .released("31 Mar 1999")
+            .dvd("15 May 2007")
+            .boxOffice("$172,076,928")
+            .type("movie")
+            .ratings(List.of(
+                new MovieDetailsResponse.Rating("Internet Movie Database", "8.7/10"),
+                new MovieDetailsResponse.Rating("Rotten Tomatoes", "83%"),
+                new MovieDetailsResponse.Rating("Metacritic", "73/100")))
+            .build();
+    }
+
+    private static MovieSearchResponse searchPage() {
+        List<MovieSummary> movies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            movies.add(MovieSummary.builder()
+                .id("tt01330" + (10 + i))
+                .title("The Matrix " + i)
+                .year(Integer.toString(1999 + i))
+                .type("movie")
+                .poster("https://m.media-amazon.com/images/M/MV5BNzQzOTk3OTAtNDQ0Zi00ZTVkLWI0MTEtMDllZjNkYzNjNTc4L2ltYWdl" + i + ".jpg")
+                .build());
+        }
+        return MovieSearchResponse.builder()
+            .success(true)
+            .movies(movies)
+            .totalResults(125)
+            .currentPage(1)
+            .totalPages(13)
+            .hasNextPage(true)
+            .searchTerm("matrix")
+            .searchType("movie")
+            .itemsPerPage(10)
+            .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.luarrezende.backend.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Coleta latências (em nanossegundos) de forma thread-safe e calcula percentis.
+ */
+public class LatencyRecorder {
+
+    private final AtomicLongArray samples;
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+
+    public LatencyRecorder(int capacity) {
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    public void record(long nanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length()) {
+            samples.set(index, nanos);
+        }
+    }
+
+    public void recordError() {
+        errors.incrementAndGet();
+    }
+
+    public int getErrors() {
+        return errors.get();
+    }
+
+    public int size() {
+        return Math.min(count.get(), samples.length());
+    }
+
+    public long sample(int index) {
+        return samples.get(index);
+    }
+
+    public double percentileMillis(double percentile) {
+        int size = size();
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return sorted[Math.max(0, Math.min(index, size - 1))] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public String summary(String label, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return String.format("%-28s n=%d erros=%d throughput=%.0f req/s p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                label, size(), getErrors(), size() / seconds,
+                percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(100));
+    }
+}
@@ -0,0 +1,100 @@
+package com.luarrezende.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luarrezende.backend.client.OmdbClient;
+import com.luarrezende.backend.config.OmdbClientConfig;
+import com.luarrezende.backend.config.OmdbHttpClientProperties;
+import com.luarrezende.backend.config.RestTemplateConfig;
+import com.luarrezende.backend.mapper.ErrorResponseMapper;
+import com.luarrezende.backend.mapper.MovieMapper;
+import com.luarrezende.backend.service.MoviesService;
+import com.luarrezende.backend.stub.OmdbStubServer;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o RestTemplate padrão (SimpleClientHttpRequestFactory) com o RestTemplate
+ * sobre o {@link OmdbClient} (pool de conexões compartilhado) em chamadas frias de
+ * {@link MoviesService#searchMovie}.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=OmdbHttpClientBenchmark
+ */
+@Tag("benchmark")
+class OmdbHttpClientBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int WARMUP_CALLS = 500;
+    private static final int MEASURED_CALLS = 5_000;
+    private static final Duration STUB_LATENCY = Duration.ofMillis(5);
+
+    @Test
+    void deveCompararLatenciaDoClienteSimplesComClienteComPool() throws Exception {
+        try (OmdbStubServer stub = new OmdbStubServer()) {
+            stub.setLatency(STUB_LATENCY);
+
+            RestTemplate simple = new RestTemplate();
+            LatencyRecorder simpleResult = run("SimpleClientHttpRequestFactory", simple, stub);
+
+            OmdbHttpClientProperties properties = new OmdbHttpClientProperties();
+            try (OmdbClient omdbClient = new OmdbClient(OmdbClientConfig.createHttpClient(properties),
+                    new ObjectMapper(), OmdbClientConfig.createCallbackExecutor(properties))) {
+                RestTemplate pooled = new RestTemplateConfig().restTemplate(omdbClient);
+                LatencyRecorder pooledResult = run("Pool HttpClient 5 (async)", pooled, stub);
+
+                assertThat(simpleResult.getErrors()).isZero();
+                assertThat(pooledResult.getErrors()).isZero();
+            }
+        }
+    }
+
+    private LatencyRecorder run(String label, RestTemplate restTemplate, OmdbStubServer stub) throws InterruptedException {
+        MoviesService service = new MoviesService(restTemplate, null, new MovieMapper(), new ErrorResponseMapper());
+        ReflectionTestUtils.setField(service, "baseUrl", stub.getBaseUrl());
+
+        execute(service, WARMUP_CALLS, new LatencyRecorder(WARMUP_CALLS), "warmup");
+
+        LatencyRecorder recorder = new LatencyRecorder(MEASURED_CALLS);
+        long start = System.nanoTime();
+        execute(service, MEASURED_CALLS, recorder, "cold");
+        System.out.println(recorder.summary(label, System.nanoTime() - start));
+        return recorder;
+    }
+
+    private void execute(MoviesService service, int calls, LatencyRecorder recorder, String prefix) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(calls);
+        AtomicInteger sequence = new AtomicInteger();
+        for (int i = 0; i < calls; i++) {
+            executor.execute(() -> {
+                // Títulos sempre distintos: cada chamada é um cache miss
+                String title = prefix + "-title-" + sequence.incrementAndGet();
+                long start = System.nanoTime();
+                try {
+                    if (service.searchMovie(title).getStatusCode().is2xxSuccessful()) {
+                        recorder.record(System.nanoTime() - start);
+                    } else {
+                        recorder.recordError();
+                    }
+                } catch (RuntimeException e) {
+                    recorder.recordError();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(5, TimeUnit.MINUTES);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,177 @@
+package com.luarrezende.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luarrezende.backend.cache.PreSerializedBodies;
+import com.luarrezende.backend.cache.PreSerializedBodyConverter;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Custo de CPU e alocação por requisição do caminho de cache hit em {@code moviesById}
+ * (plot completo): serializar o corpo com o Jackson a cada resposta, com e sem gzip, contra
+ * escrever os bytes pré-serializados por {@link PreSerializedBodyConverter}. Mede só a
+ * escrita do corpo, que é o que muda entre as opções.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=PreSerializedBodyBenchmark
+ */
+@Tag("benchmark")
+class PreSerializedBodyBenchmark {
+
+    private static final int WARMUP_WRITES = 50_000;
+    private static final int MEASURED_WRITES = 200_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void deveCompararJacksonPorRequisicaoComJsonPreSerializado() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        MovieDetailsResponse body = movie();
+        PreSerializedBodies bodies = new PreSerializedBodies(objectMapper, true, 512, 64L * 1024 * 1024);
+        bodies.render(body);
+        PreSerializedBodyConverter preSerialized = new PreSerializedBodyConverter(bodies, objectMapper, new SimpleMeterRegistry());
+        MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+
+        List<String> results = new ArrayList<>();
+        results.add(measure("Jackson a cada hit", () -> write(jackson, body)));
+        results.add(measure("Jackson + gzip a cada hit", () -> writeGzip(jackson, body)));
+        results.add(measure("Pre-serializado (json)", () -> write(preSerialized, body)));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        results.add(measure("Pre-serializado (gzip)", () -> write(preSerialized, body)));
+
+        results.forEach(System.out::println);
+        assertThat(bodies.get(body)).isNotNull();
+    }
+
+    private String measure(String label, Write write) throws IOException {
+        for (int i = 0; i < WARMUP_WRITES; i++) {
+            write.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = threads.getThreadAllocatedBytes(threadId);
+        long bytes = 0;
+        for (int i = 0; i < MEASURED_WRITES; i++) {
+            bytes += write.run();
+        }
+        long cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedStart;
+        return String.format("%-28s CPU %6.2f us/req | alocado %7d B/req | corpo %5d B",
+            label, cpuNanos / 1_000.0 / MEASURED_WRITES, allocated / MEASURED_WRITES, bytes / MEASURED_WRITES);
+    }
+
+    private static long write(HttpMessageConverter<Object> converter, Object body) throws IOException {
+        CountingOutputMessage output = new CountingOutputMessage();
+        converter.write(body, MediaType.APPLICATION_JSON, output);
+        return output.count;
+    }
+
+    // Equivalente à compressão do Tomcat: gzip do JSON recém-serializado em toda resposta
+    private static long writeGzip(HttpMessageConverter<Object> converter, Object body) throws IOException {
+        CountingOutputMessage output = new CountingOutputMessage();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output.getBody())) {
+            MockHttpOutputMessage json = new MockHttpOutputMessage();
+            converter.write(body, MediaType.APPLICATION_JSON, json);
+            gzip.write(json.getBodyAsBytes());
+        }
+        return output.count;
+    }
+
+    private static MovieDetailsResponse movie() {
+        return MovieDetailsResponse.builder()
+            .success(true)
+            .id("tt0133093")
+            .title("The Matrix")
+            .year("1999")
+            .genre("Action, Sci-Fi")
+            .director("Lana Wachowski, Lilly Wachowski")
+            .writer("Lilly Wachowski, Lana Wachowski")
+            .actors("Keanu Reeves, Laurence Fishburne, Carrie-Anne Moss")
+            .plot("Thomas A. Anderson is a man living two lives. By day he is an average computer programmer "
+                + "and by night a hacker known as Neo. Neo has always questioned his reality, but the truth "
+                + "is far beyond his imagination. Neo finds himself targeted by the police when he is "
+                + "contacted by Morpheus, a legendary computer hacker branded a terrorist by the government. "
+                + "As a rebel against the machines, Neo must confront the agents: super-powerful computer "
+                + "programs devoted to stopping Neo and the entire human rebellion.")
+            .rated("R")
+            .runtime("136 min")
+            .language("English")
+            .country("United States, Australia")
+            .awards("Won 4 Oscars. 42 wins & 52 nominations total")
+            .poster("https://m.media-amazon.com/images/M/MV5BNzQzOTk3OTAtNDQ0Zi00ZTVkLWI0MTEtMDllZjNkYzNjNTc4L2ltYWdlXkEyXkFqcGdeQXVyNjU0OTQ0OTY@._V1_SX300.jpg")
+            .imdbRating("8.7")
+            .imdbVotes("2,089,467")
+            .metascore("73")
+            .released("31 Mar 1999")
+            .dvd("15 May 2007")
+            .boxOffice("$172,076,928")
+            .type("movie")
+            .ratings(List.of(
+                new MovieDetailsResponse.Rating("Internet Movie Database", "8.7/10"),
+                new MovieDetailsResponse.Rating("Rotten Tomatoes", "83%"),
+                new MovieDetailsResponse.Rating("Metacritic", "73/100")))
+            .build();
+    }
+
+    @FunctionalInterface
+    private interface Write {
+        long run() throws IOException;
+    }
+
+    // Descarta o corpo contando os bytes, para não medir a cópia de um buffer de teste
+    private static class CountingOutputMessage implements org.springframework.http.HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private long count;
+        private final OutputStream body = new OutputStream() {
+            @Override
+            public void write(int b) {
+                count++;
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                count += length;
+            }
+        };
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.luarrezende.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luarrezende.backend.client.OmdbClient;
+import com.luarrezende.backend.config.OmdbClientConfig;
+import com.luarrezende.backend.config.OmdbHttpClientProperties;
+import com.luarrezende.backend.config.RestTemplateConfig;
+import com.luarrezende.backend.mapper.ErrorResponseMapper;
+import com.luarrezende.backend.mapper.MovieMapper;
+import com.luarrezende.backend.service.MoviesService;
+import com.luarrezende.backend.stub.OmdbStubServer;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara threads de plataforma (pool do tamanho padrão do Tomcat) com uma thread
+ * virtual por requisição em 2.000 chamadas frias e simultâneas de
+ * {@link MoviesService#searchMovie}. A latência é medida desde a submissão, então o
+ * tempo de fila no pool de plataforma entra na conta.
+ *
+ * Executar com JDK 21+: mvn test -Pbenchmark,virtual-threads -Dtest=VirtualThreadsBenchmark
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21, disabledReason = "Threads virtuais exigem JDK 21+")
+class VirtualThreadsBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 2_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final Duration STUB_LATENCY = Duration.ofMillis(100);
+
+    @Test
+    void deveCompararThreadsDePlataformaComThreadsVirtuais() throws Exception {
+        try (OmdbStubServer stub = new OmdbStubServer()) {
+            stub.setLatency(STUB_LATENCY);
+
+            OmdbHttpClientProperties properties = new OmdbHttpClientProperties();
+            // O pool de conexões não pode ser o gargalo: a comparação é entre modelos de thread
+            properties.setMaxConnections(CONCURRENT_REQUESTS);
+            properties.setMaxConnectionsPerRoute(CONCURRENT_REQUESTS);
+            properties.setConnectionRequestTimeout(Duration.ofSeconds(30));
+
+            try (OmdbClient omdbClient = new OmdbClient(OmdbClientConfig.createHttpClient(properties),
+                    new ObjectMapper(), OmdbClientConfig.createVirtualCallbackExecutor())) {
+                RestTemplate restTemplate = new RestTemplateConfig().restTemplate(omdbClient);
+                MoviesService service = new MoviesService(restTemplate, omdbClient, new MovieMapper(), new ErrorResponseMapper());
+                ReflectionTestUtils.setField(service, "baseUrl", stub.getBaseUrl());
+
+                ExecutorService platform = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+                try {
+                    run(service, platform, "warmup", new LatencyRecorder(CONCURRENT_REQUESTS));
+                    LatencyRecorder platformResult = run(service, platform, "Plataforma (" + TOMCAT_MAX_THREADS + " threads)");
+                    LatencyRecorder virtualResult = run(service, new VirtualThreadTaskExecutor("bench-"), "Threads virtuais");
+
+                    assertThat(platformResult.getErrors()).isZero();
+                    assertThat(virtualResult.getErrors()).isZero();
+                } finally {
+                    platform.shutdownNow();
+                }
+            }
+        }
+    }
+
+    private LatencyRecorder run(MoviesService service, Executor executor, String label) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder(CONCURRENT_REQUESTS);
+        long start = System.nanoTime();
+        run(service, executor, label, recorder);
+        System.out.println(recorder.summary(label, System.nanoTime() - start));
+        return recorder;
+    }
+
+    private void run(MoviesService service, Executor executor, String prefix, LatencyRecorder recorder) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CONCURRENT_REQUESTS);
+        AtomicInteger sequence = new AtomicInteger();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                // Títulos sempre distintos: cada chamada é um cache miss
+                String title = prefix + "-title-" + sequence.incrementAndGet();
+                try {
+                    if (service.searchMovie(title).getStatusCode().is2xxSuccessful()) {
+                        recorder.record(System.nanoTime() - submitted);
+                    } else {
+                        recorder.recordError();
+                    }
+                } catch (RuntimeException e) {
+                    recorder.recordError();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(5, TimeUnit.MINUTES);
+    }
+}
@@ -0,0 +1,136 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.config.OmdbCacheProperties;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheSnapshotterTest {
+
+    private static final Instant SAVED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void deveRestaurarEntradasComOTtlQueRestava() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Teste", "1");
+        ResponseEntity<MovieDetailsResponse> matrix = new ResponseEntity<>(movie("tt0133093"), headers, HttpStatus.OK);
+        OmdbCacheManager before = cacheManager(SAVED_AT);
+        before.getCache("moviesById").put(OmdbCacheKey.details("tt0133093", "short"), matrix);
+        before.getCache("movieSearch").put("matrix_page_1", ResponseEntity.ok(movie("tt0234215")));
+        assertThat(snapshotter(before, SAVED_AT).save()).isEqualTo(2);
+
+        Instant restart = SAVED_AT.plus(Duration.ofMinutes(20));
+        OmdbCacheManager after = cacheManager(restart);
+        int restored = snapshotter(after, restart).load();
+
+        OmdbCache byId = (OmdbCache) after.getCache("moviesById");
+        assertThat(restored).isEqualTo(2);
+        assertThat(byId.get(OmdbCacheKey.details("tt0133093", "short"), ResponseEntity.class)).isEqualTo(matrix);
+        assertThat(byId.getNativeCache().getIfPresent(OmdbCacheKey.details("tt0133093", "short")).freshUntil())
+            .isEqualTo(SAVED_AT.plus(Duration.ofHours(1)).toEpochMilli());
+        assertThat(after.getCache("movieSearch").get("matrix_page_1")).isNotNull();
+    }
+
+    @Test
+    void naoDeveRestaurarEntradasForaDaRetencao() throws Exception {
+        OmdbCacheManager before = cacheManager(SAVED_AT);
+        before.getCache("moviesById").put("tt0133093_short", ResponseEntity.ok(movie("tt0133093")));
+        snapshotter(before, SAVED_AT).save();
+
+        Instant restart = SAVED_AT.plus(Duration.ofHours(3));
+        OmdbCacheManager after = cacheManager(restart);
+
+        assertThat(snapshotter(after, restart).load()).isZero();
+        assertThat(after.getCache("moviesById").get("tt0133093_short")).isNull();
+    }
+
+    @Test
+    void naoDeveSubstituirEntradaGravadaDepoisDoStart() throws Exception {
+        OmdbCacheManager before = cacheManager(SAVED_AT);
+        before.getCache("moviesById").put("tt0133093_short", ResponseEntity.ok(movie("tt0133093")));
+        snapshotter(before, SAVED_AT).save();
+
+        OmdbCacheManager after = cacheManager(SAVED_AT);
+        MovieDetailsResponse current = movie("tt0133093");
+        current.setTitle("The Matrix (atualizado)");
+        after.getCache("moviesById").put("tt0133093_short", ResponseEntity.ok(current));
+
+        assertThat(snapshotter(after, SAVED_AT).load()).isZero();
+        ResponseEntity<?> cached = after.getCache("moviesById").get("tt0133093_short", ResponseEntity.class);
+        assertThat(((MovieDetailsResponse) cached.getBody()).getTitle()).isEqualTo("The Matrix (atualizado)");
+    }
+
+    @Test
+    void naoDeveLiberarGravacaoQuandoACargaEInterrompida() throws Exception {
+        OmdbCacheManager before = cacheManager(SAVED_AT);
+        before.getCache("moviesById").put("tt0133093_short", ResponseEntity.ok(movie("tt0133093")));
+        snapshotter(before, SAVED_AT).save();
+        CacheSnapshotter interrupted = snapshotter(cacheManager(SAVED_AT), SAVED_AT);
+        CacheSnapshotter completed = snapshotter(cacheManager(SAVED_AT), SAVED_AT);
+
+        // Interrupção do stop() no meio da carga: os caches estão parciais
+        Thread loader = new Thread(() -> {
+            Thread.currentThread().interrupt();
+            interrupted.warmUp();
+        });
+        loader.start();
+        loader.join();
+        completed.warmUp();
+
+        assertThat(interrupted.isLoaded()).isFalse();
+        assertThat(completed.isLoaded()).isTrue();
+    }
+
+    @Test
+    void deveIgnorarArquivoQueNaoEhSnapshot() throws Exception {
+        Files.writeString(dir.resolve("omdb-cache.snapshot"), "lixo qualquer");
+
+        assertThat(snapshotter(cacheManager(SAVED_AT), SAVED_AT).load()).isZero();
+    }
+
+    private CacheSnapshotter snapshotter(OmdbCacheManager cacheManager, Instant now) {
+        OmdbCacheProperties properties = properties();
+        properties.getSnapshot().setPath(dir.resolve("omdb-cache.snapshot").toString());
+        return new CacheSnapshotter(cacheManager, properties, Clock.fixed(now, ZoneId.of("UTC")), new SimpleMeterRegistry());
+    }
+
+    private static OmdbCacheManager cacheManager(Instant now) {
+        OmdbCacheManager cacheManager = new OmdbCacheManager(properties(), Clock.fixed(now, ZoneId.of("UTC")),
+            new SimpleMeterRegistry(), "moviesById", "movieSearch");
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+
+    private static OmdbCacheProperties properties() {
+        OmdbCacheProperties properties = new OmdbCacheProperties();
+        properties.setTtl(Duration.ofHours(1));
+        properties.setStaleRetention(Duration.ofHours(1));
+        return properties;
+    }
+
+    private static MovieDetailsResponse movie(String id) {
+        return MovieDetailsResponse.builder()
+            .success(true)
+            .id(id)
+            .title("The Matrix")
+            .plot("Thomas Anderson leva uma vida dupla.")
+            .type("movie")
+            .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import com.luarrezende.backend.dto.MovieSearchResponse;
+import com.luarrezende.backend.dto.MovieSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactCodecTest {
+
+    private final CompactCodec codec = new CompactCodec(256);
+
+    @Test
+    void deveRecuperarDetalhesIdenticosAposCodificar() {
+        ResponseEntity<MovieDetailsResponse> original = ResponseEntity.ok(movie("Um hacker descobre a verdade."));
+
+        Object stored = codec.encode(original);
+
+        assertThat(stored).isInstanceOf(CompactCodec.CompactValue.class);
+        assertThat(((CompactCodec.CompactValue) stored).decode()).isEqualTo(original);
+    }
+
+    @Test
+    void deveComprimirEntradasGrandes() {
+        ResponseEntity<MovieDetailsResponse> original = ResponseEntity.ok(movie("Neo descobre a verdade sobre a Matrix. ".repeat(40)));
+
+        CompactCodec.CompactValue stored = (CompactCodec.CompactValue) codec.encode(original);
+
+        assertThat(stored.storedBytes()).isLessThan(400);
+        assertThat(stored.decode()).isEqualTo(original);
+        assertThat(ObjectSizeEstimator.estimate(stored)).isLessThan(ObjectSizeEstimator.estimate(original) / 3);
+    }
+
+    @Test
+    void deveRecuperarBuscaComListasEFiltrosAninhados() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Teste", "1");
+        MovieSearchResponse body = MovieSearchResponse.builder()
+            .success(true)
+            .movies(List.of(
+                MovieSummary.builder().id("tt0133093").title("The Matrix").year("1999").build(),
+                MovieSummary.builder().id("tt0234215").title("The Matrix Reloaded").year("2003").build()))
+            .totalResults(-2)
+            .searchTime(1_234_567_890_123L)
+            .suggestions(List.of("matrix", "matriz"))
+            .appliedFilters(MovieSearchResponse.SearchFilters.builder().year("1999").build())
+            .build();
+        ResponseEntity<MovieSearchResponse> original = new ResponseEntity<>(body, headers, HttpStatus.PARTIAL_CONTENT);
+
+        ResponseEntity<?> decoded = ((CompactCodec.CompactValue) codec.encode(original)).decode();
+
+        assertThat(decoded).isEqualTo(original);
+        assertThat(decoded.getBody()).isNotSameAs(body);
+    }
+
+    @Test
+    void naoDeveCodificarValoresNaoSuportados() {
+        ResponseEntity<String> text = ResponseEntity.ok("texto");
+        ResponseEntity<Void> empty = ResponseEntity.noContent().build();
+
+        assertThat(codec.encode(text)).isSameAs(text);
+        assertThat(codec.encode(empty)).isSameAs(empty);
+        assertThat(codec.encode("valor")).isEqualTo("valor");
+    }
+
+    private static MovieDetailsResponse movie(String plot) {
+        return MovieDetailsResponse.builder()
+            .success(true)
+            .id("tt0133093")
+            .title("The Matrix")
+            .plot(plot)
+            .actors("Keanu Reeves, Laurence Fishburne, Carrie-Anne Moss")
+            .director("Lana Wachowski, Lilly Wachowski")
+            .ratings(List.of(new MovieDetailsResponse.Rating("Internet Movie Database", "8.7/10")))
+            .build();
+    }
+}
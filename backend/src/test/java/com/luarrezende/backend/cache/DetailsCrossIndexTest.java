@@ -0,0 +1,54 @@
+package com.luarrezende.backend.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DetailsCrossIndexTest {
+
+    private CacheManager cacheManager;
+    private MeterRegistry meterRegistry;
+    private DetailsCrossIndex crossIndex;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("moviesByTitle", "moviesById");
+        meterRegistry = new SimpleMeterRegistry();
+        crossIndex = new DetailsCrossIndex(cacheManager, meterRegistry);
+    }
+
+    @Test
+    void deveIndexarRespostaDaBuscaPorTituloNoCacheDeDetalhes() {
+        ResponseEntity<String> response = ResponseEntity.ok("The Matrix");
+
+        crossIndex.indexTitleResult("moviesById", "TT0133093", response);
+
+        assertThat(cacheManager.getCache("moviesById").get(OmdbCacheKey.details("tt0133093", "short")).get()).isSameAs(response);
+        assertThat(cacheManager.getCache("moviesByTitle").get(OmdbCacheKey.title("the matrix"))).isNull();
+        assertThat(meterRegistry.counter("omdb.cache.crossindex", "cache", "moviesById").count()).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveSobrescreverEntradaExistente() {
+        ResponseEntity<String> original = ResponseEntity.ok("original");
+        cacheManager.getCache("moviesById").put(OmdbCacheKey.details("tt0133093", "short"), original);
+
+        crossIndex.indexTitleResult("moviesById", "tt0133093", ResponseEntity.ok("outra"));
+
+        assertThat(cacheManager.getCache("moviesById").get(OmdbCacheKey.details("tt0133093", "short")).get()).isSameAs(original);
+        assertThat(meterRegistry.counter("omdb.cache.crossindex", "cache", "moviesById").count()).isZero();
+    }
+
+    @Test
+    void deveIgnorarRespostaSemId() {
+        crossIndex.indexTitleResult("moviesById", " ", ResponseEntity.ok("The Matrix"));
+
+        assertThat(meterRegistry.counter("omdb.cache.crossindex", "cache", "moviesById").count()).isZero();
+    }
+}
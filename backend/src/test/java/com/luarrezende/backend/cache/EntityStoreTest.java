@@ -0,0 +1,184 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import com.luarrezende.backend.dto.SeriesDetailsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityStoreTest {
+
+    private EntityStore store;
+    private long writtenAt;
+
+    @BeforeEach
+    void setUp() {
+        store = new EntityStore(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void deveCompartilharUmRegistroEntrePlotCurtoECompleto() {
+        Object shortPlot = intern(movie("Um hacker descobre a verdade.", "8.7"));
+        Object fullPlot = intern(movie("Thomas Anderson leva uma vida dupla...", "8.7"));
+
+        MovieDetailsResponse curto = body(store.resolve(shortPlot));
+        MovieDetailsResponse completo = body(store.resolve(fullPlot));
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(curto.getPlot()).isEqualTo("Um hacker descobre a verdade.");
+        assertThat(completo.getPlot()).isEqualTo("Thomas Anderson leva uma vida dupla...");
+        assertThat(completo.getTitle()).isSameAs(curto.getTitle());
+        assertThat(completo.getRatings()).isSameAs(curto.getRatings());
+    }
+
+    @Test
+    void deveRefletirAtualizacaoEmTodasAsReferencias() {
+        Object byTitle = intern(movie("Plot curto", "8.7"));
+        assertThat(body(store.resolve(byTitle)).getImdbRating()).isEqualTo("8.7");
+
+        intern(movie("Plot completo", "8.8"));
+
+        MovieDetailsResponse refreshed = body(store.resolve(byTitle));
+        assertThat(refreshed.getImdbRating()).isEqualTo("8.8");
+        assertThat(refreshed.getPlot()).isEqualTo("Plot curto");
+    }
+
+    @Test
+    void naoDeveVoltarRegistroParaRespostaMaisAntiga() {
+        Object byId = store.intern(movie("Plot curto", "8.8"), 2_000);
+
+        // Entrada de outra chave gravada antes e promovida do L2 depois
+        Object promoted = store.intern(movie("Plot completo", "8.7"), 1_000);
+
+        assertThat(body(store.resolve(byId)).getImdbRating()).isEqualTo("8.8");
+        assertThat(body(store.resolve(promoted)).getImdbRating()).isEqualTo("8.8");
+        assertThat(body(store.resolve(promoted)).getPlot()).isEqualTo("Plot completo");
+    }
+
+    @Test
+    void deveReutilizarCorpoMontadoEnquantoORegistroNaoMuda() {
+        Object stored = intern(movie("Plot curto", "8.7"));
+
+        assertThat(body(store.resolve(stored))).isSameAs(body(store.resolve(stored)));
+    }
+
+    @Test
+    void deveCompartilharCorpoMontadoEntreReferenciasComOMesmoPlot() {
+        Object byTitle = intern(movie("Plot curto", "8.7"));
+        Object byId = intern(movie("Plot curto", "8.7"));
+
+        assertThat(body(store.resolve(byTitle))).isSameAs(body(store.resolve(byId)));
+    }
+
+    @Test
+    void naoDeveGuardarCopiaDoCorpoNaReferencia() {
+        intern(movie("Plot curto", "8.7"));
+        Object stored = intern(movie("Plot curto", "8.7"));
+        long before = ObjectSizeEstimator.estimate(stored);
+
+        store.resolve(stored);
+
+        assertThat(ObjectSizeEstimator.estimate(stored)).isEqualTo(before);
+    }
+
+    @Test
+    void deveCobrarORegistroSoDaReferenciaQueOPublicou() {
+        ResponseEntity<MovieDetailsResponse> response = movie("Plot curto", "8.7");
+        Object owner = intern(response);
+        Object other = intern(movie("Plot curto", "8.7"));
+
+        assertThat(ObjectSizeEstimator.estimate(owner))
+            .isGreaterThanOrEqualTo(ObjectSizeEstimator.estimate(response.getBody()));
+        assertThat(ObjectSizeEstimator.estimate(other)).isLessThan(ObjectSizeEstimator.estimate(owner));
+
+        // Resposta nova publica outro canônico: a cobrança passa para a nova referência
+        Object updated = intern(movie("Plot curto", "8.8"));
+        assertThat(ObjectSizeEstimator.estimate(owner)).isLessThan(ObjectSizeEstimator.estimate(updated));
+    }
+
+    @Test
+    void deveLimitarOsCorposMontadosPorRegistro() {
+        Object first = intern(movie("Plot 0", "8.7"));
+        for (int i = 1; i <= EntityStore.MAX_BODIES + 2; i++) {
+            store.resolve(intern(movie("Plot " + i, "8.7")));
+        }
+        long bounded = ObjectSizeEstimator.estimate(first);
+
+        store.resolve(intern(movie("Plot extra", "8.7")));
+
+        assertThat(ObjectSizeEstimator.estimate(first)).isEqualTo(bounded);
+    }
+
+    @Test
+    void deveMontarSerieAPartirDeRegistroDeFilme() {
+        intern(movie("Plot curto", "8.7"));
+        Object series = intern(ResponseEntity.ok(SeriesDetailsResponse.builder()
+            .success(true)
+            .id("tt0133093")
+            .title("The Matrix")
+            .imdbRating("8.7")
+            .type("series")
+            .ratings(List.of(new SeriesDetailsResponse.Rating("Internet Movie Database", "8.7/10")))
+            .build()));
+
+        Object resolved = ((ResponseEntity<?>) store.resolve(series)).getBody();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(resolved).isInstanceOf(SeriesDetailsResponse.class);
+        SeriesDetailsResponse body = (SeriesDetailsResponse) resolved;
+        assertThat(body.getTitle()).isEqualTo("The Matrix");
+        assertThat(body.getRatings()).extracting(SeriesDetailsResponse.Rating::getValue).containsExactly("8.7/10");
+    }
+
+    @Test
+    void deveManterStatusEHeadersDaResposta() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Teste", "1");
+        ResponseEntity<MovieDetailsResponse> response = new ResponseEntity<>(movie("Plot", "8.7").getBody(), headers, HttpStatus.OK);
+
+        ResponseEntity<?> resolved = (ResponseEntity<?>) store.resolve(intern(response));
+
+        assertThat(resolved).isEqualTo(response);
+        assertThat(resolved.getHeaders().getFirst("X-Teste")).isEqualTo("1");
+    }
+
+    @Test
+    void naoDeveNormalizarRespostasSemIdOuSemSucesso() {
+        ResponseEntity<MovieDetailsResponse> notFound = ResponseEntity.ok(MovieDetailsResponse.builder()
+            .success(false)
+            .errorMessage("Filme não encontrado")
+            .build());
+        ResponseEntity<String> other = ResponseEntity.ok("busca");
+
+        assertThat(intern(notFound)).isSameAs(notFound);
+        assertThat(intern(other)).isSameAs(other);
+        assertThat(store.size()).isZero();
+    }
+
+    private Object intern(Object value) {
+        return store.intern(value, ++writtenAt);
+    }
+
+    private static MovieDetailsResponse body(Object resolved) {
+        return (MovieDetailsResponse) ((ResponseEntity<?>) resolved).getBody();
+    }
+
+    private static ResponseEntity<MovieDetailsResponse> movie(String plot, String rating) {
+        return ResponseEntity.ok(MovieDetailsResponse.builder()
+            .success(true)
+            .id("tt0133093")
+            .title("The Matrix")
+            .plot(plot)
+            .imdbRating(rating)
+            .type("movie")
+            .ratings(List.of(new MovieDetailsResponse.Rating("Internet Movie Database", rating + "/10")))
+            .build());
+    }
+}
@@ -0,0 +1,113 @@
+package com.luarrezende.backend.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegativeCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private MutableClock clock;
+    private MeterRegistry meterRegistry;
+    private NegativeCache negativeCache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        negativeCache = new NegativeCache("moviesByTitle", TTL, 1_000, 0.01, clock, meterRegistry);
+    }
+
+    @Test
+    void deveResponderChaveAusenteConhecida() {
+        negativeCache.put("filme inexistente", "nao encontrado");
+
+        assertThat(negativeCache.get("filme inexistente")).isEqualTo("nao encontrado");
+        assertThat(negativeCache.get("the matrix")).isNull();
+        assertThat(meterRegistry.counter("omdb.cache.negative", "cache", "moviesByTitle", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    void deveExpirarEntradaAposTtl() {
+        negativeCache.put("filme inexistente", "nao encontrado");
+        clock.advance(TTL.minusSeconds(1));
+        assertThat(negativeCache.get("filme inexistente")).isNotNull();
+
+        clock.advance(Duration.ofSeconds(2));
+
+        assertThat(negativeCache.get("filme inexistente")).isNull();
+    }
+
+    @Test
+    void deveManterChaveNoFiltroEnquantoPodeEstarArmazenada() {
+        clock.advance(TTL.minusSeconds(5));
+        negativeCache.put("filme inexistente", "nao encontrado");
+
+        // A rotação acontece logo depois da escrita; a chave segue na geração anterior
+        clock.advance(Duration.ofSeconds(10));
+
+        assertThat(negativeCache.get("filme inexistente")).isEqualTo("nao encontrado");
+    }
+
+    @Test
+    void deveLimparEntradasEFiltro() {
+        negativeCache.put("filme inexistente", "nao encontrado");
+
+        negativeCache.clear();
+
+        assertThat(negativeCache.get("filme inexistente")).isNull();
+        assertThat(negativeCache.size()).isZero();
+    }
+
+    @Test
+    void filtroDeBloomNaoDeveTerFalsoNegativoEDeveRespeitarTaxaDeFalsoPositivo() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("ausente-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("ausente-" + i)).isTrue();
+            if (filter.mightContain("presente-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(300);
+        assertThat(filter.getHashFunctions()).isBetween(5, 9);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
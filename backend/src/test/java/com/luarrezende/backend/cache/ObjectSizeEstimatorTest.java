@@ -0,0 +1,53 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import com.luarrezende.backend.dto.SeasonDetailsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ObjectSizeEstimatorTest {
+
+    @Test
+    void deveEstimarStringsPeloTamanhoDoConteudo() {
+        long small = ObjectSizeEstimator.estimate("a");
+        long large = ObjectSizeEstimator.estimate("a".repeat(10_000));
+
+        assertThat(large - small).isBetween(9_990L, 10_010L);
+        assertThat(ObjectSizeEstimator.estimate("ã".repeat(1_000))).isLessThan(ObjectSizeEstimator.estimate("世".repeat(1_000)));
+        assertThat(ObjectSizeEstimator.estimate(null)).isZero();
+    }
+
+    @Test
+    void deveRefletirOPlotCompletoNoTamanhoDaResposta() {
+        MovieDetailsResponse shortPlot = new MovieDetailsResponse();
+        shortPlot.setTitle("The Matrix");
+        shortPlot.setPlot("Um hacker descobre a verdade.");
+        MovieDetailsResponse fullPlot = new MovieDetailsResponse();
+        fullPlot.setTitle("The Matrix");
+        fullPlot.setPlot("Um hacker descobre a verdade. ".repeat(200));
+
+        long shortSize = ObjectSizeEstimator.estimate(ResponseEntity.ok(shortPlot));
+        long fullSize = ObjectSizeEstimator.estimate(ResponseEntity.ok(fullPlot));
+
+        assertThat(fullSize - shortSize).isGreaterThan(5_000);
+    }
+
+    @Test
+    void deveContarObjetosCompartilhadosUmaUnicaVez() {
+        String shared = "x".repeat(5_000);
+        List<String> once = new ArrayList<>(List.of(shared));
+        List<String> twice = new ArrayList<>(List.of(shared, shared));
+
+        assertThat(ObjectSizeEstimator.estimate(twice) - ObjectSizeEstimator.estimate(once)).isLessThan(100);
+    }
+
+    @Test
+    void deveSuportarRespostasDeTemporada() {
+        assertThat(ObjectSizeEstimator.estimate(ResponseEntity.ok(new SeasonDetailsResponse()))).isPositive();
+    }
+}
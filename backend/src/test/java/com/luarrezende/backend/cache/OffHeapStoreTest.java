@@ -0,0 +1,83 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapStoreTest {
+
+    private static final long NOW = 1_000L;
+
+    private final CompactCodec codec = new CompactCodec(Long.MAX_VALUE);
+    private OffHeapStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapStore(2 * 1024, 1024, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void deveDevolverEntradaGuardadaForaDoHeap() {
+        assertThat(store.put("moviesById", "tt0133093_short", encode("tt0133093"), NOW, NOW + 100, NOW + 200)).isTrue();
+
+        OffHeapStore.Stored stored = store.get("moviesById", "tt0133093_short", NOW);
+
+        assertThat(stored.value().decode()).isEqualTo(movie("tt0133093"));
+        assertThat(stored.writtenAt()).isEqualTo(NOW);
+        assertThat(stored.freshUntil()).isEqualTo(NOW + 100);
+        assertThat(store.getUsedBytes()).isEqualTo(encode("tt0133093").storedBytes());
+        assertThat(store.getAllocatedBytes()).isEqualTo(1024);
+    }
+
+    @Test
+    void deveReciclarASlabMaisAntigaQuandoOEspacoAcaba() {
+        int entries = 0;
+        while (store.getAllocatedBytes() < store.getCapacityBytes() || store.get("moviesById", "tt0", NOW) != null) {
+            store.put("moviesById", "tt" + entries, encode("tt" + entries), NOW, NOW + 100, NOW + 200);
+            entries++;
+        }
+
+        assertThat(store.get("moviesById", "tt0", NOW)).isNull();
+        assertThat(store.get("moviesById", "tt" + (entries - 1), NOW)).isNotNull();
+        assertThat(store.getAllocatedBytes()).isEqualTo(store.getCapacityBytes());
+        assertThat(store.getUsedBytes()).isLessThanOrEqualTo(store.getCapacityBytes());
+    }
+
+    @Test
+    void deveDescartarEntradaExpirada() {
+        store.put("moviesById", "tt0133093_short", encode("tt0133093"), NOW, NOW + 100, NOW + 200);
+
+        assertThat(store.get("moviesById", "tt0133093_short", NOW + 200)).isNull();
+        assertThat(store.size("moviesById")).isZero();
+        assertThat(store.getUsedBytes()).isZero();
+    }
+
+    @Test
+    void deveLimparSomenteOCacheInformado() {
+        store.put("moviesById", "tt0133093_short", encode("tt0133093"), NOW, NOW + 100, NOW + 200);
+        store.put("seriesById", "tt0903747_short", encode("tt0903747"), NOW, NOW + 100, NOW + 200);
+
+        store.clear("moviesById");
+
+        assertThat(store.size("moviesById")).isZero();
+        assertThat(store.get("seriesById", "tt0903747_short", NOW)).isNotNull();
+    }
+
+    private CompactCodec.CompactValue encode(String id) {
+        return (CompactCodec.CompactValue) codec.encode(movie(id));
+    }
+
+    private static ResponseEntity<MovieDetailsResponse> movie(String id) {
+        return ResponseEntity.ok(MovieDetailsResponse.builder()
+            .success(true)
+            .id(id)
+            .title("The Matrix")
+            .plot("Thomas Anderson leva uma vida dupla.")
+            .type("movie")
+            .build());
+    }
+}
@@ -0,0 +1,196 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.config.OmdbCacheProperties;
+import com.luarrezende.backend.config.OmdbCacheProperties.CacheSpec;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import com.luarrezende.backend.dto.MovieSearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OmdbCacheManagerTest {
+
+    private OmdbCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        OmdbCacheProperties properties = new OmdbCacheProperties();
+        properties.setTtl(Duration.ofHours(1));
+        properties.setMaximumSize(500);
+        properties.setStaleRetention(Duration.ofHours(24));
+        CacheSpec search = new CacheSpec();
+        search.setTtl(Duration.ofMinutes(15));
+        search.setMaximumSize(50L);
+        properties.getCaches().put("movieSearch", search);
+
+        cacheManager = new OmdbCacheManager(properties, Clock.systemUTC(), new SimpleMeterRegistry(),
+            "moviesById", "movieSearch");
+        cacheManager.afterPropertiesSet();
+    }
+
+    @Test
+    void deveAplicarConfiguracaoPropriaDeCadaCache() {
+        CacheSpec search = cacheManager.getSpecs().get("movieSearch");
+        CacheSpec byId = cacheManager.getSpecs().get("moviesById");
+
+        assertThat(search.getTtl()).isEqualTo(Duration.ofMinutes(15));
+        assertThat(search.getMaximumSize()).isEqualTo(50);
+        assertThat(search.getStaleRetention()).isEqualTo(Duration.ofHours(24));
+        assertThat(byId.getTtl()).isEqualTo(Duration.ofHours(1));
+        assertThat(byId.getMaximumSize()).isEqualTo(500);
+        assertThat(maximumOf("movieSearch")).isEqualTo(50);
+        assertThat(((OmdbCache) cacheManager.getCache("movieSearch")).getTtl()).isEqualTo(Duration.ofMinutes(15));
+    }
+
+    @Test
+    void deveReconfigurarCacheEmTempoDeExecucao() {
+        CacheSpec changes = new CacheSpec();
+        changes.setMaximumSize(10L);
+        changes.setTtl(Duration.ofMinutes(1));
+
+        CacheSpec spec = cacheManager.reconfigure("movieSearch", changes);
+
+        assertThat(spec.getMaximumSize()).isEqualTo(10);
+        assertThat(spec.getTtl()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(spec.getStaleRetention()).isEqualTo(Duration.ofHours(24));
+        assertThat(maximumOf("movieSearch")).isEqualTo(10);
+        assertThat(expireAfterWriteOf("movieSearch")).isEqualTo(Duration.ofMinutes(1).plusHours(24));
+        assertThat(((OmdbCache) cacheManager.getCache("movieSearch")).getTtl()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(cacheManager.getSpecs().get("moviesById").getMaximumSize()).isEqualTo(500);
+    }
+
+    @Test
+    void deveRetornarNuloParaCacheDesconhecido() {
+        assertThat(cacheManager.reconfigure("inexistente", new CacheSpec())).isNull();
+    }
+
+    @Test
+    void deveRecusarConfiguracaoInvalida() {
+        CacheSpec changes = new CacheSpec();
+        changes.setTtl(Duration.ZERO);
+
+        assertThatThrownBy(() -> cacheManager.reconfigure("movieSearch", changes))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(cacheManager.getSpecs().get("movieSearch").getTtl()).isEqualTo(Duration.ofMinutes(15));
+    }
+
+    @Test
+    void deveExporEReconfigurarCachesPeloEndpoint() {
+        OmdbCachesEndpoint endpoint = new OmdbCachesEndpoint(cacheManager);
+        cacheManager.getCache("movieSearch").put("matrix", "valor");
+
+        assertThat(endpoint.caches()).containsOnlyKeys("moviesById", "movieSearch");
+        assertThat(endpoint.cache("movieSearch").size()).isEqualTo(1);
+
+        OmdbCachesEndpoint.CacheDescriptor updated = endpoint.reconfigure("movieSearch", "30", "20", 200L, null, "2h");
+
+        assertThat(updated.ttl()).isEqualTo("PT30S");
+        assertThat(updated.refreshAfter()).isEqualTo("PT20S");
+        assertThat(((OmdbCache) cacheManager.getCache("movieSearch")).getRefreshAfter()).isEqualTo(Duration.ofSeconds(20));
+        assertThat(updated.maximumSize()).isEqualTo(200);
+        assertThat(updated.staleRetention()).isEqualTo("PT2H");
+        assertThat(updated.heapBytes()).isNull();
+        assertThat(endpoint.reconfigure("inexistente", null, null, 1L, null, null)).isNull();
+        assertThatThrownBy(() -> endpoint.reconfigure("movieSearch", "abc", null, null, null, null))
+            .isInstanceOf(InvalidEndpointRequestException.class);
+    }
+
+    @Test
+    void deveDividirOrcamentoDeHeapEntreOsCaches() {
+        OmdbCacheManager weighted = weightedManager();
+
+        CacheSpec search = weighted.getSpecs().get("movieSearch");
+        CacheSpec byId = weighted.getSpecs().get("moviesById");
+        CacheSpec byTitle = weighted.getSpecs().get("moviesByTitle");
+
+        assertThat(search.getMaxHeap()).isEqualTo(DataSize.ofMegabytes(2));
+        assertThat(byId.getMaxHeap().toBytes() + byTitle.getMaxHeap().toBytes()).isEqualTo(DataSize.ofMegabytes(8).toBytes());
+        assertThat(byId.getMaxHeap()).isEqualTo(byTitle.getMaxHeap());
+        assertThat(maximumOf(weighted, "movieSearch")).isEqualTo(DataSize.ofMegabytes(2).toBytes());
+    }
+
+    @Test
+    void deveRemoverPorTamanhoEstimadoQuandoLimitadoPorMemoria() {
+        OmdbCacheManager weighted = weightedManager();
+        OmdbCache cache = (OmdbCache) weighted.getCache("movieSearch");
+        String plot = "x".repeat(100_000);
+
+        for (int i = 0; i < 40; i++) {
+            cache.put("filme-" + i, plot + i);
+        }
+        cache.getNativeCache().cleanUp();
+
+        long heapBytes = cache.getEstimatedHeapBytes().orElseThrow();
+        assertThat(heapBytes).isLessThanOrEqualTo(DataSize.ofMegabytes(2).toBytes());
+        assertThat(heapBytes).isGreaterThan(DataSize.ofMegabytes(1).toBytes());
+        assertThat(cache.getNativeCache().estimatedSize()).isLessThan(40);
+    }
+
+    @Test
+    void deveRecusarTrocaDoTipoDeLimite() {
+        OmdbCacheManager weighted = weightedManager();
+        CacheSpec bySize = new CacheSpec();
+        bySize.setMaximumSize(10L);
+        CacheSpec byHeap = new CacheSpec();
+        byHeap.setMaxHeap(DataSize.ofMegabytes(1));
+
+        assertThatThrownBy(() -> weighted.reconfigure("movieSearch", bySize)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cacheManager.reconfigure("movieSearch", byHeap)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(weighted.reconfigure("movieSearch", byHeap).getMaxHeap()).isEqualTo(DataSize.ofMegabytes(1));
+        assertThat(maximumOf(weighted, "movieSearch")).isEqualTo(DataSize.ofMegabytes(1).toBytes());
+    }
+
+    @Test
+    void deveExpirarCadaEntradaConformeADataDeLancamento() {
+        OmdbCacheProperties properties = new OmdbCacheProperties();
+        properties.setStaleRetention(Duration.ofHours(24));
+        properties.getReleaseTtl().setEnabled(true);
+        OmdbCacheManager releaseAware = new OmdbCacheManager(properties, Clock.systemUTC(), new SimpleMeterRegistry(), "moviesById");
+        releaseAware.afterPropertiesSet();
+        OmdbCache cache = (OmdbCache) releaseAware.getCache("moviesById");
+
+        cache.put("tt0070047_short", ResponseEntity.ok(MovieDetailsResponse.builder()
+            .success(true).id("tt0070047").released("26 Dec 1973").type("movie").build()));
+        cache.put("matrix_page_1", ResponseEntity.ok(MovieSearchResponse.builder().success(true).build()));
+
+        var expiry = cache.getNativeCache().policy().expireVariably().orElseThrow();
+        // Catálogo: 7 dias de validade + 24h de retenção; busca: ttl padrão (1h) + 24h
+        assertThat(expiry.getExpiresAfter("tt0070047_short", TimeUnit.HOURS).orElseThrow()).isBetween(191L, 192L);
+        assertThat(expiry.getExpiresAfter("matrix_page_1", TimeUnit.HOURS).orElseThrow()).isBetween(24L, 25L);
+    }
+
+    private OmdbCacheManager weightedManager() {
+        OmdbCacheProperties properties = new OmdbCacheProperties();
+        properties.setMaxHeapMb(10);
+        CacheSpec search = new CacheSpec();
+        search.setMaxHeap(DataSize.ofMegabytes(2));
+        properties.getCaches().put("movieSearch", search);
+        OmdbCacheManager weighted = new OmdbCacheManager(properties, Clock.systemUTC(), new SimpleMeterRegistry(),
+            "moviesByTitle", "moviesById", "movieSearch");
+        weighted.afterPropertiesSet();
+        return weighted;
+    }
+
+    private static long maximumOf(OmdbCacheManager manager, String name) {
+        return ((OmdbCache) manager.getCache(name)).getNativeCache().policy().eviction().orElseThrow().getMaximum();
+    }
+
+    private long maximumOf(String name) {
+        return maximumOf(cacheManager, name);
+    }
+
+    private Duration expireAfterWriteOf(String name) {
+        return Duration.ofNanos(((OmdbCache) cacheManager.getCache(name)).getNativeCache()
+            .policy().expireAfterWrite().orElseThrow().getExpiresAfter(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,541 @@
+package com.luarrezende.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.luarrezende.backend.client.OmdbCallPriority;
+import com.luarrezende.backend.client.OmdbUnavailableException;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OmdbCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private MutableClock clock;
+    private MeterRegistry meterRegistry;
+    private OmdbCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new OmdbCache("moviesByTitle", Caffeine.newBuilder().<Object, CacheEntry>build(), TTL, clock, meterRegistry);
+    }
+
+    @Test
+    void deveRetornarEntradaFrescaSemChamarOLoader() {
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get("matrix", () -> movie(calls.incrementAndGet()));
+        ResponseEntity<MovieDetailsResponse> cached = cache.get("matrix", () -> movie(calls.incrementAndGet()));
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cached.getBody().getTitle()).isEqualTo("The Matrix 1");
+    }
+
+    @Test
+    void deveRecarregarEntradaExpirada() {
+        cache.get("matrix", () -> movie(1));
+        clock.advance(TTL.plusSeconds(1));
+
+        ResponseEntity<MovieDetailsResponse> reloaded = cache.get("matrix", () -> movie(2));
+
+        assertThat(reloaded.getBody().getTitle()).isEqualTo("The Matrix 2");
+        assertThat(cache.get("matrix")).isNotNull();
+    }
+
+    @Test
+    void deveServirEntradaStaleQuandoOmdbIndisponivel() {
+        cache.get("matrix", () -> movie(1));
+        clock.advance(TTL.plusSeconds(60));
+
+        ResponseEntity<MovieDetailsResponse> stale = cache.get("matrix", () -> {
+            throw new OmdbUnavailableException("Circuito aberto");
+        });
+
+        assertThat(stale.getBody().getTitle()).isEqualTo("The Matrix 1");
+        assertThat(stale.getHeaders().getFirst(OmdbCache.CACHE_STATUS_HEADER)).isEqualTo("STALE");
+        assertThat(stale.getHeaders().getFirst(HttpHeaders.AGE)).isEqualTo("360");
+        assertThat(meterRegistry.get("omdb.cache.stale").tag("cache", "moviesByTitle").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void deveServirEntradaStaleNoLugarDeRespostaDeErro5xx() {
+        cache.get("matrix", () -> movie(1));
+        clock.advance(TTL.plusSeconds(1));
+
+        ResponseEntity<MovieDetailsResponse> stale = cache.get("matrix", () -> ResponseEntity
+            .status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(MovieDetailsResponse.builder().success(false).build()));
+
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(stale.getBody().getTitle()).isEqualTo("The Matrix 1");
+    }
+
+    @Test
+    void devePropagarFalhaQuandoNaoHaEntradaRetida() {
+        assertThatThrownBy(() -> cache.get("matrix", () -> {
+            throw new OmdbUnavailableException("Circuito aberto");
+        }))
+            .isInstanceOf(Cache.ValueRetrievalException.class)
+            .hasCauseInstanceOf(OmdbUnavailableException.class);
+    }
+
+    @Test
+    void naoDeveArmazenarRespostaSemSucesso() {
+        cache.get("inexistente", () -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(MovieDetailsResponse.builder().success(false).errorMessage("Filme não encontrado").build()));
+
+        assertThat(cache.get("inexistente")).isNull();
+    }
+
+    @Test
+    void deveServirEntradaStaleNoCaminhoAssincrono() throws Exception {
+        cache.retrieve("matrix", () -> CompletableFuture.completedFuture(movie(1))).get(1, TimeUnit.SECONDS);
+        clock.advance(TTL.plusSeconds(1));
+
+        CompletableFuture<ResponseEntity<MovieDetailsResponse>> result = cache.retrieve("matrix",
+            () -> CompletableFuture.failedFuture(new OmdbUnavailableException("Circuito aberto")));
+
+        ResponseEntity<MovieDetailsResponse> stale = result.get(1, TimeUnit.SECONDS);
+        assertThat(stale.getBody().getTitle()).isEqualTo("The Matrix 1");
+        assertThat(stale.getHeaders().getFirst(OmdbCache.CACHE_STATUS_HEADER)).isEqualTo("STALE");
+    }
+
+    @Test
+    void devePropagarFalhaAssincronaQuandoNaoHaEntradaRetida() {
+        CompletableFuture<ResponseEntity<MovieDetailsResponse>> result = cache.retrieve("matrix",
+            () -> CompletableFuture.failedFuture(new OmdbUnavailableException("Circuito aberto")));
+
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(OmdbUnavailableException.class);
+    }
+
+    @Test
+    void deveServirValorAtualERevalidarAposSoftTtl() {
+        cache.setRefreshAfter(Duration.ofMinutes(4));
+        cache.setRefreshExecutor(Runnable::run);
+        cache.get("matrix", () -> movie(1));
+        clock.advance(Duration.ofMinutes(4).plusSeconds(1));
+        AtomicReference<OmdbCallPriority> priority = new AtomicReference<>();
+
+        ResponseEntity<MovieDetailsResponse> served = cache.get("matrix", () -> {
+            priority.set(OmdbCallPriority.of(URI.create("http://www.omdbapi.com/?t=matrix")));
+            return movie(2);
+        });
+
+        assertThat(served.getBody().getTitle()).isEqualTo("The Matrix 1");
+        assertThat(priority.get()).isEqualTo(OmdbCallPriority.BACKGROUND);
+        assertThat(cache.get("matrix", () -> movie(3)).getBody().getTitle()).isEqualTo("The Matrix 2");
+        assertThat(meterRegistry.counter("omdb.cache.refresh", "cache", "moviesByTitle", "result", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void deveDispararUmaUnicaRevalidacaoPorChave() {
+        List<Runnable> pending = new ArrayList<>();
+        cache.setRefreshAfter(Duration.ofMinutes(1));
+        cache.setRefreshExecutor(pending::add);
+        cache.get("matrix", () -> movie(1));
+        clock.advance(Duration.ofMinutes(2));
+
+        cache.get("matrix", () -> movie(2));
+        cache.get("matrix", () -> movie(3));
+
+        assertThat(pending).hasSize(1);
+        pending.get(0).run();
+        assertThat(cache.get("matrix", () -> movie(4)).getBody().getTitle()).isEqualTo("The Matrix 2");
+    }
+
+    @Test
+    void deveManterEntradaQuandoRevalidacaoFalha() {
+        cache.setRefreshAfter(Duration.ofMinutes(1));
+        cache.setRefreshExecutor(Runnable::run);
+        cache.get("matrix", () -> movie(1));
+        clock.advance(Duration.ofMinutes(2));
+
+        ResponseEntity<MovieDetailsResponse> served = cache.get("matrix", () -> {
+            throw new OmdbUnavailableException("Cota esgotada");
+        });
+
+        assertThat(served.getBody().getTitle()).isEqualTo("The Matrix 1");
+        assertThat(served.getHeaders().containsKey(OmdbCache.CACHE_STATUS_HEADER)).isFalse();
+        assertThat(cache.get("matrix", ResponseEntity.class).getBody()).isEqualTo(movie(1).getBody());
+        assertThat(meterRegistry.counter("omdb.cache.refresh", "cache", "moviesByTitle", "result", "failure").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("omdb.cache.stale", "cache", "moviesByTitle").count()).isZero();
+    }
+
+    @Test
+    void deveRevalidarEntradaAssincronaAposSoftTtl() throws Exception {
+        cache.setRefreshAfter(Duration.ofMinutes(1));
+        cache.setRefreshExecutor(Runnable::run);
+        cache.retrieve("matrix", () -> CompletableFuture.completedFuture(movie(1))).get(1, TimeUnit.SECONDS);
+        clock.advance(Duration.ofMinutes(2));
+
+        Object served = cache.retrieve("matrix", () -> CompletableFuture.completedFuture(movie(2))).get(1, TimeUnit.SECONDS);
+
+        assertThat(((ResponseEntity<?>) served).getBody()).isEqualTo(movie(1).getBody());
+        assertThat(cache.get("matrix", ResponseEntity.class).getBody()).isEqualTo(movie(2).getBody());
+    }
+
+    @Test
+    void naoDeveRevalidarSemSoftTtlConfigurado() {
+        AtomicInteger calls = new AtomicInteger();
+        cache.setRefreshExecutor(Runnable::run);
+        cache.get("matrix", () -> movie(calls.incrementAndGet()));
+        clock.advance(TTL.minusSeconds(1));
+
+        cache.get("matrix", () -> movie(calls.incrementAndGet()));
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void deveServirNaoEncontradoDoCacheNegativoSemChamarOLoader() {
+        cache.setNegativeCache(new NegativeCache("moviesByTitle", Duration.ofMinutes(1), 100, 0.01, clock, meterRegistry));
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get("filme inexistente", () -> {
+            calls.incrementAndGet();
+            return notFound();
+        });
+        ResponseEntity<MovieDetailsResponse> cached = cache.get("filme inexistente", () -> {
+            calls.incrementAndGet();
+            return notFound();
+        });
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cached.getBody().getErrorMessage()).isEqualTo("Filme não encontrado");
+        assertThat(cache.getNegativeSize()).isEqualTo(1);
+        assertThat(cache.get("filme inexistente")).isNull();
+    }
+
+    @Test
+    void deveGuardarNaoEncontradoComStatus404NoCacheNegativo() {
+        cache.setNegativeCache(new NegativeCache("seriesSeason", Duration.ofMinutes(1), 100, 0.01, clock, meterRegistry));
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            cache.get("tt0903747|9", () -> {
+                calls.incrementAndGet();
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(notFound().getBody());
+            });
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cache.getNegativeSize()).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveGuardarErrosNoCacheNegativo() {
+        cache.setNegativeCache(new NegativeCache("moviesByTitle", Duration.ofMinutes(1), 100, 0.01, clock, meterRegistry));
+
+        cache.get("erro", () -> ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(notFound().getBody()));
+        cache.get("limite", () -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(notFound().getBody()));
+        assertThatThrownBy(() -> cache.get("transporte", () -> {
+            throw new OmdbUnavailableException("Circuito aberto");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+
+        assertThat(cache.getNegativeSize()).isZero();
+    }
+
+    @Test
+    void naoDeveGuardarRespostaSemSucessoNaoMarcadaNoCacheNegativo() {
+        cache.setNegativeCache(new NegativeCache("movieSearch", Duration.ofMinutes(1), 100, 0.01, clock, meterRegistry));
+        AtomicInteger calls = new AtomicInteger();
+
+        // Validação do termo e corpo nulo da OMDb: sem sucesso, mas não são "não encontrado"
+        for (int i = 0; i < 2; i++) {
+            cache.get("ab", () -> {
+                calls.incrementAndGet();
+                return ResponseEntity.ok(MovieDetailsResponse.builder()
+                    .success(false)
+                    .errorMessage("Erro na API do OMDB")
+                    .build());
+            });
+        }
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(cache.getNegativeSize()).isZero();
+    }
+
+    @Test
+    void deveSairDoCacheNegativoQuandoOTituloPassaAExistir() {
+        cache.setNegativeCache(new NegativeCache("moviesByTitle", Duration.ofMinutes(1), 100, 0.01, clock, meterRegistry));
+        cache.get("matrix", this::notFound);
+        clock.advance(Duration.ofMinutes(2));
+
+        ResponseEntity<MovieDetailsResponse> found = cache.get("matrix", () -> movie(1));
+
+        assertThat(found.getBody().isSuccess()).isTrue();
+        assertThat(cache.getNegativeSize()).isZero();
+        assertThat(cache.get("matrix", () -> notFound()).getBody().getTitle()).isEqualTo("The Matrix 1");
+    }
+
+    @Test
+    void deveServirDadosAtualizadosParaChavesDoMesmoTitulo() {
+        EntityStore store = new EntityStore(meterRegistry);
+        cache.setEntityStore(store);
+        OmdbCache byId = new OmdbCache("moviesById", Caffeine.newBuilder().<Object, CacheEntry>build(), TTL, clock, meterRegistry);
+        byId.setEntityStore(store);
+
+        cache.put("the matrix", matrix("8.7"));
+        byId.put("tt0133093_short", matrix("8.8"));
+
+        ResponseEntity<MovieDetailsResponse> byTitle = cache.get("the matrix", () -> movie(2));
+        assertThat(byTitle.getBody().getImdbRating()).isEqualTo("8.8");
+        assertThat(byTitle.getBody().getTitle()).isEqualTo("The Matrix");
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void deveRenderizarJsonNaEscritaDoCache() {
+        PreSerializedBodies bodies = new PreSerializedBodies(new ObjectMapper(), false, 0, 1024 * 1024);
+        cache.setPreSerializedBodies(bodies);
+
+        cache.put("the matrix", matrix("8.7"));
+
+        ResponseEntity<MovieDetailsResponse> hit = cache.get("the matrix", () -> movie(2));
+        assertThat(bodies.get(hit.getBody())).isNotNull();
+        assertThat(bodies.get(hit.getBody()).gzipped()).isNull();
+    }
+
+    @Test
+    void deveGuardarNoFormatoCompactoEDecodificarNaLeitura() {
+        cache.setCompactCodec(new CompactCodec(0));
+
+        cache.put("the matrix", matrix("8.7"));
+
+        assertThat(cache.getNativeCache().getIfPresent("the matrix").value()).isInstanceOf(CompactCodec.CompactValue.class);
+        ResponseEntity<MovieDetailsResponse> hit = cache.get("the matrix", () -> movie(2));
+        assertThat(hit).isEqualTo(matrix("8.7"));
+    }
+
+    @Test
+    void devePromoverEntradaDoL2SemChamarOLoader() {
+        OffHeapStore store = new OffHeapStore(1024 * 1024, 64 * 1024, meterRegistry);
+        cache.setOffHeap(store, new CompactCodec(256));
+        cache.put("the matrix", matrix("8.7"));
+
+        cache.demote("the matrix", cache.getNativeCache().getIfPresent("the matrix"));
+        cache.getNativeCache().invalidate("the matrix");
+        ResponseEntity<MovieDetailsResponse> hit = cache.get("the matrix", () -> movie(2));
+
+        assertThat(hit).isEqualTo(matrix("8.7"));
+        assertThat(cache.getNativeCache().getIfPresent("the matrix")).isNotNull();
+        assertThat(cache.getOffHeapSize()).isZero();
+        assertThat(meterRegistry.get("omdb.cache.l2").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveVoltarRegistroCompartilhadoAoPromoverEntradaAntigaDoL2() {
+        EntityStore entities = new EntityStore(meterRegistry);
+        cache.setEntityStore(entities);
+        cache.setOffHeap(new OffHeapStore(1024 * 1024, 64 * 1024, meterRegistry), new CompactCodec(256));
+        OmdbCache byId = new OmdbCache("moviesById", Caffeine.newBuilder().<Object, CacheEntry>build(), TTL, clock, meterRegistry);
+        byId.setEntityStore(entities);
+        cache.put("the matrix", matrix("8.7"));
+        cache.demote("the matrix", cache.getNativeCache().getIfPresent("the matrix"));
+        cache.getNativeCache().invalidate("the matrix");
+
+        clock.advance(Duration.ofMinutes(1));
+        byId.put("tt0133093_short", matrix("8.8"));
+        ResponseEntity<MovieDetailsResponse> promoted = cache.get("the matrix", () -> movie(2));
+
+        assertThat(promoted.getBody().getImdbRating()).isEqualTo("8.8");
+        assertThat(((ResponseEntity<?>) byId.get("tt0133093_short").get()).getBody())
+            .extracting("imdbRating").isEqualTo("8.8");
+    }
+
+    @Test
+    void naoDeveVoltarRegistroCompartilhadoAoRestaurarSnapshot() {
+        EntityStore entities = new EntityStore(meterRegistry);
+        cache.setEntityStore(entities);
+        OmdbCache byId = new OmdbCache("moviesById", Caffeine.newBuilder().<Object, CacheEntry>build(), TTL, clock, meterRegistry);
+        byId.setEntityStore(entities);
+        long snapshotWrittenAt = clock.millis();
+        clock.advance(Duration.ofMinutes(1));
+        cache.put("the matrix", matrix("8.8"));
+
+        boolean restored = byId.restore("tt0133093_short", matrix("8.7"), snapshotWrittenAt,
+            snapshotWrittenAt + TTL.toMillis());
+
+        assertThat(restored).isTrue();
+        ResponseEntity<MovieDetailsResponse> byTitle = cache.get("the matrix", () -> movie(2));
+        assertThat(byTitle.getBody().getImdbRating()).isEqualTo("8.8");
+        assertThat(((ResponseEntity<?>) byId.get("tt0133093_short").get()).getBody())
+            .extracting("imdbRating").isEqualTo("8.8");
+    }
+
+    @Test
+    void deveMedirHitsMissesETempoDeCargaSemLeituraExtra() {
+        cache.setNegativeCache(new NegativeCache("moviesByTitle", Duration.ofMinutes(1), 100, 0.01, clock, meterRegistry));
+        cache.get("the matrix", () -> movie(1));
+        cache.get("the matrix", () -> movie(2));
+        cache.get("inexistente", this::notFound);
+        cache.get("inexistente", this::notFound);
+
+        assertThat(lookups("hit")).isEqualTo(1);
+        assertThat(lookups("miss")).isEqualTo(2);
+        assertThat(lookups("negative")).isEqualTo(1);
+        assertThat(meterRegistry.get("omdb.cache.load").tag("result", "success").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void deveAgruparMissesConcorrentesDaMesmaChave() throws Exception {
+        cache.setSingleFlightWait(Duration.ofSeconds(5));
+        int callers = 6;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<ResponseEntity<MovieDetailsResponse>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get("matrix", () -> {
+                    leaderStarted.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return movie(executions.incrementAndGet());
+                })));
+                if (i == 0) {
+                    assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                }
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (flights("collapsed") < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<ResponseEntity<MovieDetailsResponse>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getBody().getTitle()).isEqualTo("The Matrix 1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        cache.get("matrix", () -> movie(executions.incrementAndGet()));
+
+        assertThat(executions.get()).isEqualTo(1);
+        // O hit final não conta como líder
+        assertThat(flights("leader")).isEqualTo(1);
+        assertThat(flights("collapsed")).isEqualTo(callers - 1);
+    }
+
+    @Test
+    void deveEntregarAoSeguidorAssincronoOResultadoDoLider() throws Exception {
+        cache.setSingleFlightWait(Duration.ofSeconds(5));
+        CompletableFuture<ResponseEntity<MovieDetailsResponse>> pending = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<ResponseEntity<MovieDetailsResponse>> leader = cache.retrieve("matrix", () -> {
+            executions.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<ResponseEntity<MovieDetailsResponse>> asyncFollower = cache.retrieve("matrix", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(movie(9));
+        });
+
+        pending.complete(movie(1));
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).getBody().getTitle()).isEqualTo("The Matrix 1");
+        assertThat(asyncFollower.get(5, TimeUnit.SECONDS).getBody().getTitle()).isEqualTo("The Matrix 1");
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void deveCarregarSozinhoQuandoOLiderPassaDaEsperaMaxima() throws Exception {
+        cache.setSingleFlightWait(Duration.ofMillis(50));
+        CompletableFuture<ResponseEntity<MovieDetailsResponse>> stuck = new CompletableFuture<>();
+
+        cache.retrieve("matrix", () -> stuck);
+        CompletableFuture<ResponseEntity<MovieDetailsResponse>> follower = cache.retrieve("matrix",
+            () -> CompletableFuture.completedFuture(movie(2)));
+
+        assertThat(follower.get(5, TimeUnit.SECONDS).getBody().getTitle()).isEqualTo("The Matrix 2");
+        assertThat(flights("timeout")).isEqualTo(1);
+    }
+
+    private double flights(String result) {
+        return meterRegistry.get("omdb.cache.singleflight").tag("cache", "moviesByTitle").tag("result", result).counter().count();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("omdb.cache.lookups").tag("cache", "moviesByTitle").tag("result", result).counter().count();
+    }
+
+    private static ResponseEntity<MovieDetailsResponse> matrix(String rating) {
+        return ResponseEntity.ok(MovieDetailsResponse.builder()
+            .success(true)
+            .id("tt0133093")
+            .title("The Matrix")
+            .imdbRating(rating)
+            .build());
+    }
+
+    private ResponseEntity<MovieDetailsResponse> notFound() {
+        return ResponseEntity.ok(MovieDetailsResponse.builder()
+            .success(false)
+            .notFound(true)
+            .errorMessage("Filme não encontrado")
+            .build());
+    }
+
+    private static ResponseEntity<MovieDetailsResponse> movie(int version) {
+        return ResponseEntity.ok(MovieDetailsResponse.builder()
+            .success(true)
+            .title("The Matrix " + version)
+            .build());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.service.MoviesService;
+import com.luarrezende.backend.service.SeriesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.annotation.Cacheable;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OmdbKeyGeneratorTest {
+
+    private final OmdbKeyGenerator keyGenerator = new OmdbKeyGenerator();
+
+    @Test
+    void deveGerarChavesTipadasPelosParametrosDoMetodo() throws Exception {
+        assertThat(generate(MoviesService.class.getMethod("searchMovie", String.class), " The Matrix "))
+            .isEqualTo(OmdbCacheKey.title("the matrix"));
+        assertThat(generate(SeriesService.class.getMethod("searchAllSeries", String.class, int.class), "Breaking", 2))
+            .isEqualTo(OmdbCacheKey.search("breaking", 2));
+        assertThat(generate(MoviesService.class.getMethod("getMovieDetails", String.class, String.class), "TT0133093", "FULL"))
+            .isEqualTo(OmdbCacheKey.details("tt0133093", "full"));
+        assertThat(generate(SeriesService.class.getMethod("getEpisodeDetails", String.class, String.class, String.class),
+            "tt0903747", "1", "2")).isEqualTo(OmdbCacheKey.episode("tt0903747", "1", "2"));
+    }
+
+    @Test
+    void deveNormalizarVariacoesDaMesmaConsulta() {
+        assertThat(OmdbCacheKey.search("Matrix", 0)).isEqualTo(OmdbCacheKey.search(" matrix", 1));
+        assertThat(OmdbCacheKey.details("tt0133093", null)).isEqualTo(OmdbCacheKey.details("tt0133093 ", "Short"));
+        assertThat(OmdbCacheKey.season("TT0903747", "01")).isEqualTo(OmdbCacheKey.season("tt0903747", "1"));
+        assertThat(OmdbCacheKey.season("tt0903747", "1")).isNotEqualTo(OmdbCacheKey.details("tt0903747", "1"));
+    }
+
+    @Test
+    void deveManterFormatoDasChavesAntigasNoToString() {
+        assertThat(OmdbCacheKey.title("The Matrix")).hasToString("the matrix");
+        assertThat(OmdbCacheKey.search("Matrix", 1)).hasToString("matrix_page_1");
+        assertThat(OmdbCacheKey.details("tt0133093", "short")).hasToString("tt0133093_short");
+        assertThat(OmdbCacheKey.episode("tt0903747", "1", "02")).hasToString("tt0903747_1_2");
+    }
+
+    @Test
+    void naoDeveGerarChaveParaMetodoSemOmdbKey() throws Exception {
+        Method other = String.class.getMethod("regionMatches", int.class, String.class, int.class, int.class);
+
+        assertThatThrownBy(() -> keyGenerator.generate(null, other, 1, "a", 2, 3))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("sem @OmdbKey");
+    }
+
+    @Test
+    void naoDeveGerarChaveQuandoParametrosNaoBatemComOFormato() throws Exception {
+        Method mismatched = Fixture.class.getDeclaredMethod("search", String.class, String.class);
+
+        assertThatThrownBy(() -> keyGenerator.generate(null, mismatched, "matrix", "2"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("SEARCH");
+    }
+
+    @Test
+    void deveDeclararFormatoEmTodosOsMetodosCacheadosDosServices() {
+        for (Class<?> service : List.of(MoviesService.class, SeriesService.class)) {
+            for (Method method : service.getDeclaredMethods()) {
+                Cacheable cacheable = method.getAnnotation(Cacheable.class);
+                if (cacheable != null && "omdbKeyGenerator".equals(cacheable.keyGenerator())) {
+                    assertThatCode(() -> OmdbKeyGenerator.kindOf(method)).as(method.getName()).doesNotThrowAnyException();
+                }
+            }
+        }
+    }
+
+    private Object generate(Method method, Object... args) {
+        return keyGenerator.generate(null, method, args);
+    }
+
+    private static class Fixture {
+
+        @OmdbKey(OmdbCacheKey.Kind.SEARCH)
+        Object search(String title, String page) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.luarrezende.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class PreSerializedBodyConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MeterRegistry meterRegistry;
+    private PreSerializedBodies bodies;
+    private PreSerializedBodyConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bodies = new PreSerializedBodies(objectMapper, true, 64, 1024 * 1024);
+        converter = new PreSerializedBodyConverter(bodies, objectMapper, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void deveEscreverBytesPreSerializadosIguaisAoJackson() throws Exception {
+        MovieDetailsResponse body = movie();
+        bodies.render(ResponseEntity.ok(body));
+
+        MockHttpOutputMessage output = write(body);
+
+        assertThat(output.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(body));
+        assertThat(output.getHeaders().getContentLength()).isEqualTo(output.getBodyAsBytes().length);
+        assertThat(output.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(writes("json")).isEqualTo(1);
+    }
+
+    @Test
+    void deveEscreverGzipQuandoClienteAceita() throws Exception {
+        MovieDetailsResponse body = movie();
+        bodies.render(body);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        MockHttpOutputMessage output = write(body);
+
+        assertThat(output.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(output.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(output.getBodyAsBytes()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(objectMapper.writeValueAsBytes(body));
+        }
+        assertThat(writes("gzip")).isEqualTo(1);
+    }
+
+    @Test
+    void deveSerializarComJacksonCorpoQueNaoVeioDoCache() throws Exception {
+        MovieDetailsResponse body = movie();
+
+        MockHttpOutputMessage output = write(body);
+
+        assertThat(output.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(body));
+        assertThat(writes("jackson")).isEqualTo(1);
+        assertThat(bodies.size()).isZero();
+    }
+
+    @Test
+    void deveLimitarOsBytesRenderizadosAoMaxSize() {
+        PreSerializedBodies limited = new PreSerializedBodies(objectMapper, true, 64, 2048);
+        List<MovieDetailsResponse> cached = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            MovieDetailsResponse body = movie();
+            body.setId("tt" + i);
+            cached.add(body);
+            limited.render(body);
+        }
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            assertThat(limited.weightedSize()).isLessThanOrEqualTo(2048);
+            assertThat(limited.size()).isLessThan(cached.size());
+        });
+    }
+
+    @Test
+    void deveInterpretarAcceptEncodingComQValues() {
+        assertThat(PreSerializedBodyConverter.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(PreSerializedBodyConverter.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(PreSerializedBodyConverter.acceptsGzip("*")).isTrue();
+        assertThat(PreSerializedBodyConverter.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(PreSerializedBodyConverter.acceptsGzip("gzip;q=0.000, *")).isFalse();
+        assertThat(PreSerializedBodyConverter.acceptsGzip("x-gzip-foo, identity")).isFalse();
+        assertThat(PreSerializedBodyConverter.acceptsGzip("*;q=0")).isFalse();
+        assertThat(PreSerializedBodyConverter.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void naoDeveTratarCorposForaDaApi() {
+        assertThat(converter.canWrite(MovieDetailsResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(String.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(MovieDetailsResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private MockHttpOutputMessage write(Object body) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(body, MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+
+    private double writes(String encoding) {
+        return meterRegistry.counter("omdb.cache.serialized.writes", "encoding", encoding).count();
+    }
+
+    private static MovieDetailsResponse movie() {
+        return MovieDetailsResponse.builder()
+            .success(true)
+            .id("tt0133093")
+            .title("The Matrix")
+            .plot("Quando uma bela estranha leva o hacker Neo a um submundo proibido, ele descobre "
+                + "a verdade chocante: a vida que conhece é uma elaborada farsa de uma inteligência maligna.")
+            .build();
+    }
+}
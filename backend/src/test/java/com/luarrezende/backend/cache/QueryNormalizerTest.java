@@ -0,0 +1,75 @@
+package com.luarrezende.backend.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryNormalizerTest {
+
+    @Test
+    void deveUnificarCaixaAcentosEEspacos() {
+        assertThat(List.of("Amélie", "amelie ", "AMÉLIE", "Amelie", "  Ámelie\t"))
+            .allSatisfy(query -> assertThat(QueryNormalizer.normalize(query)).isEqualTo("amelie"));
+        assertThat(QueryNormalizer.normalize("The   Matrix Reloaded")).isEqualTo("the matrix reloaded");
+        assertThat(QueryNormalizer.normalize("Ørnen")).isEqualTo("ornen");
+        assertThat(QueryNormalizer.normalize("Wałęsa")).isEqualTo("walesa");
+    }
+
+    @Test
+    void deveAplicarNfkcEPontuacaoTipografica() {
+        assertThat(QueryNormalizer.normalize("Ｍａｔｒｉｘ")).isEqualTo("matrix");
+        assertThat(QueryNormalizer.normalize("ﬁght club")).isEqualTo("fight club");
+        assertThat(QueryNormalizer.normalize("Schindler’s List")).isEqualTo("schindler's list");
+        assertThat(QueryNormalizer.normalize("Spider–Man")).isEqualTo("spider-man");
+        assertThat(QueryNormalizer.normalize("Leon : The Professional")).isEqualTo("leon: the professional");
+        assertThat(QueryNormalizer.normalize("“Matrix”")).isEqualTo("matrix");
+        assertThat(QueryNormalizer.normalize("Ma\u200Btrix")).isEqualTo("matrix");
+    }
+
+    @Test
+    void deveManterPontuacaoSignificativaEOutrasEscritas() {
+        assertThat(QueryNormalizer.normalize("'Salem's Lot")).isEqualTo("'salem's lot");
+        assertThat(QueryNormalizer.normalize("Tom & Jerry")).isEqualTo("tom & jerry");
+        assertThat(QueryNormalizer.normalize("C++")).isEqualTo("c++");
+        // Dakuten japonês e hangul não são acentos latinos
+        assertThat(QueryNormalizer.normalize("ガンダム")).isEqualTo("ガンダム");
+        assertThat(QueryNormalizer.normalize("기생충")).isEqualTo("기생충");
+        assertThat(QueryNormalizer.normalize("Йоженька")).isEqualTo("йоженька");
+        assertThat(QueryNormalizer.normalize("Ёлки")).isEqualTo("ёлки");
+        assertThat(QueryNormalizer.normalize("Ζορμπάς")).isEqualTo("ζορμπάς");
+        assertThat(QueryNormalizer.normalize("Café Società")).isEqualTo("cafe societa");
+        assertThat(QueryNormalizer.normalize(null)).isNull();
+    }
+
+    @Test
+    void deveAumentarTaxaDeAcertoAoReproduzirLogDeBuscas() throws IOException {
+        List<String> queries = new ClassPathResource("query-log-sample.txt")
+            .getContentAsString(StandardCharsets.UTF_8)
+            .lines()
+            .filter(line -> !line.isBlank() && !line.startsWith("#"))
+            .toList();
+
+        // Chave anterior: #title.toLowerCase().trim()
+        double legacy = hitRatio(queries, query -> query.toLowerCase(Locale.ROOT).trim());
+        double normalized = hitRatio(queries, OmdbCacheKey::title);
+
+        System.out.printf("[QUERY REPLAY] %d buscas: hit ratio %.1f%% -> %.1f%%%n",
+            queries.size(), legacy * 100, normalized * 100);
+        assertThat(normalized).isGreaterThan(legacy + 0.2);
+    }
+
+    private static double hitRatio(List<String> queries, Function<String, Object> key) {
+        Set<Object> cached = new HashSet<>();
+        long hits = queries.stream().filter(query -> !cached.add(key.apply(query))).count();
+        return (double) hits / queries.size();
+    }
+}
@@ -0,0 +1,88 @@
+package com.luarrezende.backend.cache;
+
+import com.luarrezende.backend.config.OmdbCacheProperties;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import com.luarrezende.backend.dto.MovieSearchResponse;
+import com.luarrezende.backend.dto.SeasonDetailsResponse;
+import com.luarrezende.backend.dto.SeriesDetailsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReleaseAwareTtlTest {
+
+    private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    private final OmdbCacheProperties.ReleaseTtl properties = new OmdbCacheProperties.ReleaseTtl();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReleaseAwareTtl policy = new ReleaseAwareTtl(properties,
+        Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneId.of("UTC")), meterRegistry);
+
+    @Test
+    void deveUsarTtlCurtoParaLancamentosEFuturos() {
+        assertThat(policy.ttlFor(movie("1 Jun 2024", "2024"), DEFAULT_TTL)).isEqualTo(properties.getNewRelease());
+        assertThat(policy.ttlFor(movie("20 Dec 2024", "2024"), DEFAULT_TTL)).isEqualTo(properties.getUpcoming());
+    }
+
+    @Test
+    void deveUsarTtlLongoParaCatalogo() {
+        assertThat(policy.ttlFor(movie("21 Dec 1973", "1973"), DEFAULT_TTL)).isEqualTo(properties.getCatalog());
+        assertThat(policy.ttlFor(movie("N/A", "1999"), DEFAULT_TTL)).isEqualTo(properties.getCatalog());
+        assertThat(meterRegistry.get("omdb.cache.ttl.rule").tag("rule", "catalog").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void deveManterTtlDoCacheSemRegraAplicavel() {
+        assertThat(policy.ttlFor(movie("10 Jan 2024", "2024"), DEFAULT_TTL)).isEqualTo(DEFAULT_TTL);
+        assertThat(policy.ttlFor(movie("N/A", "N/A"), DEFAULT_TTL)).isEqualTo(DEFAULT_TTL);
+        assertThat(policy.ttlFor(ResponseEntity.ok(MovieSearchResponse.builder().success(true).build()), DEFAULT_TTL))
+            .isEqualTo(DEFAULT_TTL);
+    }
+
+    @Test
+    void deveDiferenciarSeriesEmExibicaoDeEncerradas() {
+        assertThat(policy.ttlFor(series("2008–2013"), DEFAULT_TTL)).isEqualTo(properties.getCatalog());
+        assertThat(policy.ttlFor(series("2016–"), DEFAULT_TTL)).isEqualTo(properties.getOngoingSeries());
+    }
+
+    @Test
+    void deveUsarTtlCurtoParaTemporadaEmExibicao() {
+        assertThat(policy.ttlFor(season("2 Jun 2024", "9 Jun 2024", "N/A"), DEFAULT_TTL)).isEqualTo(properties.getOngoingSeason());
+        assertThat(policy.ttlFor(season("20 Jan 2008", "9 Mar 2008"), DEFAULT_TTL)).isEqualTo(properties.getCatalog());
+    }
+
+    private static ResponseEntity<MovieDetailsResponse> movie(String released, String year) {
+        return ResponseEntity.ok(MovieDetailsResponse.builder()
+            .success(true)
+            .id("tt0000001")
+            .released(released)
+            .year(year)
+            .type("movie")
+            .build());
+    }
+
+    private static ResponseEntity<SeriesDetailsResponse> series(String year) {
+        return ResponseEntity.ok(SeriesDetailsResponse.builder()
+            .success(true)
+            .id("tt0903747")
+            .year(year)
+            .released("20 Jan 2008")
+            .type("series")
+            .build());
+    }
+
+    private static ResponseEntity<SeasonDetailsResponse> season(String... released) {
+        List<SeasonDetailsResponse.EpisodeSummary> episodes = java.util.Arrays.stream(released)
+            .map(date -> SeasonDetailsResponse.EpisodeSummary.builder().released(date).build())
+            .toList();
+        return ResponseEntity.ok(SeasonDetailsResponse.builder().success(true).episodes(episodes).build());
+    }
+}
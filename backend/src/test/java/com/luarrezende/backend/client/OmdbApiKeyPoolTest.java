@@ -0,0 +1,186 @@
+package com.luarrezende.backend.client;
+
+import com.luarrezende.backend.config.OmdbApiKeyProperties;
+import com.luarrezende.backend.config.OmdbQuotaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OmdbApiKeyPoolTest {
+
+    private static final Instant MIDDAY = Instant.parse("2024-03-10T12:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private OmdbApiKeyProperties properties;
+    private OmdbQuotaProperties quotaProperties;
+    private MeterRegistry meterRegistry;
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OmdbApiKeyProperties();
+        properties.setKeys(List.of("chave-a", "chave-b", "chave-c"));
+        properties.setKeyRateLimitPerSecond(100);
+        quotaProperties = new OmdbQuotaProperties();
+        quotaProperties.setDailyLimit(10);
+        quotaProperties.setStorePath(tempDir.resolve("omdb-quota.properties"));
+        meterRegistry = new SimpleMeterRegistry();
+        clock = Clock.fixed(MIDDAY, ZoneOffset.UTC);
+    }
+
+    @Test
+    void deveUsarChaveUnicaQuandoListaVazia() {
+        OmdbApiKeyProperties single = new OmdbApiKeyProperties();
+        single.setKey("unica");
+        single.setKeys(List.of(""));
+
+        assertThat(single.allKeys()).containsExactly("unica");
+    }
+
+    @Test
+    void deveEscolherAChaveMenosUsadaNoDia() {
+        OmdbQuotaManager quota = quota();
+        OmdbApiKeyPool pool = new OmdbApiKeyPool(properties, quota, clock, meterRegistry);
+        quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-a");
+        quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-a");
+        quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-c");
+
+        assertThat(pool.select()).isEqualTo("chave-b");
+    }
+
+    @Test
+    void deveDistribuirChamadasEntreAsChaves() {
+        OmdbQuotaManager quota = quota();
+        OmdbApiKeyPool pool = new OmdbApiKeyPool(properties, quota, clock, meterRegistry);
+
+        for (int i = 0; i < 6; i++) {
+            quota.tryAcquire(OmdbCallPriority.INTERACTIVE, pool.select());
+        }
+
+        assertThat(quota.getUsed("chave-a")).isEqualTo(2);
+        assertThat(quota.getUsed("chave-b")).isEqualTo(2);
+        assertThat(quota.getUsed("chave-c")).isEqualTo(2);
+    }
+
+    @Test
+    void deveIgnorarChaveSemCota() {
+        properties.setKeys(List.of("chave-a", "chave-b"));
+        OmdbQuotaManager quota = quota();
+        OmdbApiKeyPool pool = new OmdbApiKeyPool(properties, quota, clock, meterRegistry);
+        for (int i = 0; i < 10; i++) {
+            quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-a");
+            quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-b");
+        }
+
+        assertThat(pool.select()).isNull();
+    }
+
+    @Test
+    void deveSuspenderChaveQueRecebeLimiteAtingidoAteACotaZerar() {
+        MutableClock mutableClock = new MutableClock(MIDDAY);
+        properties.setKeys(List.of("chave-a", "chave-b"));
+        OmdbQuotaManager quota = new OmdbQuotaManager(quotaProperties, properties.allKeys(), mutableClock, meterRegistry);
+        OmdbApiKeyPool pool = new OmdbApiKeyPool(properties, quota, mutableClock, meterRegistry);
+
+        pool.onResponse("chave-a", HttpStatus.UNAUTHORIZED,
+                "{\"Response\":\"False\",\"Error\":\"Request limit reached!\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(pool.select()).isEqualTo("chave-b");
+        quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-b");
+        assertThat(pool.select()).isEqualTo("chave-b");
+        assertThat(meterRegistry.get("omdb.apikey.unhealthy").tag("reason", "limit").counter().count()).isEqualTo(1);
+
+        mutableClock.advance(Duration.ofHours(12));
+
+        assertThat(pool.select()).isEqualTo("chave-a");
+    }
+
+    @Test
+    void deveSuspenderChaveInvalidaPorTempoConfigurado() {
+        MutableClock mutableClock = new MutableClock(MIDDAY);
+        properties.setKeys(List.of("chave-a", "chave-b"));
+        OmdbApiKeyPool pool = new OmdbApiKeyPool(properties, null, mutableClock, meterRegistry);
+
+        pool.onResponse("chave-a", HttpStatus.UNAUTHORIZED,
+                "{\"Response\":\"False\",\"Error\":\"Invalid API key!\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(pool.select()).isEqualTo("chave-b");
+        assertThat(pool.select()).isEqualTo("chave-b");
+
+        mutableClock.advance(Duration.ofHours(1));
+
+        assertThat(pool.select()).isEqualTo("chave-a");
+    }
+
+    @Test
+    void deveRespeitarLimitePorSegundoDeCadaChave() {
+        properties.setKeys(List.of("chave-a"));
+        properties.setKeyRateLimitPerSecond(2);
+        OmdbApiKeyPool pool = new OmdbApiKeyPool(properties, null, clock, meterRegistry);
+
+        assertThat(pool.select()).isEqualTo("chave-a");
+        assertThat(pool.select()).isEqualTo("chave-a");
+        assertThat(pool.select()).isNull();
+    }
+
+    @Test
+    void deveUsarAProximaMenosUsadaQuandoAChaveEstaNoLimitePorSegundo() {
+        properties.setKeys(List.of("chave-a", "chave-b"));
+        properties.setKeyRateLimitPerSecond(1);
+        OmdbQuotaManager quota = quota();
+        OmdbApiKeyPool pool = new OmdbApiKeyPool(properties, quota, clock, meterRegistry);
+        quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-b");
+
+        assertThat(pool.select()).isEqualTo("chave-a");
+        assertThat(pool.select()).isEqualTo("chave-b");
+        assertThat(pool.select()).isNull();
+    }
+
+    private OmdbQuotaManager quota() {
+        return new OmdbQuotaManager(quotaProperties, properties.allKeys(), clock, meterRegistry);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
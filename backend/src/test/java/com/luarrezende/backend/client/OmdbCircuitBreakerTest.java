@@ -0,0 +1,130 @@
+package com.luarrezende.backend.client;
+
+import com.luarrezende.backend.config.OmdbCircuitBreakerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OmdbCircuitBreakerTest {
+
+    private static final long FAST_CALL = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final AtomicLong now = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private OmdbCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        OmdbCircuitBreakerProperties properties = new OmdbCircuitBreakerProperties();
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setSlowCallThreshold(Duration.ofSeconds(1));
+        properties.setOpenDuration(Duration.ofSeconds(30));
+        properties.setHalfOpenCalls(2);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new OmdbCircuitBreaker(properties, meterRegistry, now::get);
+    }
+
+    @Test
+    void deveAbrirQuandoTaxaDeFalhasAtingeOLimite() {
+        circuitBreaker.onSuccess(FAST_CALL);
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess(FAST_CALL);
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.CLOSED);
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("omdb.circuitbreaker.state").tag("state", "open").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveAbrirAntesDoNumeroMinimoDeChamadas() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void deveRecusarChamadasEnquantoAberto() {
+        open();
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(meterRegistry.get("omdb.circuitbreaker.calls").tag("result", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void deveFecharAposChamadasDeTesteBemSucedidas() {
+        open();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        circuitBreaker.onSuccess(FAST_CALL);
+        circuitBreaker.onSuccess(FAST_CALL);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void deveLiberarVagaDeTesteQuandoChamadaECancelada() {
+        open();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        circuitBreaker.onIgnored();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onSuccess(FAST_CALL);
+        circuitBreaker.onSuccess(FAST_CALL);
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void deveReabrirQuandoChamadaDeTesteFalha() {
+        open();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void deveContarChamadaLentaComoFalha() {
+        long slowCall = Duration.ofSeconds(2).toNanos();
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onSuccess(slowCall);
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("omdb.circuitbreaker.calls").tag("result", "slow").counter().count()).isEqualTo(4);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.OPEN);
+    }
+}
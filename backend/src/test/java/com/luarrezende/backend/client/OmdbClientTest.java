@@ -0,0 +1,168 @@
+package com.luarrezende.backend.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luarrezende.backend.clientdto.MovieDetailDto;
+import com.luarrezende.backend.config.OmdbCircuitBreakerProperties;
+import com.luarrezende.backend.config.OmdbClientConfig;
+import com.luarrezende.backend.config.OmdbConcurrencyLimitProperties;
+import com.luarrezende.backend.config.OmdbHttpClientProperties;
+import com.luarrezende.backend.stub.OmdbStubServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OmdbClientTest {
+
+    private OmdbStubServer stub;
+    private OmdbClient omdbClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new OmdbStubServer();
+        OmdbHttpClientProperties properties = new OmdbHttpClientProperties();
+        omdbClient = new OmdbClient(OmdbClientConfig.createHttpClient(properties),
+                new ObjectMapper(), OmdbClientConfig.createCallbackExecutor(properties));
+    }
+
+    @AfterEach
+    void tearDown() {
+        omdbClient.close();
+        stub.close();
+    }
+
+    @Test
+    void deveConverterRespostaDaOmdbDeFormaAssincrona() throws Exception {
+        MovieDetailDto movie = omdbClient.get(stub.getBaseUrl() + "?t=The Matrix&apikey=test", MovieDetailDto.class)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(movie.getTitle()).isEqualTo("The Matrix");
+        assertThat(movie.getImdbID()).isEqualTo("tt0133093");
+    }
+
+    @Test
+    void deveLiberarChamadorEnquantoOmdbResponde() throws Exception {
+        stub.setLatency(Duration.ofMillis(300));
+
+        CompletableFuture<MovieDetailDto> future = omdbClient.get(stub.getBaseUrl() + "?t=Matrix", MovieDetailDto.class);
+
+        assertThat(future).isNotDone();
+        assertThat(future.get(5, TimeUnit.SECONDS).getTitle()).isEqualTo("The Matrix");
+    }
+
+    @Test
+    void deveFalharComHttpClientErrorExceptionEmRespostas4xx() {
+        stub.setStatus(401);
+
+        CompletableFuture<MovieDetailDto> future = omdbClient.get(stub.getBaseUrl() + "?t=Matrix", MovieDetailDto.class);
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+    }
+
+    @Test
+    void deveAtenderRestTemplateSincronoPeloMesmoCliente() {
+        RestTemplate restTemplate = new RestTemplate(new OmdbClientHttpRequestFactory(omdbClient));
+
+        MovieDetailDto movie = restTemplate.getForObject(stub.getBaseUrl() + "?t=The Matrix", MovieDetailDto.class);
+
+        assertThat(movie.getTitle()).isEqualTo("The Matrix");
+        assertThat(stub.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void devePropagarErroHttpNoRestTemplateSincrono() {
+        stub.setStatus(404);
+        RestTemplate restTemplate = new RestTemplate(new OmdbClientHttpRequestFactory(omdbClient));
+
+        assertThatThrownBy(() -> restTemplate.getForObject(stub.getBaseUrl() + "?t=Matrix", MovieDetailDto.class))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+    }
+
+    @Test
+    void deveRecusarChamadasSemAcessarOmdbComCircuitoAberto() {
+        OmdbCircuitBreakerProperties properties = new OmdbCircuitBreakerProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        OmdbCircuitBreaker circuitBreaker = new OmdbCircuitBreaker(properties, new SimpleMeterRegistry());
+        omdbClient.setCircuitBreaker(circuitBreaker);
+        stub.setStatus(500);
+
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<MovieDetailDto> future = omdbClient.get(stub.getBaseUrl() + "?t=Matrix", MovieDetailDto.class);
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .cause()
+                    .isInstanceOf(HttpServerErrorException.class);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.OPEN);
+
+        CompletableFuture<MovieDetailDto> rejected = omdbClient.get(stub.getBaseUrl() + "?t=Matrix", MovieDetailDto.class);
+
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .cause()
+                .isInstanceOf(OmdbUnavailableException.class);
+        assertThat(stub.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    void deveLiberarChamadaDeTesteCanceladaNoMeioAberto() throws Exception {
+        OmdbCircuitBreakerProperties properties = new OmdbCircuitBreakerProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setOpenDuration(Duration.ofMillis(50));
+        properties.setHalfOpenCalls(1);
+        OmdbCircuitBreaker circuitBreaker = new OmdbCircuitBreaker(properties, new SimpleMeterRegistry());
+        omdbClient.setCircuitBreaker(circuitBreaker);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        Thread.sleep(100);
+        stub.setLatency(Duration.ofSeconds(2));
+
+        CompletableFuture<OmdbHttpResponse> probe = omdbClient.exchange(HttpMethod.GET,
+                URI.create(stub.getBaseUrl() + "?t=Matrix"), HttpHeaders.EMPTY, null);
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.HALF_OPEN);
+        probe.cancel(true);
+        stub.setLatency(Duration.ZERO);
+
+        MovieDetailDto movie = omdbClient.get(stub.getBaseUrl() + "?t=The Matrix", MovieDetailDto.class)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(movie.getTitle()).isEqualTo("The Matrix");
+        assertThat(circuitBreaker.getState()).isEqualTo(OmdbCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void deveDevolverVagaDeConcorrenciaAoCancelarTentativa() throws Exception {
+        OmdbConcurrencyLimiter limiter = new OmdbConcurrencyLimiter(new OmdbConcurrencyLimitProperties(), new SimpleMeterRegistry());
+        omdbClient.setConcurrencyLimiter(limiter);
+        stub.setLatency(Duration.ofSeconds(2));
+
+        CompletableFuture<OmdbHttpResponse> attempt = omdbClient.exchange(HttpMethod.GET,
+                URI.create(stub.getBaseUrl() + "?t=Matrix"), HttpHeaders.EMPTY, null);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        attempt.cancel(true);
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
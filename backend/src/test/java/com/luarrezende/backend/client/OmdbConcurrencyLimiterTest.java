@@ -0,0 +1,114 @@
+package com.luarrezende.backend.client;
+
+import com.luarrezende.backend.config.OmdbConcurrencyLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OmdbConcurrencyLimiterTest {
+
+    private MeterRegistry meterRegistry;
+    private OmdbConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        OmdbConcurrencyLimitProperties properties = new OmdbConcurrencyLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(10);
+        properties.setLatencyThreshold(Duration.ofSeconds(5));
+        properties.setBackoffRatio(0.5);
+        properties.setMaxQueueSize(1);
+        properties.setMaxQueueWait(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new OmdbConcurrencyLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void deveAumentarLimiteComRespostasRapidasEmUso() {
+        List<OmdbConcurrencyLimiter.Permit> permits = acquire(4);
+
+        permits.get(0).onSuccess();
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(meterRegistry.get("omdb.concurrency.limit").gauge().value()).isEqualTo(5);
+    }
+
+    @Test
+    void naoDeveAumentarLimiteQuandoPoucoUsado() {
+        limiter.acquire().join().onSuccess();
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void deveReduzirLimiteMultiplicativamenteEmFalhas() {
+        List<OmdbConcurrencyLimiter.Permit> permits = acquire(2);
+
+        permits.get(0).onDropped();
+        permits.get(1).onDropped();
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void deveLiberarChamadaDaFilaQuandoVagaAbre() throws Exception {
+        List<OmdbConcurrencyLimiter.Permit> permits = acquire(4);
+        CompletableFuture<OmdbConcurrencyLimiter.Permit> queued = limiter.acquire();
+
+        assertThat(queued).isNotDone();
+        assertThat(meterRegistry.get("omdb.concurrency.queue").gauge().value()).isEqualTo(1);
+
+        permits.get(0).onIgnore();
+
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isNotNull();
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+        assertThat(limiter.getQueueSize()).isZero();
+    }
+
+    @Test
+    void deveRecusarQuandoFilaCheia() {
+        acquire(4);
+        limiter.acquire();
+
+        CompletableFuture<OmdbConcurrencyLimiter.Permit> rejected = limiter.acquire();
+
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(OmdbUnavailableException.class);
+        assertThat(meterRegistry.get("omdb.concurrency.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void deveRecusarQuandoEsperaNaFilaExpira() {
+        acquire(4);
+
+        CompletableFuture<OmdbConcurrencyLimiter.Permit> queued = limiter.acquire();
+
+        assertThatThrownBy(() -> queued.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(OmdbUnavailableException.class,
+                        ex -> assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofSeconds(1)));
+        assertThat(limiter.getQueueSize()).isZero();
+        assertThat(meterRegistry.get("omdb.concurrency.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private List<OmdbConcurrencyLimiter.Permit> acquire(int count) {
+        List<OmdbConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(limiter.acquire().join());
+        }
+        return permits;
+    }
+}
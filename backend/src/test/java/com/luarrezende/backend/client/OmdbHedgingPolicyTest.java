@@ -0,0 +1,203 @@
+package com.luarrezende.backend.client;
+
+import com.luarrezende.backend.config.OmdbHedgingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class OmdbHedgingPolicyTest {
+
+    private OmdbHedgingProperties properties;
+    private MeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OmdbHedgingProperties();
+        properties.setDefaultDelay(Duration.ofMillis(30));
+        properties.setMinDelay(Duration.ofMillis(5));
+        properties.setMinSamples(5);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "omdb-client-test"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deveUsarRespostaDoHedgeQuandoPrimeiraChamadaDemora() throws Exception {
+        properties.setBudgetPercent(100);
+        OmdbHedgingPolicy policy = new OmdbHedgingPolicy(properties, meterRegistry);
+        List<CompletableFuture<String>> attempts = new ArrayList<>();
+
+        CompletableFuture<String> result = policy.execute(() -> {
+            CompletableFuture<String> attempt = attempts.isEmpty()
+                    ? new CompletableFuture<>()
+                    : CompletableFuture.completedFuture("hedge");
+            attempts.add(attempt);
+            return attempt;
+        }, executor);
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("hedge");
+        assertThat(attempts).hasSize(2);
+        // O contador é incrementado depois de completar o resultado
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() ->
+                assertThat(meterRegistry.get("omdb.hedge.calls").tag("result", "won").counter().count()).isEqualTo(1));
+    }
+
+    @Test
+    void naoDeveDispararHedgeQuandoRespostaChegaAntesDoAtraso() throws Exception {
+        properties.setBudgetPercent(100);
+        OmdbHedgingPolicy policy = new OmdbHedgingPolicy(properties, meterRegistry);
+        List<CompletableFuture<String>> attempts = new ArrayList<>();
+
+        CompletableFuture<String> result = policy.execute(() -> {
+            CompletableFuture<String> attempt = CompletableFuture.completedFuture("primeira");
+            attempts.add(attempt);
+            return attempt;
+        }, executor);
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("primeira");
+        Thread.sleep(100);
+        assertThat(attempts).hasSize(1);
+    }
+
+    @Test
+    void deveRespeitarOrcamentoDeHedge() throws Exception {
+        properties.setBudgetPercent(5);
+        OmdbHedgingPolicy policy = new OmdbHedgingPolicy(properties, meterRegistry);
+        List<CompletableFuture<String>> pending = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < 40; i++) {
+            policy.execute(() -> {
+                CompletableFuture<String> attempt = new CompletableFuture<>();
+                pending.add(attempt);
+                return attempt;
+            }, executor);
+        }
+        Thread.sleep(200);
+
+        assertThat(meterRegistry.get("omdb.hedge.calls").tag("result", "sent").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("omdb.hedge.calls").tag("result", "skipped").counter().count()).isEqualTo(38);
+    }
+
+    @Test
+    void deveFalharSomenteQuandoTodasAsTentativasFalham() {
+        properties.setBudgetPercent(100);
+        OmdbHedgingPolicy policy = new OmdbHedgingPolicy(properties, meterRegistry);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        List<CompletableFuture<String>> attempts = new ArrayList<>();
+
+        CompletableFuture<String> result = policy.execute(() -> {
+            CompletableFuture<String> attempt = attempts.isEmpty()
+                    ? primary
+                    : CompletableFuture.failedFuture(new OmdbUnavailableException("Limite atingido"));
+            attempts.add(attempt);
+            return attempt;
+        }, executor);
+
+        primary.completeExceptionally(new IllegalStateException("falha"));
+
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    void deveCalcularAtrasoPeloPercentilDasLatenciasRecentes() {
+        OmdbHedgingPolicy policy = new OmdbHedgingPolicy(properties, meterRegistry);
+        assertThat(policy.hedgeDelayNanos()).isEqualTo(Duration.ofMillis(30).toNanos());
+
+        for (int i = 0; i < 5; i++) {
+            policy.execute(() -> CompletableFuture.completedFuture("rapida"), executor);
+        }
+
+        assertThat(policy.hedgeDelayNanos()).isEqualTo(Duration.ofMillis(5).toNanos());
+    }
+
+    @Test
+    void deveCancelarTentativaPerdedora() throws Exception {
+        properties.setBudgetPercent(100);
+        OmdbHedgingPolicy policy = new OmdbHedgingPolicy(properties, meterRegistry);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        List<CompletableFuture<String>> attempts = new ArrayList<>();
+
+        CompletableFuture<String> result = policy.execute(() -> {
+            CompletableFuture<String> attempt = attempts.isEmpty() ? primary : CompletableFuture.completedFuture("hedge");
+            attempts.add(attempt);
+            return attempt;
+        }, executor);
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("hedge");
+        // A perdedora é cancelada num callback do resultado, que pode rodar depois do get()
+        await().atMost(Duration.ofSeconds(1)).until(primary::isCancelled);
+    }
+
+    @Test
+    void deveMedirLatenciaDesdeOInicioDaChamadaOriginal() throws Exception {
+        properties.setBudgetPercent(100);
+        properties.setMinSamples(1);
+        properties.setMinDelay(Duration.ofMillis(1));
+        OmdbHedgingPolicy policy = new OmdbHedgingPolicy(properties, meterRegistry);
+        List<CompletableFuture<String>> attempts = new ArrayList<>();
+
+        policy.execute(() -> {
+            CompletableFuture<String> attempt = attempts.isEmpty()
+                    ? new CompletableFuture<>()
+                    : CompletableFuture.completedFuture("hedge");
+            attempts.add(attempt);
+            return attempt;
+        }, executor).get(1, TimeUnit.SECONDS);
+
+        // O hedge respondeu na hora, mas a chamada levou pelo menos o atraso padrão
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() ->
+                assertThat(policy.hedgeDelayNanos()).isGreaterThanOrEqualTo(Duration.ofMillis(30).toNanos()));
+    }
+
+    @Test
+    void deveAmostrarLatenciaDeRespostasComErro() {
+        properties.setMinSamples(1);
+        properties.setMinDelay(Duration.ofMillis(1));
+        OmdbHedgingPolicy policy = new OmdbHedgingPolicy(properties, meterRegistry);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+
+        CompletableFuture<String> result = policy.execute(() -> primary, executor);
+        primary.completeExceptionally(new IllegalStateException("503"));
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(policy.hedgeDelayNanos()).isLessThan(Duration.ofMillis(30).toNanos());
+    }
+
+    @Test
+    void deveDispararHedgeNoExecutorRecebidoENaoNaThreadDoTimer() throws Exception {
+        properties.setBudgetPercent(100);
+        OmdbHedgingPolicy policy = new OmdbHedgingPolicy(properties, meterRegistry);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<String> result = policy.execute(() -> {
+            threads.add(Thread.currentThread().getName());
+            return threads.size() == 1 ? new CompletableFuture<>() : CompletableFuture.completedFuture("hedge");
+        }, executor);
+
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("hedge");
+        assertThat(threads).hasSize(2);
+        assertThat(threads.get(1)).isEqualTo("omdb-client-test");
+    }
+}
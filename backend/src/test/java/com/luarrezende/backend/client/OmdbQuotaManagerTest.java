@@ -0,0 +1,175 @@
+package com.luarrezende.backend.client;
+
+import com.luarrezende.backend.config.OmdbQuotaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class OmdbQuotaManagerTest {
+
+    private static final Instant MIDDAY = Instant.parse("2024-03-10T12:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private OmdbQuotaProperties properties;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OmdbQuotaProperties();
+        properties.setDailyLimit(100);
+        properties.setSearchReservePercent(10);
+        properties.setBackgroundReservePercent(30);
+        properties.setPersistEvery(5);
+        properties.setStorePath(tempDir.resolve("omdb-quota.properties"));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void deveRecusarPrimeiroAsChamadasDeMenorPrioridade() {
+        OmdbQuotaManager quota = quotaAt(MIDDAY);
+        record(quota, 75);
+
+        assertThat(quota.tryAcquire(OmdbCallPriority.BACKGROUND, "chave-a")).isFalse();
+        assertThat(quota.tryAcquire(OmdbCallPriority.SEARCH, "chave-a")).isTrue();
+
+        record(quota, 20);
+
+        assertThat(quota.tryAcquire(OmdbCallPriority.SEARCH, "chave-a")).isFalse();
+        assertThat(quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-a")).isTrue();
+
+        record(quota, 5);
+
+        assertThat(quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-a")).isFalse();
+        assertThat(meterRegistry.get("omdb.quota.rejected").tag("priority", "background").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("omdb.quota.remaining").gauge().value()).isZero();
+    }
+
+    @Test
+    void devePersistirConsumoEntreReinicios() {
+        OmdbQuotaManager quota = quotaAt(MIDDAY);
+        record(quota, 7);
+        quota.flush();
+
+        OmdbQuotaManager restarted = quotaAt(MIDDAY.plus(Duration.ofHours(1)));
+
+        assertThat(restarted.getUsed()).isEqualTo(7);
+    }
+
+    @Test
+    void deveGravarConsumoEmSegundoPlanoACadaPersistEveryChamadas() {
+        OmdbQuotaManager quota = quotaAt(MIDDAY);
+        record(quota, 5);
+
+        // Sem flush: a gravação sai da thread própria, fora do lock da cota
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertThat(quotaAt(MIDDAY).getUsed()).isEqualTo(5));
+    }
+
+    @Test
+    void naoDeveGravarConsumoComPersistenciaDesligada() {
+        properties.setPersist(false);
+        OmdbQuotaManager quota = quotaAt(MIDDAY);
+        record(quota, 7);
+        quota.flush();
+
+        assertThat(properties.getStorePath()).doesNotExist();
+        assertThat(quotaAt(MIDDAY).getUsed()).isZero();
+    }
+
+    @Test
+    void naoDevePassarDoLimiteComChamadasConcorrentes() throws Exception {
+        OmdbQuotaManager quota = quotaAt(MIDDAY);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int call = 0; call < 50; call++) {
+                        if (quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-a")) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(admitted).hasValue(100);
+        assertThat(quota.getUsed()).isEqualTo(100);
+    }
+
+    @Test
+    void deveZerarConsumoNoDiaSeguinte() {
+        OmdbQuotaManager quota = quotaAt(MIDDAY);
+        record(quota, 7);
+        quota.flush();
+
+        OmdbQuotaManager nextDay = quotaAt(MIDDAY.plus(Duration.ofDays(1)));
+
+        assertThat(nextDay.getUsed()).isZero();
+    }
+
+    @Test
+    void deveSomarACotaDeTodasAsChavesEContarPorChave() {
+        OmdbQuotaManager quota = new OmdbQuotaManager(properties, List.of("chave-a", "chave-b"),
+                Clock.fixed(MIDDAY, ZoneOffset.UTC), meterRegistry);
+
+        quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-a");
+        quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-b");
+        quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-b");
+        quota.tryAcquire(OmdbCallPriority.INTERACTIVE, null);
+
+        assertThat(quota.getUsed("chave-a")).isEqualTo(2);
+        assertThat(quota.getRemaining("chave-b")).isEqualTo(98);
+        assertThat(quota.getRemaining()).isEqualTo(196);
+    }
+
+    @Test
+    void deveCalcularTempoAteZerarACota() {
+        assertThat(quotaAt(MIDDAY).untilReset()).isEqualTo(Duration.ofHours(12));
+    }
+
+    @Test
+    void deveClassificarChamadasPelaUrl() {
+        assertThat(OmdbCallPriority.of(URI.create("http://www.omdbapi.com/?s=matrix&page=2"))).isEqualTo(OmdbCallPriority.SEARCH);
+        assertThat(OmdbCallPriority.of(URI.create("http://www.omdbapi.com/?i=tt0133093&plot=full"))).isEqualTo(OmdbCallPriority.INTERACTIVE);
+        assertThat(OmdbCallPriority.runAs(OmdbCallPriority.BACKGROUND,
+                () -> OmdbCallPriority.of(URI.create("http://www.omdbapi.com/?t=matrix")))).isEqualTo(OmdbCallPriority.BACKGROUND);
+    }
+
+    private OmdbQuotaManager quotaAt(Instant instant) {
+        return new OmdbQuotaManager(properties, List.of("chave-a"), Clock.fixed(instant, ZoneOffset.UTC), meterRegistry);
+    }
+
+    private static void record(OmdbQuotaManager quota, int calls) {
+        for (int i = 0; i < calls; i++) {
+            quota.tryAcquire(OmdbCallPriority.INTERACTIVE, "chave-a");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.luarrezende.backend.config;
+
+import com.luarrezende.backend.cache.OmdbCacheManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.security.user.password=segredo")
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OmdbCacheManager cacheManager;
+
+    @Test
+    void deveManterHealthAberto() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void naoDeveLimparCachesSemAutenticacao() throws Exception {
+        mockMvc.perform(delete("/actuator/caches"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/actuator/caches").with(httpBasic("actuator", "errada")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void naoDeveReconfigurarCacheSemAutenticacao() throws Exception {
+        Duration ttl = cacheManager.getSpecs().get("movieSearch").getTtl();
+
+        mockMvc.perform(post("/actuator/omdbcaches/movieSearch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ttl\": \"1s\", \"maximumSize\": 1}"))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(cacheManager.getSpecs().get("movieSearch").getTtl()).isEqualTo(ttl);
+    }
+
+    @Test
+    void deveReconfigurarCacheComUsuarioDoActuator() throws Exception {
+        String ttl = cacheManager.getSpecs().get("movieSearch").getTtl().toString();
+
+        mockMvc.perform(post("/actuator/omdbcaches/movieSearch").with(httpBasic("actuator", "segredo"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ttl\": \"" + ttl + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveLimparCachesComUsuarioDoActuator() throws Exception {
+        mockMvc.perform(delete("/actuator/caches").with(httpBasic("actuator", "segredo")))
+                .andExpect(status().is2xxSuccessful());
+    }
+}
@@ -1,5 +1,6 @@
 package com.luarrezende.backend.config;
 
+import com.luarrezende.backend.client.OmdbClientHttpRequestFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
@@ -27,6 +28,11 @@ class ConfigurationTest {
         assertThat(restTemplate).isNotNull();
     }
 
+    @Test
+    void deveUsarClienteHttpComPoolDeConexoes() {
+        assertThat(restTemplate.getRequestFactory()).isInstanceOf(OmdbClientHttpRequestFactory.class);
+    }
+
     @Test
     void deveCriarBeanCacheManager() {
         assertThat(cacheManager).isNotNull();
@@ -32,9 +32,6 @@ class CustomCacheResolverTest {
     @Mock
     private Cache cache;
 
-    @Mock
-    private Cache.ValueWrapper valueWrapper;
-
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -42,102 +39,47 @@ class CustomCacheResolverTest {
     }
 
     @Test
-    void deveLogarCacheHitQuandoDadosEstaoNoCache() {
-        String cacheName = "moviesByTitle";
-        String key = "matrix";
-        Object[] args = {key};
-        
-        when(context.getOperation()).thenReturn(cacheableOperation);
-        when(cacheableOperation.getCacheNames()).thenReturn(Set.of(cacheName));
-        when(context.getArgs()).thenReturn(args);
-        when(cacheManager.getCache(cacheName)).thenReturn(cache);
-        when(cache.get(key.toLowerCase().trim())).thenReturn(valueWrapper);
-
-        Collection<? extends Cache> result = customCacheResolver.resolveCaches(context);
-
-        assertThat(result).isNotEmpty();
-        verify(cache).get(key.toLowerCase().trim());
-    }
-
-    @Test
-    void deveUsarArraysToStringQuandoMaisDeDoisParametros() {
-        String cacheName = "testCache";
-        Object[] args = {"param1", "param2", "param3"}; // Mais de 2 parâmetros
+    void naoDeveConsultarOCacheAoResolver() {
+        String cacheName = "moviesById";
         
         when(context.getOperation()).thenReturn(cacheableOperation);
         when(cacheableOperation.getCacheNames()).thenReturn(Set.of(cacheName));
-        when(context.getArgs()).thenReturn(args);
+        when(context.getArgs()).thenReturn(new Object[]{"tt0133093", "short"});
         when(cacheManager.getCache(cacheName)).thenReturn(cache);
-        when(cache.get("[param1, param2, param3]")).thenReturn(null);
 
         Collection<? extends Cache> result = customCacheResolver.resolveCaches(context);
 
-        assertThat(result).isNotEmpty();
-        verify(cache).get("[param1, param2, param3]");
+        assertThat(result).hasSize(1);
+        assertThat(result.iterator().next()).isEqualTo(cache);
+        verify(cache, never()).get(any());
+        verifyNoInteractions(cache);
     }
 
     @Test
-    void deveGerarChaveCorretaComUmParametro() {
+    void deveReaproveitarResolucaoDaMesmaOperacao() {
         String cacheName = "moviesByTitle";
-        Object[] args = {"The Matrix"};
-        
-        when(context.getOperation()).thenReturn(cacheableOperation);
-        when(cacheableOperation.getCacheNames()).thenReturn(Set.of(cacheName));
-        when(context.getArgs()).thenReturn(args);
-        when(cacheManager.getCache(cacheName)).thenReturn(cache);
-        when(cache.get("the matrix")).thenReturn(null);
-
-        customCacheResolver.resolveCaches(context);
-
-        verify(cache).get("the matrix");
-    }
-
-    @Test
-    void deveGerarChaveCorretaComDoisParametros() {
-        String cacheName = "movieSearch";
-        Object[] args = {"Matrix", 1};
         
         when(context.getOperation()).thenReturn(cacheableOperation);
         when(cacheableOperation.getCacheNames()).thenReturn(Set.of(cacheName));
-        when(context.getArgs()).thenReturn(args);
         when(cacheManager.getCache(cacheName)).thenReturn(cache);
-        when(cache.get("matrix_page_1")).thenReturn(null);
 
         customCacheResolver.resolveCaches(context);
-
-        verify(cache).get("matrix_page_1");
-    }
-
-    @Test
-    void deveLogarCacheMissQuandoDadosNaoEstaoNoCache() {
-        String cacheName = "moviesByTitle";
-        String key = "nonexistent";
-        Object[] args = {key};
-        
-        when(context.getOperation()).thenReturn(cacheableOperation);
-        when(cacheableOperation.getCacheNames()).thenReturn(Set.of(cacheName));
-        when(context.getArgs()).thenReturn(args);
-        when(cacheManager.getCache(cacheName)).thenReturn(cache);
-        when(cache.get(key.toLowerCase().trim())).thenReturn(null);
-
         Collection<? extends Cache> result = customCacheResolver.resolveCaches(context);
 
-        assertThat(result).isNotEmpty();
-        verify(cache).get(key.toLowerCase().trim());
+        assertThat(result).hasSize(1);
+        assertThat(result.iterator().next()).isEqualTo(cache);
+        verify(cacheManager, times(1)).getCache(cacheName);
     }
 
     @Test
     void deveFiltrarCachesNulosERetornarApenasValidos() {
         String cacheName1 = "validCache";
         String cacheName2 = "invalidCache";
-        Object[] args = {"test"};
         
         when(context.getOperation()).thenReturn(cacheableOperation);
         when(cacheableOperation.getCacheNames()).thenReturn(Set.of(cacheName1, cacheName2));
-        when(context.getArgs()).thenReturn(args);
         when(cacheManager.getCache(cacheName1)).thenReturn(cache);
         when(cacheManager.getCache(cacheName2)).thenReturn(null); // Cache inválido
-        when(cache.get("test")).thenReturn(null);
 
         Collection<? extends Cache> result = customCacheResolver.resolveCaches(context);
 
@@ -148,42 +90,17 @@ class CustomCacheResolverTest {
     @Test
     void deveResolverCachesQuandoOperacaoNaoForCacheableOperation() {
         String cacheName = "testCache";
-        Object[] args = {"test"};
         
         CacheOperation nonCacheableOperation = mock(CacheOperation.class);
         when(nonCacheableOperation.getCacheNames()).thenReturn(Set.of(cacheName));
         
         when(context.getOperation()).thenReturn(nonCacheableOperation);
-        when(context.getArgs()).thenReturn(args);
         when(cacheManager.getCache(cacheName)).thenReturn(cache);
 
         Collection<? extends Cache> result = customCacheResolver.resolveCaches(context);
 
-        assertThat(result).isNotEmpty();
         assertThat(result).hasSize(1);
-        
         verify(cache, never()).get(any());
         verify(cacheManager).getCache(cacheName);
     }
-
-    @Test
-    void deveResolverCachesQuandoOperacaoForCacheableOperation() {
-        String cacheName = "myCache";
-        Object[] args = {"test"};
-
-        when(context.getOperation()).thenReturn(cacheableOperation);
-        when(cacheableOperation.getCacheNames()).thenReturn(Set.of(cacheName));
-        when(context.getArgs()).thenReturn(args);
-
-        when(cacheManager.getCache(cacheName)).thenReturn(cache);
-        when(cache.get("test")).thenReturn(null); // Cache miss
-
-        Collection<? extends Cache> result = customCacheResolver.resolveCaches(context);
-
-        assertThat(result).isNotEmpty();
-        assertThat(result).hasSize(1);
-        
-        verify(cache).get("test");
-        verify(cacheManager, times(2)).getCache(cacheName);
-    }
 }
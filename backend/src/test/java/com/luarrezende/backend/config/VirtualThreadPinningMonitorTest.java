@@ -0,0 +1,78 @@
+package com.luarrezende.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    private MeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PinningMonitorProperties properties = new PinningMonitorProperties();
+        properties.setThreshold(Duration.ofMillis(10));
+        monitor = new VirtualThreadPinningMonitor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void deveIniciarEPararOStreamJfr() {
+        monitor.start();
+        assertThat(monitor.isRunning()).isTrue();
+
+        monitor.stop();
+        assertThat(monitor.isRunning()).isFalse();
+    }
+
+    @Test
+    void deveRegistrarDuracaoDoPinningNaMetrica() {
+        monitor.record(Duration.ofMillis(45), List.of("com.exemplo.Cache.get(linha 42)"));
+
+        assertThat(meterRegistry.timer("jvm.threads.virtual.pinned").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("jvm.threads.virtual.pinned").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(45);
+    }
+
+    // A partir do JDK 24 (JEP 491) synchronized deixa de prender a thread virtual ao carrier
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21, max = JRE.JAVA_23)
+    void deveDetectarThreadVirtualBloqueadaDentroDeSynchronized() throws Exception {
+        monitor.start();
+        Object lock = new Object();
+
+        Thread thread = new VirtualThreadTaskExecutor("pinning-test-").getVirtualThreadFactory().newThread(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.timer("jvm.threads.virtual.pinned").count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(meterRegistry.timer("jvm.threads.virtual.pinned").count()).isGreaterThanOrEqualTo(1);
+    }
+}
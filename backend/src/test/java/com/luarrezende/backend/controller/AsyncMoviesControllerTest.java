@@ -0,0 +1,105 @@
+package com.luarrezende.backend.controller;
+
+import com.luarrezende.backend.service.MoviesService;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import com.luarrezende.backend.dto.MovieSearchResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = AsyncMoviesController.class, properties = "omdb.async.enabled=true")
+@WithMockUser
+class AsyncMoviesControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MoviesService moviesService;
+
+    @Test
+    void deveBuscarFilmePorTituloDeFormaAssincrona() throws Exception {
+        CompletableFuture<ResponseEntity<MovieDetailsResponse>> pending = new CompletableFuture<>();
+        when(moviesService.searchMovieAsync(anyString())).thenReturn(pending);
+
+        MvcResult result = mockMvc.perform(get("/api/movies/search")
+                .param("title", "The Matrix")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        pending.complete(ResponseEntity.ok(MovieDetailsResponse.builder()
+                .title("The Matrix")
+                .year("1999")
+                .build()));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("The Matrix"))
+                .andExpect(jsonPath("$.year").value("1999"));
+    }
+
+    @Test
+    void deveBuscarTodosOsFilmesDeFormaAssincrona() throws Exception {
+        MovieSearchResponse mockResponse = MovieSearchResponse.builder()
+                .totalResults(3)
+                .currentPage(1)
+                .build();
+        when(moviesService.searchAllMoviesAsync(anyString(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(mockResponse)));
+
+        MvcResult result = mockMvc.perform(get("/api/movies/searchall")
+                .param("title", "Matrix")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalResults").value(3))
+                .andExpect(jsonPath("$.currentPage").value(1));
+    }
+
+    @Test
+    void deveManterStatusDaRespostaNoDespachoAssincrono() throws Exception {
+        MovieDetailsResponse errorResponse = MovieDetailsResponse.builder()
+                .success(false)
+                .errorMessage("Erro na comunicação com a API")
+                .build();
+        when(moviesService.getMovieDetailsAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.status(401).body(errorResponse)));
+
+        MvcResult result = mockMvc.perform(get("/api/movies/details")
+                .param("id", "tt0133093")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void deveTratarParametroTitleAusente() throws Exception {
+        mockMvc.perform(get("/api/movies/search")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,78 @@
+package com.luarrezende.backend.controller;
+
+import com.luarrezende.backend.service.SeriesService;
+import com.luarrezende.backend.dto.SeasonDetailsResponse;
+import com.luarrezende.backend.dto.EpisodeDetailsResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = AsyncSeriesController.class, properties = "omdb.async.enabled=true")
+@WithMockUser
+class AsyncSeriesControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SeriesService seriesService;
+
+    @Test
+    void deveObterTemporadaDeFormaAssincrona() throws Exception {
+        SeasonDetailsResponse mockResponse = SeasonDetailsResponse.builder()
+                .title("Breaking Bad")
+                .season("1")
+                .build();
+        when(seriesService.getSeasonDetailsAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(mockResponse)));
+
+        MvcResult result = mockMvc.perform(get("/api/series/season")
+                .param("seriesId", "tt0903747")
+                .param("season", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Breaking Bad"))
+                .andExpect(jsonPath("$.season").value("1"));
+    }
+
+    @Test
+    void deveObterEpisodioDeFormaAssincrona() throws Exception {
+        EpisodeDetailsResponse mockResponse = EpisodeDetailsResponse.builder()
+                .title("And the Bag's in the River")
+                .episode("3")
+                .build();
+        when(seriesService.getEpisodeDetailsAsync(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(mockResponse)));
+
+        MvcResult result = mockMvc.perform(get("/api/series/episode")
+                .param("seriesId", "tt0903747")
+                .param("season", "1")
+                .param("episode", "3")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.episode").value("3"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.luarrezende.backend.controller;
 
+import com.luarrezende.backend.client.OmdbUnavailableException;
 import com.luarrezende.backend.service.MoviesService;
 import com.luarrezende.backend.dto.MovieDetailsResponse;
 import com.luarrezende.backend.dto.MovieSearchResponse;
@@ -154,4 +155,16 @@ class MoviesControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.errorMessage").value("Erro no serviço"));
     }
+
+    @Test
+    void deveResponder503ComRetryAfterQuandoOmdbIndisponivel() throws Exception {
+        when(moviesService.searchMovie(anyString())).thenThrow(new OmdbUnavailableException("Circuito aberto"));
+
+        mockMvc.perform(get("/api/movies/search")
+                .param("title", "The Matrix")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.errorCode").value(503));
+    }
 }
@@ -0,0 +1,202 @@
+package com.luarrezende.backend.loadtest;
+
+import com.luarrezende.backend.benchmark.LatencyRecorder;
+import com.luarrezende.backend.stub.OmdbStubServer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga ponta a ponta: sobe a aplicação apontando {@code omdb.api.base-url}
+ * para o {@link OmdbStubServer} e dispara requisições concorrentes contra todos os
+ * endpoints de {@code /api/movies} e {@code /api/series}, reportando vazão e percentis
+ * de latência por endpoint. Parte das requisições usa chaves novas (cache miss) e parte
+ * repete as fixtures gravadas (cache hit).
+ *
+ * Executar com: mvn test -Pload-test
+ * Ajustes: -Dloadtest.requests=20000 -Dloadtest.concurrency=64 -Dloadtest.stubLatencyMs=50
+ *          -Dloadtest.stubErrorRate=0.0 -Dloadtest.missRatio=0.5
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "logging.level.root=WARN",
+    "logging.level.com.luarrezende.backend=WARN",
+    "omdb.quota.daily-limit=100000000",
+    "omdb.quota.store-path=target/loadtest-omdb-quota.properties",
+    "omdb.api.key-rate-limit-per-second=1000000"
+})
+class ApiLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 64);
+    private static final long STUB_LATENCY_MS = Long.getLong("loadtest.stubLatencyMs", 50);
+    private static final double STUB_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.stubErrorRate", "0"));
+    private static final double MISS_RATIO = Double.parseDouble(System.getProperty("loadtest.missRatio", "0.5"));
+
+    private static final OmdbStubServer STUB = startStub();
+
+    private static final List<Endpoint> ENDPOINTS = List.of(
+        new Endpoint("GET /api/movies/search", miss -> "/api/movies/search?title=" + title(miss, "The Matrix")),
+        new Endpoint("GET /api/movies/searchall", miss -> "/api/movies/searchall?title=" + title(miss, "matrix") + "&page=1"),
+        new Endpoint("GET /api/movies/details", miss -> "/api/movies/details?id=" + id(miss, "tt0133093") + "&plot=full"),
+        new Endpoint("GET /api/series/search", miss -> "/api/series/search?title=" + title(miss, "Breaking Bad")),
+        new Endpoint("GET /api/series/searchall", miss -> "/api/series/searchall?title=" + title(miss, "breaking") + "&page=1"),
+        new Endpoint("GET /api/series/details", miss -> "/api/series/details?id=" + id(miss, "tt0903747")),
+        new Endpoint("GET /api/series/season", miss -> "/api/series/season?seriesId=" + id(miss, "tt0903747") + "&season=1"),
+        new Endpoint("GET /api/series/episode", miss -> "/api/series/episode?seriesId=" + id(miss, "tt0903747") + "&season=1&episode=1")
+    );
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void omdbStub(DynamicPropertyRegistry registry) {
+        registry.add("omdb.api.base-url", STUB::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.close();
+    }
+
+    @Test
+    void deveMedirVazaoELatenciaDeTodosOsEndpoints() throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        String baseUrl = "http://localhost:" + port;
+        int perEndpoint = Math.max(1, REQUESTS / ENDPOINTS.size());
+
+        // Aquecimento: JIT, pools de conexão e fixtures em cache
+        run(client, baseUrl, Math.max(1, perEndpoint / 10));
+
+        for (Endpoint endpoint : ENDPOINTS) {
+            endpoint.reset(perEndpoint);
+        }
+        long start = System.nanoTime();
+        run(client, baseUrl, perEndpoint);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%nCarga: %d requisicoes, concorrencia %d, stub %dms, erros injetados %.1f%%, misses %.0f%%%n",
+            perEndpoint * ENDPOINTS.size(), CONCURRENCY, STUB_LATENCY_MS, STUB_ERROR_RATE * 100, MISS_RATIO * 100);
+        LatencyRecorder total = new LatencyRecorder(perEndpoint * ENDPOINTS.size());
+        for (Endpoint endpoint : ENDPOINTS) {
+            System.out.println(endpoint.recorder.summary(endpoint.label, elapsed) + " status=" + new TreeMap<>(endpoint.statuses));
+            endpoint.copyTo(total);
+        }
+        System.out.println(total.summary("TOTAL", elapsed));
+        System.out.printf("Chamadas recebidas pelo stub da OMDb: %d%n", STUB.getRequestCount());
+
+        for (Endpoint endpoint : ENDPOINTS) {
+            assertThat(endpoint.recorder.size() + endpoint.recorder.getErrors()).isEqualTo(perEndpoint);
+        }
+    }
+
+    private void run(HttpClient client, String baseUrl, int perEndpoint) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < perEndpoint; i++) {
+            for (Endpoint endpoint : ENDPOINTS) {
+                executor.execute(() -> endpoint.call(client, baseUrl));
+            }
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+    }
+
+    private static String title(boolean miss, String fixture) {
+        String title = miss ? fixture + " " + ThreadLocalRandom.current().nextInt(1_000_000_000) : fixture;
+        return URLEncoder.encode(title, StandardCharsets.UTF_8);
+    }
+
+    private static String id(boolean miss, String fixture) {
+        return miss ? "tt" + (10_000_000 + ThreadLocalRandom.current().nextInt(89_999_999)) : fixture;
+    }
+
+    private static OmdbStubServer startStub() {
+        try {
+            OmdbStubServer stub = new OmdbStubServer();
+            stub.setLatency(Duration.ofMillis(STUB_LATENCY_MS));
+            stub.setJitter(Duration.ofMillis(STUB_LATENCY_MS / 2));
+            stub.setErrorRate(STUB_ERROR_RATE);
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Endpoint {
+
+        private final String label;
+        private final Function<Boolean, String> path;
+        private volatile LatencyRecorder recorder = new LatencyRecorder(1);
+        private final Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+
+        private Endpoint(String label, Function<Boolean, String> path) {
+            this.label = label;
+            this.path = path;
+        }
+
+        private void reset(int capacity) {
+            recorder = new LatencyRecorder(capacity);
+            statuses.clear();
+        }
+
+        private void call(HttpClient client, String baseUrl) {
+            boolean miss = ThreadLocalRandom.current().nextDouble() < MISS_RATIO;
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path.apply(miss)))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                statuses.computeIfAbsent(response.statusCode(), status -> new AtomicInteger()).incrementAndGet();
+                if (response.statusCode() == 200) {
+                    recorder.record(System.nanoTime() - start);
+                } else {
+                    recorder.recordError();
+                }
+            } catch (IOException e) {
+                statuses.computeIfAbsent(-1, status -> new AtomicInteger()).incrementAndGet();
+                recorder.recordError();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                recorder.recordError();
+            }
+        }
+
+        private void copyTo(LatencyRecorder total) {
+            for (int i = 0; i < recorder.size(); i++) {
+                total.record(recorder.sample(i));
+            }
+            for (int i = 0; i < recorder.getErrors(); i++) {
+                total.recordError();
+            }
+        }
+    }
+}
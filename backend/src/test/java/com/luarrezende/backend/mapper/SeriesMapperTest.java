@@ -3,6 +3,10 @@ package com.luarrezende.backend.mapper;
 import com.luarrezende.backend.clientdto.MovieDetailDto;
 import com.luarrezende.backend.clientdto.SearchAllDto;
 import com.luarrezende.backend.clientdto.SearchDto;
+import com.luarrezende.backend.clientdto.EpisodeDto;
+import com.luarrezende.backend.clientdto.SeasonDto;
+import com.luarrezende.backend.dto.EpisodeDetailsResponse;
+import com.luarrezende.backend.dto.SeasonDetailsResponse;
 import com.luarrezende.backend.dto.SeriesDetailsResponse;
 import com.luarrezende.backend.dto.SeriesSearchResponse;
 import com.luarrezende.backend.dto.SeriesSummary;
@@ -108,4 +112,20 @@ class SeriesMapperTest {
         assertThat(response.getSearchTime()).isGreaterThan(0);
         assertThat(response.getItemsPerPage()).isEqualTo(10);
     }
+
+    @Test
+    void deveConverterEpisodioDaTemporadaComOsMesmosCamposDaOmdb() {
+        // Given
+        EpisodeDto dto = new EpisodeDto("Pilot", "2008-01-20", "1", "9.0", "tt0959621");
+        SeasonDto season = new SeasonDto("Breaking Bad", "1", "5", new EpisodeDto[] { dto }, "True", null);
+        SeasonDetailsResponse.EpisodeSummary summary = seriesMapper.convertToSeasonDetailsResponse(season).getEpisodes().get(0);
+
+        // When
+        EpisodeDetailsResponse fromSeason = seriesMapper.convertToEpisodeDetailsResponse(summary);
+
+        // Then
+        assertThat(fromSeason).isEqualTo(seriesMapper.convertToEpisodeDetailsResponse(dto));
+        assertThat(fromSeason.getId()).isEqualTo("tt0959621");
+        assertThat(fromSeason.isSuccess()).isTrue();
+    }
 }
@@ -0,0 +1,68 @@
+package com.luarrezende.backend.service;
+
+import com.luarrezende.backend.clientdto.MovieDetailDto;
+import com.luarrezende.backend.dto.MovieDetailsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class MoviesCrossIndexCacheTest {
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private MoviesService moviesService;
+
+    @Test
+    void deveAbrirDetalhesDoTituloBuscadoSemNovaChamadaAOmdb() {
+        MovieDetailDto dto = new MovieDetailDto();
+        dto.setTitle("Inception");
+        dto.setImdbID("tt1375666");
+        dto.setType("movie");
+        dto.setResponse("True");
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class))).thenReturn(dto);
+
+        ResponseEntity<MovieDetailsResponse> byTitle = moviesService.searchMovie("Inception");
+        ResponseEntity<MovieDetailsResponse> byId = moviesService.getMovieDetails("TT1375666", "short");
+
+        assertThat(byId.getBody().getTitle()).isEqualTo("Inception");
+        assertThat(byId.getBody()).isEqualTo(byTitle.getBody());
+        verify(restTemplate, times(1)).getForObject(any(URI.class), eq(MovieDetailDto.class));
+    }
+
+    @Test
+    void naoDeveResponderBuscaPorTituloComDetalhesAbertosPorId() {
+        // Dune (1984) aberto pelos detalhes; t=dune devolve o remake de 2021
+        MovieDetailDto remake = new MovieDetailDto();
+        remake.setTitle("Dune");
+        remake.setImdbID("tt1160419");
+        remake.setType("movie");
+        remake.setResponse("True");
+        MovieDetailDto original = new MovieDetailDto();
+        original.setTitle("Dune");
+        original.setImdbID("tt0087182");
+        original.setType("movie");
+        original.setResponse("True");
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class))).thenReturn(original, remake);
+
+        moviesService.getMovieDetails("tt0087182", "short");
+        ResponseEntity<MovieDetailsResponse> byTitle = moviesService.searchMovie("Dune");
+
+        assertThat(byTitle.getBody().getId()).isEqualTo("tt1160419");
+        verify(restTemplate, times(2)).getForObject(any(URI.class), eq(MovieDetailDto.class));
+    }
+}
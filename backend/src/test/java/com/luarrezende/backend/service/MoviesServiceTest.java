@@ -1,5 +1,6 @@
 package com.luarrezende.backend.service;
 
+import com.luarrezende.backend.client.OmdbClient;
 import com.luarrezende.backend.clientdto.MovieDetailDto;
 import com.luarrezende.backend.clientdto.SearchAllDto;
 import com.luarrezende.backend.dto.MovieSearchResponse;
@@ -16,11 +17,16 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
@@ -32,6 +38,9 @@ class MoviesServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private OmdbClient omdbClient;
+
     @Mock
     private MovieMapper movieMapper;
 
@@ -56,7 +65,7 @@ class MoviesServiceTest {
                 .success(true)
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(mockApiResponse);
         when(movieMapper.convertToMovieDetailsResponse(mockApiResponse))
                 .thenReturn(mockMappedResponse);
@@ -64,10 +73,21 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.searchMovie(title);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
         verify(movieMapper).convertToMovieDetailsResponse(mockApiResponse);
     }
 
+    @Test
+    void deveEnviarTituloNormalizadoECodificadoParaAOmdb() {
+        ReflectionTestUtils.setField(moviesService, "baseUrl", "http://www.omdbapi.com/");
+        ReflectionTestUtils.setField(moviesService, "apiKey", "test");
+
+        moviesService.searchMovie("  Tóm  &  Jérry+ ");
+
+        verify(restTemplate).getForObject(eq(URI.create("http://www.omdbapi.com/?t=tom%20%26%20jerry%2B&apikey=test")),
+                eq(MovieDetailDto.class));
+    }
+
     @Test
     void deveTratarErrosDaApiGraciosamente() {
         String title = "NonExistentMovie";
@@ -80,7 +100,7 @@ class MoviesServiceTest {
                 .errorMessage("Filme não encontrado")
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(mockApiResponse);
         when(errorResponseMapper.createMovieNotFoundResponse())
                 .thenReturn(ResponseEntity.ok(mockErrorResponse));
@@ -109,7 +129,7 @@ class MoviesServiceTest {
                 .success(true)
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(mockApiResponse);
         when(movieMapper.convertToMovieDetailsResponse(mockApiResponse))
                 .thenReturn(mockMappedResponse);
@@ -117,7 +137,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.getMovieDetails(movieId, plot);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
         verify(movieMapper).convertToMovieDetailsResponse(mockApiResponse);
     }
 
@@ -137,7 +157,7 @@ class MoviesServiceTest {
                 .success(true)
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenReturn(mockApiResponse);
         when(movieMapper.convertToMovieSearchResponse(eq(mockApiResponse), eq(title), eq(page), anyLong()))
                 .thenReturn(mockMappedResponse);
@@ -145,7 +165,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.searchAllMovies(title, page);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
         verify(movieMapper).convertToMovieSearchResponse(eq(mockApiResponse), eq(title), eq(page), anyLong());
     }
 
@@ -189,7 +209,7 @@ class MoviesServiceTest {
     void deveTratarExcecaoDoRestTemplate() {
         String title = "Matrix";
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenThrow(new RuntimeException("Falha na conexão com a API"));
 
         ResponseEntity<?> result = moviesService.searchMovie(title);
@@ -206,7 +226,7 @@ class MoviesServiceTest {
                 .errorMessage("Filme não encontrado")
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(null);
         when(errorResponseMapper.createMovieNotFoundResponse())
                 .thenReturn(ResponseEntity.ok(mockErrorResponse));
@@ -233,7 +253,7 @@ class MoviesServiceTest {
                 .success(true)
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenReturn(mockApiResponse);
         when(movieMapper.convertToMovieSearchResponse(eq(mockApiResponse), eq(title), eq(1), anyLong()))
                 .thenReturn(mockMappedResponse);
@@ -241,7 +261,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.searchAllMovies(title, invalidPage);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
         verify(movieMapper).convertToMovieSearchResponse(eq(mockApiResponse), eq(title), eq(1), anyLong());
     }
 
@@ -260,7 +280,7 @@ class MoviesServiceTest {
                 .errorMessage("Nenhum filme encontrado")
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenReturn(mockApiResponse);
         when(errorResponseMapper.createSearchAllErrorResponse(eq(title), eq(1), anyLong(), eq("Nenhum filme encontrado")))
                 .thenReturn(ResponseEntity.ok(mockErrorResponse));
@@ -276,13 +296,13 @@ class MoviesServiceTest {
         String title = "Matrix";
         HttpClientErrorException httpError = new HttpClientErrorException(HttpStatus.NOT_FOUND, "API Error");
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenThrow(httpError);
 
         ResponseEntity<?> result = moviesService.searchMovie(title);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
     }
 
     @Test
@@ -291,13 +311,13 @@ class MoviesServiceTest {
         int page = 1;
         HttpClientErrorException httpError = new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Invalid API Key");
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenThrow(httpError);
 
         ResponseEntity<?> result = moviesService.searchAllMovies(title, page);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
     }
 
     @Test
@@ -306,13 +326,13 @@ class MoviesServiceTest {
         String plot = "full";
         HttpClientErrorException httpError = new HttpClientErrorException(HttpStatus.UNAUTHORIZED, "Unauthorized");
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenThrow(httpError);
 
         ResponseEntity<?> result = moviesService.getMovieDetails(movieId, plot);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
     }
 
     @Test
@@ -320,13 +340,13 @@ class MoviesServiceTest {
         String title = "Matrix";
         RuntimeException generalError = new RuntimeException("Conexão perdida");
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenThrow(generalError);
 
         ResponseEntity<?> result = moviesService.searchMovie(title);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
     }
 
     @Test
@@ -334,13 +354,13 @@ class MoviesServiceTest {
         String title = "Matrix";
         RuntimeException timeoutError = new RuntimeException("Read timed out");
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenThrow(timeoutError);
 
         ResponseEntity<?> result = moviesService.searchMovie(title);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
     }
 
     @Test
@@ -349,14 +369,14 @@ class MoviesServiceTest {
         int page = 1;
         IllegalArgumentException illegalArgError = new IllegalArgumentException("Invalid URL");
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenThrow(illegalArgError);
 
         assertThatThrownBy(() -> moviesService.searchAllMovies(title, page))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Invalid URL");
         
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
     }
 
     @Test
@@ -365,14 +385,14 @@ class MoviesServiceTest {
         String plot = "full";
         RuntimeException resourceError = new RuntimeException("I/O error");
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenThrow(resourceError);
 
         assertThatThrownBy(() -> moviesService.getMovieDetails(movieId, plot))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("I/O error");
         
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
     }
 
     @Test
@@ -380,13 +400,13 @@ class MoviesServiceTest {
         String title = "Matrix";
         RuntimeException restClientError = new RuntimeException("Network error");
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenThrow(restClientError);
 
         ResponseEntity<?> result = moviesService.searchMovie(title);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
     }
 
     @Test
@@ -398,13 +418,13 @@ class MoviesServiceTest {
         mockApiResponse.setTotalResults("123");
         mockApiResponse.setResponse("True");
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenReturn(mockApiResponse);
 
         ResponseEntity<?> result = moviesService.searchAllMovies(title, page);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
     }
 
     @Test
@@ -416,14 +436,14 @@ class MoviesServiceTest {
         mockApiResponse.setTotalResults("invalid_number");
         mockApiResponse.setResponse("True");
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenReturn(mockApiResponse);
 
         ResponseEntity<?> result = moviesService.searchAllMovies(title, page);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
 
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
     }
 
     @Test
@@ -435,13 +455,13 @@ class MoviesServiceTest {
         mockApiResponse.setTotalResults(null);
         mockApiResponse.setResponse("True");
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenReturn(mockApiResponse);
 
         ResponseEntity<?> result = moviesService.searchAllMovies(title, page);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
     }
 
     @Test
@@ -457,7 +477,7 @@ class MoviesServiceTest {
                 .errorMessage("Erro na API do OMDB")
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenReturn(null);
         when(errorResponseMapper.createSearchAllErrorResponse(eq(title), eq(page), anyLong(), eq("Erro na API do OMDB")))
                 .thenReturn(ResponseEntity.ok(mockErrorResponse));
@@ -465,7 +485,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.searchAllMovies(title, page);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
         verify(errorResponseMapper).createSearchAllErrorResponse(eq(title), eq(page), anyLong(), eq("Erro na API do OMDB"));
     }
 
@@ -485,7 +505,7 @@ class MoviesServiceTest {
                 .errorMessage("Nenhum filme encontrado")
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenReturn(mockApiResponse);
         when(errorResponseMapper.createSearchAllErrorResponse(eq(title), eq(page), anyLong(), eq("Nenhum filme encontrado")))
                 .thenReturn(ResponseEntity.ok(mockErrorResponse));
@@ -493,7 +513,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.searchAllMovies(title, page);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
         verify(errorResponseMapper).createSearchAllErrorResponse(eq(title), eq(page), anyLong(), eq("Nenhum filme encontrado"));
     }
 
@@ -506,7 +526,7 @@ class MoviesServiceTest {
                 .errorMessage("Filme não encontrado")
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(null);
         when(errorResponseMapper.createMovieNotFoundResponse())
                 .thenReturn(ResponseEntity.ok(mockErrorResponse));
@@ -514,7 +534,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.searchMovie(title);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
         verify(errorResponseMapper).createMovieNotFoundResponse();
     }
 
@@ -530,7 +550,7 @@ class MoviesServiceTest {
                 .errorMessage("Filme não encontrado")
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(mockApiResponse);
         when(errorResponseMapper.createMovieNotFoundResponse())
                 .thenReturn(ResponseEntity.ok(mockErrorResponse));
@@ -538,7 +558,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.searchMovie(title);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
         verify(errorResponseMapper).createMovieNotFoundResponse();
     }
 
@@ -552,7 +572,7 @@ class MoviesServiceTest {
                 .errorMessage("Filme não encontrado")
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(null);
         when(errorResponseMapper.createMovieNotFoundResponse())
                 .thenReturn(ResponseEntity.ok(mockErrorResponse));
@@ -560,7 +580,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.getMovieDetails(movieId, plot);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
         verify(errorResponseMapper).createMovieNotFoundResponse();
     }
 
@@ -577,7 +597,7 @@ class MoviesServiceTest {
                 .errorMessage("Filme não encontrado")
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(mockApiResponse);
         when(errorResponseMapper.createMovieNotFoundResponse())
                 .thenReturn(ResponseEntity.ok(mockErrorResponse));
@@ -585,7 +605,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.getMovieDetails(movieId, plot);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
         verify(errorResponseMapper).createMovieNotFoundResponse();
     }
 
@@ -608,7 +628,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.searchAllMovies(invalidTitle, page);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate, never()).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate, never()).getForObject(any(URI.class), eq(SearchAllDto.class));
         verify(errorResponseMapper).createSearchAllErrorResponse(eq(invalidTitle), eq(page), anyLong(), eq("Termo de busca muito genérico. Digite pelo menos 3 caracteres."));
     }
 
@@ -631,7 +651,7 @@ class MoviesServiceTest {
         ResponseEntity<?> result = moviesService.searchAllMovies(nullTitle, page);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate, never()).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate, never()).getForObject(any(URI.class), eq(SearchAllDto.class));
         verify(errorResponseMapper).createSearchAllErrorResponse(eq(""), eq(page), anyLong(), eq("Termo de busca muito genérico. Digite pelo menos 3 caracteres."));
     }
 
@@ -641,7 +661,7 @@ class MoviesServiceTest {
         int page = 1;
         HttpClientErrorException httpError = new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Invalid API Key");
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenThrow(httpError);
 
         ResponseEntity<?> result = moviesService.searchAllMovies(title, page);
@@ -651,6 +671,85 @@ class MoviesServiceTest {
             MovieSearchResponse response = (MovieSearchResponse) result.getBody();
             assertThat(response.getSearchTerm()).isEqualTo(title.trim());
         }
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
+    }
+
+    @Test
+    void deveBuscarFilmeDeFormaAssincrona() {
+        MovieDetailDto mockApiResponse = new MovieDetailDto();
+        mockApiResponse.setTitle("The Matrix");
+        mockApiResponse.setResponse("True");
+        MovieDetailsResponse mockMappedResponse = MovieDetailsResponse.builder()
+                .title("The Matrix")
+                .success(true)
+                .build();
+
+        when(omdbClient.get(any(URI.class), eq(MovieDetailDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockApiResponse));
+        when(movieMapper.convertToMovieDetailsResponse(mockApiResponse))
+                .thenReturn(mockMappedResponse);
+
+        ResponseEntity<MovieDetailsResponse> result = moviesService.searchMovieAsync("The Matrix").join();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getTitle()).isEqualTo("The Matrix");
+        verify(restTemplate, never()).getForObject(any(URI.class), eq(MovieDetailDto.class));
+    }
+
+    @Test
+    void deveRetornarErroInternoQuandoBuscaAssincronaFalha() {
+        when(omdbClient.get(any(URI.class), eq(MovieDetailDto.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("timeout")));
+
+        ResponseEntity<MovieDetailsResponse> result = moviesService.searchMovieAsync("The Matrix").join();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(result.getBody().getErrorMessage()).isEqualTo("Erro interno do servidor");
+    }
+
+    @Test
+    void deveConverterErroHttpNaBuscaPaginadaAssincrona() {
+        when(omdbClient.get(any(URI.class), eq(SearchAllDto.class)))
+                .thenReturn(CompletableFuture.failedFuture(new HttpClientErrorException(HttpStatus.UNAUTHORIZED, "Invalid API Key")));
+
+        ResponseEntity<MovieSearchResponse> result = moviesService.searchAllMoviesAsync("Matrix", 0).join();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(result.getBody().getCurrentPage()).isEqualTo(1);
+        assertThat(result.getBody().getSearchTerm()).isEqualTo("Matrix");
+    }
+
+    @Test
+    void devePropagarErroNaoHttpNosDetalhesAssincronos() {
+        when(omdbClient.get(any(URI.class), eq(MovieDetailDto.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("conexão recusada")));
+
+        CompletableFuture<ResponseEntity<MovieDetailsResponse>> result = moviesService.getMovieDetailsAsync("tt0133093", "short");
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void naoDeveChamarApiAssincronaComTermoCurto() {
+        MovieDetailsResponse mockErrorResponse = MovieDetailsResponse.builder().success(false).build();
+        when(errorResponseMapper.createSearchErrorResponse()).thenReturn(ResponseEntity.badRequest().body(mockErrorResponse));
+
+        ResponseEntity<MovieDetailsResponse> result = moviesService.searchMovieAsync("ab").join();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(omdbClient, never()).get(any(URI.class), eq(MovieDetailDto.class));
+    }
+
+    @Test
+    void deveValidarTamanhoDoTermoJaNormalizado() {
+        MovieDetailsResponse mockErrorResponse = MovieDetailsResponse.builder().success(false).build();
+        when(errorResponseMapper.createSearchErrorResponse()).thenReturn(ResponseEntity.badRequest().body(mockErrorResponse));
+
+        ResponseEntity<MovieDetailsResponse> result = moviesService.searchMovie("\u201Cab\u201D");
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(restTemplate, never()).getForObject(any(URI.class), eq(MovieDetailDto.class));
     }
 }
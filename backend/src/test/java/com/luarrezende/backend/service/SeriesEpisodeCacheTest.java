@@ -0,0 +1,112 @@
+package com.luarrezende.backend.service;
+
+import com.luarrezende.backend.cache.OmdbCacheKey;
+import com.luarrezende.backend.clientdto.EpisodeDto;
+import com.luarrezende.backend.clientdto.SeasonDto;
+import com.luarrezende.backend.dto.EpisodeDetailsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class SeriesEpisodeCacheTest {
+
+    @MockitoBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private SeriesService seriesService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void deveServirEpisodiosDaTemporadaComUmaUnicaChamadaAOmdb() {
+        EpisodeDto[] episodes = {
+            new EpisodeDto("Pilot", "2008-01-20", "1", "9.0", "tt0959621"),
+            new EpisodeDto("Cat's in the Bag...", "2008-01-27", "2", "8.6", "tt1054724"),
+            new EpisodeDto("...And the Bag's in the River", "2008-02-10", "3", "8.7", "tt1054725")
+        };
+        when(restTemplate.getForObject(any(URI.class), eq(SeasonDto.class)))
+            .thenReturn(new SeasonDto("Breaking Bad", "1", "5", episodes, "True", null));
+
+        for (EpisodeDto episode : episodes) {
+            ResponseEntity<EpisodeDetailsResponse> result = seriesService.getEpisodeDetails("tt0959999", "1", episode.getEpisode());
+
+            assertThat(result.getBody().getTitle()).isEqualTo(episode.getTitle());
+            assertThat(result.getBody().getId()).isEqualTo(episode.getImdbID());
+        }
+
+        verify(restTemplate, times(1)).getForObject(any(URI.class), eq(SeasonDto.class));
+        verify(restTemplate, never()).getForObject(any(URI.class), eq(EpisodeDto.class));
+        assertThat(cacheManager.getCache("seriesSeason").get(OmdbCacheKey.season("tt0959999", "1"))).isNotNull();
+        assertThat(cacheManager.getCache("seriesEpisode").get(OmdbCacheKey.episode("tt0959999", "1", "2"))).isNotNull();
+    }
+
+    @Test
+    void deveDerivarEpisodioComZeroAEsquerdaDaTemporada() {
+        EpisodeDto[] episodes = {new EpisodeDto("Pilot", "2008-01-20", "1", "9.0", "tt0959621")};
+        when(restTemplate.getForObject(any(URI.class), eq(SeasonDto.class)))
+            .thenReturn(new SeasonDto("Breaking Bad", "1", "5", episodes, "True", null));
+
+        ResponseEntity<EpisodeDetailsResponse> result = seriesService.getEpisodeDetails("tt0959996", "01", "01");
+
+        assertThat(result.getBody().getTitle()).isEqualTo("Pilot");
+        verify(restTemplate, never()).getForObject(any(URI.class), eq(EpisodeDto.class));
+    }
+
+    @Test
+    void deveGuardarTemporadaEEpisodioInexistentesNoCacheNegativo() {
+        when(restTemplate.getForObject(any(URI.class), eq(SeasonDto.class)))
+            .thenReturn(new SeasonDto(null, null, null, null, "False", "Series or season not found!"));
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(seriesService.getSeasonDetails("tt0959998", "9").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(seriesService.getEpisodeDetails("tt0959998", "9", "1").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+
+        verify(restTemplate, times(1)).getForObject(any(URI.class), eq(SeasonDto.class));
+        verify(restTemplate, never()).getForObject(any(URI.class), eq(EpisodeDto.class));
+    }
+
+    @Test
+    void deveGuardarEpisodioForaDaTemporadaNoCacheNegativo() {
+        EpisodeDto[] episodes = {new EpisodeDto("Pilot", "2008-01-20", "1", "9.0", "tt0959621")};
+        when(restTemplate.getForObject(any(URI.class), eq(SeasonDto.class)))
+            .thenReturn(new SeasonDto("Breaking Bad", "1", "5", episodes, "True", null));
+        when(restTemplate.getForObject(any(URI.class), eq(EpisodeDto.class)))
+            .thenReturn(new EpisodeDto(null, null, null, null, null));
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(seriesService.getEpisodeDetails("tt0959997", "1", "42").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+
+        verify(restTemplate, times(1)).getForObject(any(URI.class), eq(EpisodeDto.class));
+    }
+
+    @Test
+    void naoDeveGuardarTemporadaNoCacheNegativoQuandoAOmdbNaoRespondeCorpo() {
+        when(restTemplate.getForObject(any(URI.class), eq(SeasonDto.class))).thenReturn(null);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(seriesService.getSeasonDetails("tt0959995", "9").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+
+        verify(restTemplate, times(2)).getForObject(any(URI.class), eq(SeasonDto.class));
+    }
+}
@@ -1,9 +1,13 @@
 package com.luarrezende.backend.service;
 
+import com.luarrezende.backend.cache.OmdbCache;
+import com.luarrezende.backend.client.OmdbClient;
 import com.luarrezende.backend.clientdto.MovieDetailDto;
 import com.luarrezende.backend.clientdto.SearchAllDto;
 import com.luarrezende.backend.dto.SeriesSearchResponse;
 import com.luarrezende.backend.dto.SeriesDetailsResponse;
+import com.luarrezende.backend.dto.EpisodeDetailsResponse;
+import com.luarrezende.backend.dto.SeasonDetailsResponse;
 import com.luarrezende.backend.mapper.SeriesMapper;
 import com.luarrezende.backend.mapper.SeriesErrorResponseMapper;
 
@@ -15,11 +19,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
@@ -29,6 +40,9 @@ class SeriesServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private OmdbClient omdbClient;
+
     @Mock
     private SeriesMapper seriesMapper;
 
@@ -53,7 +67,7 @@ class SeriesServiceTest {
                 .success(true)
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(mockApiResponse);
         when(seriesMapper.convertToSeriesDetailsResponse(mockApiResponse))
                 .thenReturn(mockMappedResponse);
@@ -61,7 +75,7 @@ class SeriesServiceTest {
         ResponseEntity<?> result = seriesService.searchSeries(title);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
         verify(seriesMapper).convertToSeriesDetailsResponse(mockApiResponse);
     }
 
@@ -77,7 +91,7 @@ class SeriesServiceTest {
                 .errorMessage("Série não encontrada")
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(mockApiResponse);
         when(errorResponseMapper.createSeriesNotFoundResponse())
                 .thenReturn(ResponseEntity.ok(mockErrorResponse));
@@ -106,7 +120,7 @@ class SeriesServiceTest {
                 .success(true)
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(MovieDetailDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(MovieDetailDto.class)))
                 .thenReturn(mockApiResponse);
         when(seriesMapper.convertToSeriesDetailsResponse(mockApiResponse))
                 .thenReturn(mockMappedResponse);
@@ -114,7 +128,7 @@ class SeriesServiceTest {
         ResponseEntity<?> result = seriesService.getSeriesDetails(seriesId, plot);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(MovieDetailDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(MovieDetailDto.class));
         verify(seriesMapper).convertToSeriesDetailsResponse(mockApiResponse);
     }
 
@@ -134,7 +148,7 @@ class SeriesServiceTest {
                 .success(true)
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(SearchAllDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(SearchAllDto.class)))
                 .thenReturn(mockApiResponse);
         when(seriesMapper.convertToSeriesSearchResponse(eq(mockApiResponse), eq(title), eq(page), anyLong()))
                 .thenReturn(mockMappedResponse);
@@ -142,7 +156,7 @@ class SeriesServiceTest {
         ResponseEntity<?> result = seriesService.searchAllSeries(title, page);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(restTemplate).getForObject(anyString(), eq(SearchAllDto.class));
+        verify(restTemplate).getForObject(any(URI.class), eq(SearchAllDto.class));
         verify(seriesMapper).convertToSeriesSearchResponse(eq(mockApiResponse), eq(title), eq(page), anyLong());
     }
 
@@ -180,7 +194,7 @@ class SeriesServiceTest {
                 .success(true)
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(com.luarrezende.backend.clientdto.SeasonDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(com.luarrezende.backend.clientdto.SeasonDto.class)))
                 .thenReturn(mockApiResponse);
         when(seriesMapper.convertToSeasonDetailsResponse(mockApiResponse))
                 .thenReturn(mockMappedResponse);
@@ -212,7 +226,7 @@ class SeriesServiceTest {
                 .success(true)
                 .build();
         
-        when(restTemplate.getForObject(anyString(), eq(com.luarrezende.backend.clientdto.EpisodeDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(com.luarrezende.backend.clientdto.EpisodeDto.class)))
                 .thenReturn(mockApiResponse);
         when(seriesMapper.convertToEpisodeDetailsResponse(mockApiResponse))
                 .thenReturn(mockMappedResponse);
@@ -234,7 +248,7 @@ class SeriesServiceTest {
         com.luarrezende.backend.clientdto.SeasonDto mockApiResponse = new com.luarrezende.backend.clientdto.SeasonDto();
         mockApiResponse.setResponse("False");
         
-        when(restTemplate.getForObject(anyString(), eq(com.luarrezende.backend.clientdto.SeasonDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(com.luarrezende.backend.clientdto.SeasonDto.class)))
                 .thenReturn(mockApiResponse);
 
         ResponseEntity<com.luarrezende.backend.dto.SeasonDetailsResponse> result = seriesService.getSeasonDetails(seriesId, season);
@@ -254,7 +268,7 @@ class SeriesServiceTest {
         // Título null indica que não foi encontrado
         mockApiResponse.setTitle(null);
         
-        when(restTemplate.getForObject(anyString(), eq(com.luarrezende.backend.clientdto.EpisodeDto.class)))
+        when(restTemplate.getForObject(any(URI.class), eq(com.luarrezende.backend.clientdto.EpisodeDto.class)))
                 .thenReturn(mockApiResponse);
 
         ResponseEntity<com.luarrezende.backend.dto.EpisodeDetailsResponse> result = seriesService.getEpisodeDetails(seriesId, season, episode);
@@ -263,4 +277,146 @@ class SeriesServiceTest {
         assertThat(result.getBody()).isNotNull();
         assertThat(result.getBody().getErrorMessage()).isEqualTo("Episódio não encontrado");
     }
+
+    @Test
+    void deveDerivarEpisodioDaTemporadaEmCacheSemChamarAOmdb() {
+        SeriesService cachedSelf = mock(SeriesService.class);
+        seriesService.setSelf(cachedSelf);
+        SeasonDetailsResponse.EpisodeSummary summary = episodeSummary("3", "And the Bag's in the River");
+        EpisodeDetailsResponse mapped = EpisodeDetailsResponse.builder().title("And the Bag's in the River").episode("3").success(true).build();
+
+        when(cachedSelf.getSeasonDetails("tt0903747", "1")).thenReturn(ResponseEntity.ok(season(summary)));
+        when(seriesMapper.convertToEpisodeDetailsResponse(summary)).thenReturn(mapped);
+
+        ResponseEntity<EpisodeDetailsResponse> result = seriesService.getEpisodeDetails("tt0903747", "1", "3");
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getTitle()).isEqualTo("And the Bag's in the River");
+        verify(restTemplate, never()).getForObject(any(URI.class), eq(com.luarrezende.backend.clientdto.EpisodeDto.class));
+    }
+
+    @Test
+    void deveBuscarEpisodioNaOmdbQuandoAusenteDaTemporada() {
+        SeriesService cachedSelf = mock(SeriesService.class);
+        seriesService.setSelf(cachedSelf);
+        com.luarrezende.backend.clientdto.EpisodeDto apiResponse = new com.luarrezende.backend.clientdto.EpisodeDto();
+        apiResponse.setTitle("Episodio Bonus");
+        apiResponse.setEpisode("8");
+
+        when(cachedSelf.getSeasonDetails("tt0903747", "1")).thenReturn(ResponseEntity.ok(season(episodeSummary("1", "Pilot"))));
+        when(restTemplate.getForObject(any(URI.class), eq(com.luarrezende.backend.clientdto.EpisodeDto.class))).thenReturn(apiResponse);
+        when(seriesMapper.convertToEpisodeDetailsResponse(apiResponse))
+                .thenReturn(EpisodeDetailsResponse.builder().title("Episodio Bonus").success(true).build());
+
+        ResponseEntity<EpisodeDetailsResponse> result = seriesService.getEpisodeDetails("tt0903747", "1", "8");
+
+        assertThat(result.getBody().getTitle()).isEqualTo("Episodio Bonus");
+    }
+
+    @Test
+    void deveResponderEpisodioNaoEncontradoQuandoTemporadaNaoExiste() {
+        SeriesService cachedSelf = mock(SeriesService.class);
+        seriesService.setSelf(cachedSelf);
+
+        when(cachedSelf.getSeasonDetails("tt0903747", "99"))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).body(SeasonDetailsResponse.builder().success(false).notFound(true).build()));
+
+        ResponseEntity<EpisodeDetailsResponse> result = seriesService.getEpisodeDetails("tt0903747", "99", "1");
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(result.getBody().getErrorMessage()).isEqualTo("Episódio não encontrado");
+        verify(restTemplate, never()).getForObject(any(URI.class), eq(com.luarrezende.backend.clientdto.EpisodeDto.class));
+    }
+
+    @Test
+    void naoDeveDerivarEpisodioDeTemporadaStale() {
+        SeriesService cachedSelf = mock(SeriesService.class);
+        seriesService.setSelf(cachedSelf);
+        com.luarrezende.backend.clientdto.EpisodeDto apiResponse = new com.luarrezende.backend.clientdto.EpisodeDto();
+        apiResponse.setTitle("Pilot");
+
+        when(cachedSelf.getSeasonDetails("tt0903747", "1")).thenReturn(ResponseEntity.ok()
+                .header(OmdbCache.CACHE_STATUS_HEADER, "STALE")
+                .body(season(episodeSummary("1", "Pilot"))));
+        when(restTemplate.getForObject(any(URI.class), eq(com.luarrezende.backend.clientdto.EpisodeDto.class))).thenReturn(apiResponse);
+        when(seriesMapper.convertToEpisodeDetailsResponse(apiResponse))
+                .thenReturn(EpisodeDetailsResponse.builder().title("Pilot").success(true).build());
+
+        seriesService.getEpisodeDetails("tt0903747", "1", "1");
+
+        verify(restTemplate).getForObject(any(URI.class), eq(com.luarrezende.backend.clientdto.EpisodeDto.class));
+    }
+
+    @Test
+    void deveDerivarEpisodioAssincronoDaTemporadaEmCache() {
+        SeriesService cachedSelf = mock(SeriesService.class);
+        seriesService.setSelf(cachedSelf);
+        SeasonDetailsResponse.EpisodeSummary summary = episodeSummary("2", "Cat's in the Bag...");
+
+        when(cachedSelf.getSeasonDetailsAsync("tt0903747", "1"))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(season(summary))));
+        when(seriesMapper.convertToEpisodeDetailsResponse(summary))
+                .thenReturn(EpisodeDetailsResponse.builder().title("Cat's in the Bag...").success(true).build());
+
+        ResponseEntity<EpisodeDetailsResponse> result = seriesService.getEpisodeDetailsAsync("tt0903747", "1", "2").join();
+
+        assertThat(result.getBody().getTitle()).isEqualTo("Cat's in the Bag...");
+        verify(omdbClient, never()).get(any(URI.class), eq(com.luarrezende.backend.clientdto.EpisodeDto.class));
+    }
+
+    private static SeasonDetailsResponse.EpisodeSummary episodeSummary(String episode, String title) {
+        return SeasonDetailsResponse.EpisodeSummary.builder().episode(episode).title(title).imdbID("tt" + episode).build();
+    }
+
+    private static SeasonDetailsResponse season(SeasonDetailsResponse.EpisodeSummary... episodes) {
+        return SeasonDetailsResponse.builder().season("1").episodes(List.of(episodes)).success(true).build();
+    }
+
+    @Test
+    void deveBuscarTemporadaDeFormaAssincrona() {
+        com.luarrezende.backend.clientdto.SeasonDto mockApiResponse = new com.luarrezende.backend.clientdto.SeasonDto();
+        mockApiResponse.setTitle("Breaking Bad");
+        mockApiResponse.setSeason("1");
+        mockApiResponse.setResponse("True");
+
+        com.luarrezende.backend.dto.SeasonDetailsResponse mockMappedResponse = com.luarrezende.backend.dto.SeasonDetailsResponse.builder()
+                .title("Breaking Bad")
+                .season("1")
+                .success(true)
+                .build();
+
+        when(omdbClient.get(any(URI.class), eq(com.luarrezende.backend.clientdto.SeasonDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockApiResponse));
+        when(seriesMapper.convertToSeasonDetailsResponse(mockApiResponse))
+                .thenReturn(mockMappedResponse);
+
+        ResponseEntity<com.luarrezende.backend.dto.SeasonDetailsResponse> result = seriesService.getSeasonDetailsAsync("tt0903747", "1").join();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getSeason()).isEqualTo("1");
+    }
+
+    @Test
+    void deveRetornarErroQuandoEpisodioAssincronoNaoEncontrado() {
+        com.luarrezende.backend.clientdto.EpisodeDto mockApiResponse = new com.luarrezende.backend.clientdto.EpisodeDto();
+
+        when(omdbClient.get(any(URI.class), eq(com.luarrezende.backend.clientdto.EpisodeDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockApiResponse));
+
+        ResponseEntity<com.luarrezende.backend.dto.EpisodeDetailsResponse> result = seriesService.getEpisodeDetailsAsync("tt0903747", "1", "99").join();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(result.getBody().getErrorMessage()).isEqualTo("Episódio não encontrado");
+    }
+
+    @Test
+    void deveConverterErroHttpNosDetalhesDaSerieAssincronos() {
+        when(omdbClient.get(any(URI.class), eq(MovieDetailDto.class)))
+                .thenReturn(CompletableFuture.failedFuture(new HttpClientErrorException(HttpStatus.UNAUTHORIZED, "Invalid API Key")));
+
+        ResponseEntity<SeriesDetailsResponse> result = seriesService.getSeriesDetailsAsync("tt0903747", "short").join();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(result.getBody().isSuccess()).isFalse();
+    }
 }
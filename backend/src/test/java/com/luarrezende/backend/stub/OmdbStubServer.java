@@ -0,0 +1,221 @@
+package com.luarrezende.backend.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor HTTP local que imita a OMDb API para testes, benchmarks e testes de carga.
+ * Responde consultas {@code t=}, {@code s=}, {@code i=}, {@code Season=} e {@code Episode=}
+ * com as fixtures gravadas em {@code omdb-fixtures/} (ver {@code index.properties}).
+ * Consultas sem fixture própria recebem a fixture padrão do tipo, para que títulos
+ * sempre distintos continuem gerando respostas válidas; no modo estrito recebem o
+ * "not found" da OMDb. Latência (com jitter) e taxa de erros são configuráveis.
+ *
+ * Para subir avulso e apontar o backend para ele ({@code OMDB_BASE_URL=http://127.0.0.1:8089/}):
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.luarrezende.backend.stub.OmdbStubServer -Dexec.args="8089 50"}
+ */
+public class OmdbStubServer implements AutoCloseable {
+
+    private static final String FIXTURES = "omdb-fixtures/";
+    private static final byte[] INJECTED_ERROR = "{\"Response\":\"False\",\"Error\":\"Erro injetado pelo stub\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    static {
+        // Sem TCP_NODELAY o HttpServer do JDK soma ~40ms (Nagle + delayed ACK) em conexões keep-alive
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> fixtures;
+    private final AtomicLong requests = new AtomicLong();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration jitter = Duration.ZERO;
+    private volatile int status = 200;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    private volatile boolean strict;
+
+    public OmdbStubServer() throws IOException {
+        this(0);
+    }
+
+    public OmdbStubServer(int port) throws IOException {
+        this.fixtures = loadFixtures();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 4096);
+        this.executor = Executors.newCachedThreadPool();
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        OmdbStubServer stub = new OmdbStubServer(port);
+        if (args.length > 1) {
+            stub.setLatency(Duration.ofMillis(Long.parseLong(args[1])));
+        }
+        if (args.length > 2) {
+            stub.setErrorRate(Double.parseDouble(args[2]));
+        }
+        System.out.println("Stub da OMDb em " + stub.getBaseUrl() + " (latência " + stub.latency.toMillis() + "ms)");
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    // Acrescenta à latência um atraso aleatório entre zero e jitter
+    public void setJitter(Duration jitter) {
+        this.jitter = jitter;
+    }
+
+    // Força o status de todas as respostas (o corpo continua sendo a fixture)
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    // Fração das requisições (0 a 1) respondidas com errorStatus
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public void setErrorStatus(int errorStatus) {
+        this.errorStatus = errorStatus;
+    }
+
+    // No modo estrito só consultas com fixture própria são encontradas
+    public void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        sleep();
+
+        int responseStatus = status;
+        byte[] body;
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            responseStatus = errorStatus;
+            body = INJECTED_ERROR;
+        } else {
+            body = fixtureFor(UriComponentsBuilder.fromUri(exchange.getRequestURI()).build().getQueryParams());
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(responseStatus, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private byte[] fixtureFor(MultiValueMap<String, String> params) {
+        String id = param(params, "i");
+        String season = param(params, "Season");
+        String episode = param(params, "Episode");
+        boolean series = "series".equals(param(params, "type"));
+
+        if (id != null && season != null && episode != null) {
+            return fixture("episode." + id + "." + season + "." + episode, "default.episode");
+        }
+        if (id != null && season != null) {
+            return fixture("season." + id + "." + season, "default.season");
+        }
+        if (param(params, "s") != null) {
+            return fixture("s." + param(params, "s"), series ? "default.search.series" : "default.search");
+        }
+        if (id != null) {
+            return fixture("i." + id, "default.movie");
+        }
+        if (param(params, "t") != null) {
+            return fixture("t." + param(params, "t"), series ? "default.series" : "default.movie");
+        }
+        return fixtures.get("default.not-found");
+    }
+
+    private byte[] fixture(String key, String fallback) {
+        byte[] body = fixtures.get(key);
+        if (body != null) {
+            return body;
+        }
+        return fixtures.get(strict ? "default.not-found" : fallback);
+    }
+
+    private static String param(MultiValueMap<String, String> params, String name) {
+        String raw = params.getFirst(name);
+        if (raw == null) {
+            return null;
+        }
+        return normalize(URLDecoder.decode(raw, StandardCharsets.UTF_8));
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", "-");
+    }
+
+    private void sleep() {
+        long millis = latency.toMillis();
+        if (!jitter.isZero()) {
+            millis += ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+        }
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, byte[]> loadFixtures() {
+        Properties index = new Properties();
+        Map<String, byte[]> loaded = new HashMap<>();
+        try (InputStream in = new ClassPathResource(FIXTURES + "index.properties").getInputStream()) {
+            index.load(in);
+            for (String key : index.stringPropertyNames()) {
+                try (InputStream fixture = new ClassPathResource(FIXTURES + index.getProperty(key)).getInputStream()) {
+                    loaded.put(key, fixture.readAllBytes());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Fixtures da OMDb não encontradas em " + FIXTURES, e);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,68 @@
+package com.luarrezende.backend.stub;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OmdbStubServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private OmdbStubServer stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new OmdbStubServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void deveServirFixturesPorTipoDeConsulta() throws Exception {
+        assertThat(get("?t=The%20Matrix&apikey=x").body()).contains("\"imdbID\":\"tt0133093\"");
+        assertThat(get("?i=tt1375666&plot=full&apikey=x").body()).contains("Inception");
+        assertThat(get("?s=matrix&page=1&apikey=x").body()).contains("\"Search\"");
+        assertThat(get("?i=tt0903747&Season=1&apikey=x").body()).contains("\"Episodes\"");
+        assertThat(get("?i=tt0903747&Season=1&Episode=1&apikey=x").body()).contains("\"Episode\":\"1\"");
+        assertThat(stub.getRequestCount()).isEqualTo(5);
+    }
+
+    @Test
+    void deveUsarFixturePadraoParaConsultasDesconhecidas() throws Exception {
+        assertThat(get("?t=Titulo%20Inexistente&apikey=x").body()).contains("\"Response\":\"True\"");
+        assertThat(get("?t=Titulo%20Inexistente&type=series&apikey=x").body()).contains("\"Type\":\"series\"");
+    }
+
+    @Test
+    void deveResponderNotFoundNoModoEstrito() throws Exception {
+        stub.setStrict(true);
+
+        assertThat(get("?t=Titulo%20Inexistente&apikey=x").body()).contains("\"Response\":\"False\"");
+        assertThat(get("?t=The%20Matrix&apikey=x").body()).contains("\"Response\":\"True\"");
+    }
+
+    @Test
+    void deveInjetarErrosConformeATaxaConfigurada() throws Exception {
+        stub.setErrorRate(1.0);
+        stub.setErrorStatus(502);
+
+        HttpResponse<String> response = get("?t=The%20Matrix&apikey=x");
+
+        assertThat(response.statusCode()).isEqualTo(502);
+        assertThat(response.body()).contains("\"Response\":\"False\"");
+    }
+
+    private HttpResponse<String> get(String query) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(stub.getBaseUrl() + query)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}